@@ -0,0 +1,100 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.pdf.templates.*;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how fast each {@link PortfolioPdfTemplate} renders synthetic portfolios of different sizes in each
+ * {@link PdfOutputMode}, the way {@code PdfGenerationService} does it, but without the render cache, the
+ * database or the servlet response.
+ * <p>
+ * Run with {@code mvn -Pjmh compile exec:exec}. The default arguments add the {@code gc} profiler, which
+ * reports {@code gc.alloc.rate.norm} (bytes allocated per render). The {@code pdfBytes} secondary result is the
+ * size of the rendered document for one thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PortfolioPdfTemplateBenchmark {
+
+    @Param({"modern", "elegance", "classic", "metro-dark", "business-card"})
+    public String template;
+
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    @Param({"standard", "compact"})
+    public String mode;
+
+    private PdfFontRegistry fontRegistry;
+    private PortfolioPdfTemplate pdfTemplate;
+    private PortfolioData data;
+    private PdfOutputMode outputMode;
+
+    /**
+     * The size of the last rendered document. Reported by JMH as a secondary result next to the throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OutputSize {
+        public long pdfBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fontRegistry = new PdfFontRegistry();
+        fontRegistry.loadFonts();
+        pdfTemplate = switch (template) {
+            case "modern" -> new ModernTemplate();
+            case "elegance" -> new EleganceTemplate();
+            case "classic" -> new ClassicTemplate();
+            case "metro-dark" -> new MetroDarkTemplate();
+            case "business-card" -> new BusinessCardTemplate();
+            default -> throw new IllegalArgumentException("Unknown template: " + template);
+        };
+        data = SyntheticPortfolioData.valueOf(size.toUpperCase()).build();
+        outputMode = PdfOutputMode.fromValue(mode);
+    }
+
+    @Benchmark
+    public long render(OutputSize outputSize) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        PdfDocument pdf = new PdfDocument(new PdfWriter(out, outputMode.writerProperties()));
+        Document document = new Document(pdf, pdfTemplate.getPageSize());
+        document.setMargins(0, 0, 0, 0);
+        try {
+            pdfTemplate.generate(new PdfRenderContext(document, data, fontRegistry));
+        } finally {
+            document.close();
+        }
+        outputSize.pdfBytes = out.count;
+        return out.count;
+    }
+
+    /**
+     * Discards the PDF bytes so that buffer growth does not show up in the allocation numbers.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
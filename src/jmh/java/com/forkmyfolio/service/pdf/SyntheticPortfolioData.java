@@ -0,0 +1,101 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.model.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds in-memory {@link PortfolioData} for the benchmarks, so no database or network is involved.
+ * The lists are immutable, which also catches templates that try to sort them in place.
+ */
+public enum SyntheticPortfolioData {
+
+    /** A fresh graduate: one page in most templates. */
+    SMALL(2, 1, 2, 6, 1),
+    /** A typical profile: two to three pages. */
+    MEDIUM(6, 3, 8, 20, 3),
+    /** A long career with verbose descriptions: stresses pagination and text layout. */
+    LARGE(20, 6, 30, 60, 8);
+
+    private static final String SENTENCE = "Designed, built and operated services that handled real production traffic with care. ";
+    private static final Skill.SkillLevel[] LEVELS = Skill.SkillLevel.values();
+
+    private final int experiences;
+    private final int qualifications;
+    private final int projects;
+    private final int skills;
+    private final int descriptionSentences;
+
+    SyntheticPortfolioData(int experiences, int qualifications, int projects, int skills, int descriptionSentences) {
+        this.experiences = experiences;
+        this.qualifications = qualifications;
+        this.projects = projects;
+        this.skills = skills;
+        this.descriptionSentences = descriptionSentences;
+    }
+
+    public PortfolioData build() {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+
+        PortfolioProfile profile = new PortfolioProfile();
+        profile.setUser(user);
+        profile.setHeadline("Backend Developer");
+        profile.setSummary(SENTENCE.repeat(descriptionSentences + 1).trim());
+        profile.setPublicEmail("jane@example.com");
+        profile.setWebsiteUrl("https://jane.example.com");
+        profile.setLinkedinUrl("https://linkedin.com/in/jane");
+        profile.setGithubUrl("https://github.com/jane");
+        profile.setLocation("Cape Town");
+
+        List<Experience> experienceList = new ArrayList<>();
+        for (int i = 0; i < experiences; i++) {
+            Experience experience = new Experience();
+            experience.setJobTitle("Software Engineer " + (i + 1));
+            experience.setCompanyName("Company " + (i + 1));
+            experience.setLocation("Remote");
+            experience.setStartDate(LocalDate.of(2000 + i, 1 + i % 12, 1));
+            experience.setEndDate(i == experiences - 1 ? null : LocalDate.of(2001 + i, 1 + i % 12, 1));
+            experience.setDescription(SENTENCE.repeat(descriptionSentences).trim());
+            experienceList.add(experience);
+        }
+
+        List<Qualification> qualificationList = new ArrayList<>();
+        for (int i = 0; i < qualifications; i++) {
+            Qualification qualification = new Qualification();
+            qualification.setQualificationName("Qualification " + (i + 1));
+            qualification.setInstitutionName("University of Cape Town");
+            qualification.setCompletionYear(1995 + i * 3);
+            qualification.setGrade(i % 2 == 0 ? "Distinction" : null);
+            qualificationList.add(qualification);
+        }
+
+        List<Project> projectList = new ArrayList<>();
+        for (int i = 0; i < projects; i++) {
+            Project project = new Project();
+            project.setTitle("Project " + (i + 1));
+            project.setDescription(SENTENCE.repeat(descriptionSentences).trim());
+            project.setTechStack(List.of("Java", "Spring Boot", "MySQL"));
+            project.setRepoUrl("https://github.com/jane/project-" + (i + 1));
+            project.setLiveUrl(i % 2 == 0 ? "https://project-" + (i + 1) + ".example.com" : null);
+            projectList.add(project);
+        }
+
+        List<Skill> skillList = new ArrayList<>();
+        for (int i = 0; i < skills; i++) {
+            Skill skill = new Skill();
+            skill.setName("Skill " + (i + 1));
+            skill.setLevel(LEVELS[i % LEVELS.length]);
+            skillList.add(skill);
+        }
+
+        // Same display order as PortfolioDataLoader: newest first, skills by level.
+        skillList.sort(PortfolioDataLoader.SKILL_ORDER);
+        return new PortfolioData(profile, List.copyOf(experienceList.reversed()), List.copyOf(qualificationList.reversed()),
+                List.copyOf(projectList), List.copyOf(skillList), null);
+    }
+}
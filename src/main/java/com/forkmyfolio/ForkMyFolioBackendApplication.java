@@ -2,13 +2,19 @@ package com.forkmyfolio;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the ForkMyFolio Backend.
  * This class initializes and runs the Spring Boot application.
  * OpenAPI documentation configuration is centralized in {@link com.forkmyfolio.config.OpenApiConfig}.
+ * Scheduling and {@code @Async} execution are enabled for background work such as visitor tracking;
+ * the executors themselves are defined in {@link com.forkmyfolio.config.AsyncConfig}.
  */
 @SpringBootApplication
+@EnableAsync
+@EnableScheduling
 public class ForkMyFolioBackendApplication {
 
     /**
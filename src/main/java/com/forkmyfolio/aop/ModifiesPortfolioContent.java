@@ -0,0 +1,16 @@
+package com.forkmyfolio.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an admin controller whose mutating endpoints (POST, PUT, PATCH, DELETE) change content that
+ * appears in the public portfolio or its PDF exports. Each successful call bumps the
+ * {@link com.forkmyfolio.service.content.PortfolioContentRevision}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ModifiesPortfolioContent {
+}
@@ -0,0 +1,34 @@
+package com.forkmyfolio.aop;
+
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bumps the {@link PortfolioContentRevision} after any mutating endpoint of a controller annotated with
+ * {@link ModifiesPortfolioContent} returns successfully. The service transaction has committed by then,
+ * so listeners that re-read the content see the new state.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class PortfolioContentChangeAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioContentChangeAspect.class);
+    private final PortfolioContentRevision portfolioContentRevision;
+
+    @AfterReturning("@within(com.forkmyfolio.aop.ModifiesPortfolioContent) && (" +
+            "@annotation(org.springframework.web.bind.annotation.PostMapping) || " +
+            "@annotation(org.springframework.web.bind.annotation.PutMapping) || " +
+            "@annotation(org.springframework.web.bind.annotation.PatchMapping) || " +
+            "@annotation(org.springframework.web.bind.annotation.DeleteMapping))")
+    public void contentChanged(JoinPoint joinPoint) {
+        String revision = portfolioContentRevision.bump();
+        log.debug("Portfolio content changed by {}; revision is now {}.", joinPoint.getSignature().toShortString(), revision);
+    }
+}
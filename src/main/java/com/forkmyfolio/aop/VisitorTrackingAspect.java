@@ -2,14 +2,24 @@ package com.forkmyfolio.aop;
 
 import com.forkmyfolio.model.enums.VisitorStatType;
 import com.forkmyfolio.service.VisitorStatsService;
+import com.forkmyfolio.service.stats.BotTrafficCounter;
+import com.forkmyfolio.service.stats.UserAgentClassifier;
+import com.forkmyfolio.service.stats.VisitorHasher;
 import com.forkmyfolio.util.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.Arrays;
 import java.util.UUID;
@@ -22,14 +32,32 @@ public class VisitorTrackingAspect {
     private static final Logger log = LoggerFactory.getLogger(VisitorTrackingAspect.class);
     private final VisitorStatsService visitorStatsService;
     private final SecurityUtils securityUtils;
+    private final VisitorHasher visitorHasher;
+    private final UserAgentClassifier userAgentClassifier;
+    private final BotTrafficCounter botTrafficCounter;
 
-    @AfterReturning(pointcut = "@annotation(trackVisitorAnnotation)")
-    public void track(JoinPoint joinPoint, TrackVisitor trackVisitorAnnotation) {
+    @AfterReturning(pointcut = "@annotation(trackVisitorAnnotation)", returning = "result")
+    public void track(JoinPoint joinPoint, TrackVisitor trackVisitorAnnotation, Object result) {
         if (!securityUtils.isUserAnonymous()) {
             return; // Don't track logged-in users
         }
 
         VisitorStatType statType = trackVisitorAnnotation.value();
+        if (!isSuccessfulResponse(result)) {
+            return; // A 304, or an error the handler answered itself, is not a view or download
+        }
+        HttpServletRequest request = currentRequest();
+        if (request != null) {
+            if (isFollowUpRange(request)) {
+                return; // A viewer fetching the rest of a document in ranges is not another download
+            }
+            String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+            if (userAgentClassifier.isBot(userAgent)) {
+                botTrafficCounter.increment(statType);
+                return; // Bots are counted in memory only, never persisted
+            }
+            recordUniqueVisitor(statType, request.getRemoteAddr(), userAgent);
+        }
         log.debug("AOP: Anonymous user triggered visitor tracking for type: {}", statType);
 
         switch (statType) {
@@ -48,6 +76,45 @@ public class VisitorTrackingAspect {
         }
     }
 
+    /**
+     * Feeds a salted hash of the client IP and User-Agent into the unique-visitor sketch.
+     * The hash is computed here, on the request thread, because the request is not available
+     * to the asynchronous tracking workers. The raw values are never passed on.
+     */
+    private void recordUniqueVisitor(VisitorStatType statType, String clientIp, String userAgent) {
+        long visitorHash = visitorHasher.hash(clientIp, userAgent);
+        visitorStatsService.recordUniqueVisitor(statType, visitorHash);
+    }
+
+    /**
+     * Whether the request asks for a byte range that does not start at the beginning of the resource.
+     */
+    private boolean isFollowUpRange(HttpServletRequest request) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        return range != null && !range.startsWith("bytes=0-");
+    }
+
+    /**
+     * Whether the handler answered with a 2xx status. Handlers return normally for a 304 or an in-method 500
+     * as well. A returned {@link ResponseEntity} carries its status, which is only applied to the response
+     * after this advice has run; handlers that write the response themselves have already set it there.
+     */
+    private boolean isSuccessfulResponse(Object result) {
+        if (result instanceof ResponseEntity<?> entity) {
+            return entity.getStatusCode().is2xxSuccessful();
+        }
+        HttpServletResponse response = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getResponse()
+                : null;
+        return response == null || HttpStatusCode.valueOf(response.getStatus()).is2xxSuccessful();
+    }
+
+    private HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+
     /**
      * Finds a UUID argument from the intercepted method call.
      * This is used to get the project ID for tracking individual project views.
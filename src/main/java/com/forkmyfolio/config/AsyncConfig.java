@@ -0,0 +1,82 @@
+package com.forkmyfolio.config;
+
+import com.forkmyfolio.service.stats.DroppingRejectionPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configures the executors used by {@code @Async} methods.
+ * <p>
+ * Visitor tracking runs on its own bounded pool of virtual threads so that a burst of page views
+ * can never queue up work on the request threads or grow memory without limit. When the queue is
+ * full, events are dropped (and counted) rather than blocking the caller.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Bean name of the executor that runs {@link com.forkmyfolio.service.VisitorStatsService} increments.
+     */
+    public static final String VISITOR_STATS_EXECUTOR = "visitorStatsExecutor";
+
+    @Value("${app.stats.executor.concurrency:2}")
+    private int concurrency;
+
+    @Value("${app.stats.executor.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.stats.executor.drop-policy:DROP_OLDEST}")
+    private DroppingRejectionPolicy.Mode dropMode;
+
+    /**
+     * Spring Boot only auto-configures its general-purpose executor when no other {@code Executor} bean exists.
+     * It is declared here explicitly so that MVC async requests and unqualified {@code @Async} methods keep using it.
+     *
+     * @param builder Boot's pre-configured builder (honours {@code spring.task.execution.*}).
+     * @return The application-wide task executor.
+     */
+    @Lazy
+    @Primary
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * The rejection policy is a bean of its own so its dropped/rejected counters can be reported.
+     *
+     * @return The policy shared with {@link #visitorStatsExecutor(DroppingRejectionPolicy)}.
+     */
+    @Bean
+    public DroppingRejectionPolicy visitorStatsRejectionPolicy() {
+        return new DroppingRejectionPolicy(dropMode);
+    }
+
+    /**
+     * A fixed-size pool of virtual threads with a bounded queue for visitor tracking work.
+     *
+     * @param rejectionPolicy The policy applied when the queue is full or the pool is shut down.
+     * @return The configured executor.
+     */
+    @Bean(name = VISITOR_STATS_EXECUTOR)
+    public ThreadPoolTaskExecutor visitorStatsExecutor(DroppingRejectionPolicy rejectionPolicy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadFactory(Thread.ofVirtual().name("visitor-stats-", 0).factory());
+        executor.setRejectedExecutionHandler(rejectionPolicy);
+        // Let queued increments reach the write-behind buffer before the final flush on shutdown.
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+}
@@ -31,6 +31,7 @@ public class DataInitializer implements CommandLineRunner {
         // --- A single, unified list of all default settings ---
         List<Setting> defaultSettings = List.of(
                 new Setting("DEFAULT_PDF_TEMPLATE", "modern", "The default template used for the public PDF download button."),
+                new Setting("PDF_OUTPUT_MODE", "standard", "How PDF exports are written: 'standard', or 'compact' for smaller files (full compression, object streams, de-duplicated resources)."),
                 new Setting("SHOW_PROJECTS", "true", "Display the \"Projects\" section on the public site."),
                 new Setting("SHOW_SKILLS", "true", "Display the \"Skills\" section on the public site."),
                 new Setting("SHOW_EXPERIENCE", "true", "Display the \"Experience\" section on the public site."),
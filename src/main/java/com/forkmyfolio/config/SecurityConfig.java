@@ -3,6 +3,7 @@ package com.forkmyfolio.config;
 import com.forkmyfolio.security.CustomUserDetailsService;
 import com.forkmyfolio.security.JwtAuthenticationEntryPoint;
 import com.forkmyfolio.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -94,6 +95,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         // --- Rule Order: Most Specific to Most General ---
 
+                        // 0. Async re-dispatches (e.g. completing an SSE stream) were already authorized on the original request.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // 1. PUBLIC endpoints that anyone can access.
                         // We are very specific about which HTTP methods are allowed publicly.
                         .requestMatchers(
@@ -120,7 +124,8 @@ public class SecurityConfig {
                         // --- Publicly writable endpoints (POST requests only) ---
                         .requestMatchers(HttpMethod.POST,
                                 "/api/v1/contact-messages",
-                                "/api/v1/stats/**"
+                                "/api/v1/stats/**",
+                                "/api/v1/pdf/jobs"
                         ).permitAll()
 
                         // 2. ADMIN endpoints. Only users with the 'ADMIN' role can access these.
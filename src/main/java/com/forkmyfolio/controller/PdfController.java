@@ -2,21 +2,44 @@ package com.forkmyfolio.controller;
 
 import com.forkmyfolio.aop.SkipApiResponseWrapper; // <-- IMPORT
 import com.forkmyfolio.aop.TrackVisitor;
+import com.forkmyfolio.dto.response.PdfJobDto;
+import com.forkmyfolio.exception.ConflictException;
+import com.forkmyfolio.exception.ServiceUnavailableException;
+import com.forkmyfolio.exception.TooManyRequestsException;
 import com.forkmyfolio.model.enums.VisitorStatType;
 import com.forkmyfolio.service.PdfGenerationService;
 import com.forkmyfolio.service.VisitorStatsService;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import com.forkmyfolio.service.pdf.PdfDownload;
+import com.forkmyfolio.service.pdf.PdfJob;
+import com.forkmyfolio.service.pdf.PdfJobService;
+import com.forkmyfolio.service.pdf.PdfRenderCache;
+import com.forkmyfolio.service.pdf.PdfRenderPool;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -28,6 +51,12 @@ public class PdfController {
 
     private final PdfGenerationService pdfGenerationService;
     private final VisitorStatsService visitorStatsService;
+    private final PdfRenderPool pdfRenderPool;
+    private final PdfJobService pdfJobService;
+    private final PortfolioContentRevision portfolioContentRevision;
+
+    @Value("${app.pdf.stream-buffer-bytes:32768}")
+    private int streamBufferBytes;
 
     /**
      * GET /api/v1/pdf/templates
@@ -39,27 +68,229 @@ public class PdfController {
     }
 
 
+    /**
+     * GET /api/v1/pdf/download
+     * Sends the portfolio PDF. A PDF that is not cached is rendered into memory on the render pool first, so a
+     * render failure results in a plain 500 and a slow client only ties up this request thread, not a render slot.
+     * The optional {@code mode} parameter ({@code standard} or {@code compact}) overrides the
+     * {@code PDF_OUTPUT_MODE} setting; an unknown value is rejected with 400.
+     * <p>
+     * The response carries an {@code ETag} built from the template, output mode and content revision, and a
+     * {@code Last-Modified} of the last content change. A matching {@code If-None-Match} (or, without it,
+     * {@code If-Modified-Since}) is answered with 304 before any portfolio data is loaded.
+     * <p>
+     * A single {@code Range} request is answered with 206, so viewers that load documents in ranges (such as
+     * pdf.js) can show the first page before the whole file has arrived. An {@code If-Range} that is not the
+     * current ETag, several ranges, or an incomplete document (rendered without its photo) get the full document.
+     */
     @GetMapping("/download")
     @TrackVisitor(VisitorStatType.PDF_DOWNLOAD)
     @SkipApiResponseWrapper // <-- ADD THIS ANNOTATION
-    public ResponseEntity<byte[]> downloadPortfolioAsPdf(
-            @RequestParam(value = "template", defaultValue = "modern") String templateName) {
+    public void downloadPortfolioAsPdf(
+            @RequestParam(value = "template", defaultValue = "modern") String templateName,
+            @RequestParam(value = "mode", required = false) String outputMode,
+            WebRequest webRequest,
+            HttpServletResponse response) throws IOException {
 
         log.info("GET /api/v1/pdf/download - Received request for PDF with template: {}", templateName);
+        PdfRenderCache.Key key = pdfGenerationService.cacheKeyFor(templateName, outputMode);
+        if (webRequest.checkNotModified(eTagFor(key), portfolioContentRevision.lastModified().toEpochMilli())) {
+            log.debug("PDF for template '{}' at revision {} not modified; answering 304.", key.template(), key.revision());
+            return;
+        }
+
+        PdfDownload download;
         try {
-            PdfGenerationService.PdfFile pdfFile = pdfGenerationService.generatePortfolioPdf(templateName);
+            download = pdfGenerationService.preparePortfolioPdf(key);
+        } catch (Exception e) {
+            log.error("Failed to prepare portfolio PDF with template '{}'.", templateName, e);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+
+        if (!download.hasContent()) {
+            // Rendering is CPU- and heap-heavy, so it is admitted through the bounded render pool. The pool task
+            // only renders into memory; the bytes are sent from this thread once the slot has been released.
+            try {
+                download = pdfRenderPool.execute(download::render);
+            } catch (TooManyRequestsException | ServiceUnavailableException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Failed to generate portfolio PDF with template '{}'.", templateName, e);
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                return;
+            }
+        }
+
+        // An incomplete document differs from the next render of the same revision, so it is never sent in parts.
+        HttpRange range = download.isComplete() ? requestedRange(webRequest, eTagFor(key)) : null;
+        if (range != null) {
+            writeDownloadRange(download, templateName, range, response);
+        } else {
+            writeDownload(download, templateName, response);
+        }
+    }
+
+    /**
+     * POST /api/v1/pdf/jobs?template=modern
+     * Starts rendering the portfolio PDF in the background and returns the job, or joins the existing job
+     * for the same template, output mode and content revision. The optional {@code mode} parameter works as
+     * for the direct download.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<PdfJobDto> submitPdfJob(
+            @RequestParam(value = "template", defaultValue = "modern") String templateName,
+            @RequestParam(value = "mode", required = false) String outputMode) {
+        log.info("POST /api/v1/pdf/jobs - Received PDF job request for template: {}", templateName);
+        PdfJobDto dto = toDto(pdfJobService.submit(templateName, outputMode));
+        return ResponseEntity.accepted().location(URI.create(dto.getStatusUrl())).body(dto);
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", pdfFile.suggestedFilename());
-            headers.setCacheControl("must-revalidate, post-check=0, pre-check=0");
+    /**
+     * GET /api/v1/pdf/jobs/{id}
+     * Reports whether a job is queued, running, done or failed.
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<PdfJobDto> getPdfJob(@PathVariable String id) {
+        return ResponseEntity.ok(toDto(pdfJobService.getJob(id)));
+    }
 
-            log.info("Successfully generated PDF. Template: {}, Filename: {}, Size: {} bytes.",
-                    templateName, pdfFile.suggestedFilename(), pdfFile.content().length);
-            return new ResponseEntity<>(pdfFile.content(), headers, HttpStatus.OK);
+    /**
+     * GET /api/v1/pdf/jobs/{id}/download
+     * Serves the finished PDF of a job until it expires. Answers 409 while the job is not done.
+     */
+    @GetMapping("/jobs/{id}/download")
+    @TrackVisitor(VisitorStatType.PDF_DOWNLOAD)
+    @SkipApiResponseWrapper
+    public ResponseEntity<Resource> downloadPdfJobResult(@PathVariable String id) {
+        PdfJob job = pdfJobService.getJob(id);
+        PdfGenerationService.PdfFile pdfFile = job.getResult();
+        if (pdfFile == null) {
+            throw new ConflictException("PDF job " + id + " is " + job.getStatus() + ", not DONE.");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(pdfFile.suggestedFilename()).build());
+        // A job result is a one-off download behind an unguessable id; nothing on the way should keep it.
+        headers.setCacheControl(CacheControl.noStore());
+        headers.setContentLength(pdfFile.length());
+        // Served straight from the render buffer; only its first length() bytes are the PDF.
+        Resource body = new InputStreamResource(new ByteArrayInputStream(pdfFile.content(), 0, pdfFile.length()));
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * A strong validator for the PDF of a key. Every input of the document is part of it.
+     */
+    private static String eTagFor(PdfRenderCache.Key key) {
+        return "\"pdf-" + key.template() + "-" + key.mode().name().toLowerCase() + "-" + key.revision() + "\"";
+    }
+
+    /**
+     * The single byte range a request asks for, or {@code null} if the full document should be sent.
+     * A malformed {@code Range} header is ignored, as is one guarded by an {@code If-Range} that does not
+     * match the current ETag. Several ranges are answered with the full document rather than with
+     * {@code multipart/byteranges}; PDF viewers ask for one range at a time.
+     */
+    private static HttpRange requestedRange(WebRequest webRequest, String eTag) {
+        String rangeHeader = webRequest.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = webRequest.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring malformed Range header '{}'.", rangeHeader);
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private PdfJobDto toDto(PdfJob job) {
+        String statusUrl = "/api/v1/pdf/jobs/" + job.getId();
+        PdfGenerationService.PdfFile result = job.getResult();
+        return new PdfJobDto(
+                job.getId(),
+                job.getKey().template(),
+                job.getKey().mode().name().toLowerCase(),
+                job.getStatus().name(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getFinishedAt() == null ? null : job.getFinishedAt().plus(pdfJobService.getTtl()),
+                result == null ? null : (long) result.length(),
+                statusUrl,
+                result == null ? null : statusUrl + "/download",
+                job.getError()
+        );
+    }
+
+    /**
+     * Sends one byte range of the PDF with 206, or 416 if the range lies outside the document.
+     */
+    private void writeDownloadRange(PdfDownload download, String templateName, HttpRange range,
+                                    HttpServletResponse response) throws IOException {
+        long length = download.getContentLength();
+        long start;
+        long end;
+        try {
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+        } catch (IllegalArgumentException e) {
+            start = length;
+            end = length - 1;
+        }
+        if (start > end) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+
+        setDownloadHeaders(download, response);
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        response.setContentLengthLong(end - start + 1);
+        download.writeRangeTo(response.getOutputStream(), start, end);
+        response.flushBuffer();
+        log.debug("Sent bytes {}-{} of {} of the cached PDF for template '{}'.", start, end, length, templateName);
+    }
+
+    private void setDownloadHeaders(PdfDownload download, HttpServletResponse response) {
+        response.setBufferSize(streamBufferBytes);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(download.getSuggestedFilename()).build().toString());
+        // Caches may keep the PDF but must revalidate it on every use, which costs a 304 while nothing changed.
+        // A document rendered without its (not yet cached) photo must not be kept at all.
+        CacheControl cacheControl = download.isComplete() ? CacheControl.noCache().cachePublic() : CacheControl.noStore();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, download.isComplete() ? "bytes" : "none");
+    }
+
+    private void writeDownload(PdfDownload download, String templateName, HttpServletResponse response) throws IOException {
+        setDownloadHeaders(download, response);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentLengthLong(download.getContentLength());
+
+        try {
+            download.writeTo(response.getOutputStream());
+            response.flushBuffer();
         } catch (Exception e) {
-            log.error("Failed to generate portfolio PDF with template '{}'.", templateName, e);
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            if (!response.isCommitted()) {
+                log.error("Failed to send portfolio PDF with template '{}'.", templateName, e);
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                return;
+            }
+            log.error("Sending portfolio PDF with template '{}' failed after the response was committed; aborting.", templateName, e);
+            throw e instanceof IOException io ? io : new IOException("PDF streaming failed.", e);
         }
+        log.info("Successfully sent PDF. Template: {}, Filename: {}, Cached: {}.",
+                templateName, download.getSuggestedFilename(), download.isCached());
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,18 @@
 package com.forkmyfolio.controller;
 
+import com.forkmyfolio.aop.SkipApiResponseWrapper;
 import com.forkmyfolio.aop.TrackVisitor;
 import com.forkmyfolio.dto.response.ProjectDto;
+import com.forkmyfolio.dto.response.TrendingProjectDto;
+import com.forkmyfolio.exception.ResourceNotFoundException;
 import com.forkmyfolio.mapper.ProjectMapper;
 import com.forkmyfolio.model.Project;
 import com.forkmyfolio.model.enums.VisitorStatType;
 import com.forkmyfolio.service.ProjectService;
 import com.forkmyfolio.service.VisitorStatsService;
+import com.forkmyfolio.service.image.ImageCache;
+import com.forkmyfolio.service.image.ImageVariant;
+import com.forkmyfolio.service.stats.TrendingWindow;
 import com.forkmyfolio.util.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,11 +20,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -36,13 +47,15 @@ public class ProjectController {
     private final ProjectMapper projectMapper;
     private final VisitorStatsService visitorStatsService;
     private final SecurityUtils securityUtils;
+    private final ImageCache imageCache;
 
     @Autowired
-    public ProjectController(ProjectService projectService, ProjectMapper projectMapper, VisitorStatsService visitorStatsService, SecurityUtils securityUtils) {
+    public ProjectController(ProjectService projectService, ProjectMapper projectMapper, VisitorStatsService visitorStatsService, SecurityUtils securityUtils, ImageCache imageCache) {
         this.projectService = projectService;
         this.projectMapper = projectMapper;
         this.visitorStatsService = visitorStatsService;
         this.securityUtils = securityUtils;
+        this.imageCache = imageCache;
     }
 
     /**
@@ -64,6 +77,19 @@ public class ProjectController {
         return projectDtos;
     }
 
+    /**
+     * Retrieves the most viewed projects over a sliding window, from an in-memory sketch.
+     */
+    @GetMapping("/trending")
+    @Operation(summary = "Get the most viewed projects in the last hour, day or week")
+    public List<TrendingProjectDto> getTrendingProjects(
+            @Parameter(description = "HOUR, DAY or WEEK") @RequestParam(defaultValue = "DAY") TrendingWindow window,
+            @Parameter(description = "Maximum number of projects") @RequestParam(defaultValue = "5") int limit) {
+        return visitorStatsService.getTrendingProjects(window, limit).stream()
+                .map(hitter -> new TrendingProjectDto(hitter.item(), hitter.count()))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Retrieves a specific public project by its UUID.
      */
@@ -79,4 +105,21 @@ public class ProjectController {
         logger.info("Successfully retrieved public project with UUID: {}", uuid);
         return projectMapper.toDto(projectEntity);
     }
-}
\ No newline at end of file
+
+    /**
+     * Serves a downscaled JPEG thumbnail of a project's image from the local image cache.
+     * Answers 404 while the image has not been fetched yet; a fetch is started in the background.
+     */
+    @GetMapping("/{uuid}/thumbnail")
+    @Operation(summary = "Get a project's image thumbnail")
+    @SkipApiResponseWrapper
+    public ResponseEntity<byte[]> getProjectThumbnail(@Parameter(description = "UUID of the project") @PathVariable UUID uuid) {
+        Project project = projectService.getProjectByUuid(uuid);
+        byte[] thumbnail = imageCache.get(project.getImageUrl(), ImageVariant.THUMBNAIL)
+                .orElseThrow(() -> new ResourceNotFoundException("No thumbnail available yet for project " + uuid));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ImageVariant.THUMBNAIL.getContentType()))
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(1)).cachePublic())
+                .body(thumbnail);
+    }
+}
@@ -7,15 +7,18 @@ import com.forkmyfolio.model.enums.VisitorStatType;
 import com.forkmyfolio.service.PortfolioProfileService;
 import com.forkmyfolio.service.VCardService;
 import com.forkmyfolio.service.VisitorStatsService;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/vcard")
@@ -27,12 +30,22 @@ public class VCardController {
     private final VCardService vCardService;
     private final PortfolioProfileService portfolioProfileService;
     private final VisitorStatsService visitorStatsService;
+    private final PortfolioContentRevision portfolioContentRevision;
 
+    /**
+     * GET /api/v1/vcard/download
+     * The vCard only changes with the portfolio content, so it is validated by the content revision:
+     * a matching {@code If-None-Match} or {@code If-Modified-Since} is answered with 304 before the profile is loaded.
+     */
     @GetMapping("/download")
     @TrackVisitor(VisitorStatType.VCARD_DOWNLOAD)
     @SkipApiResponseWrapper // <-- ADD THIS ANNOTATION
-    public ResponseEntity<byte[]> downloadVCard() {
+    public ResponseEntity<byte[]> downloadVCard(WebRequest webRequest) {
         log.info("GET /api/v1/vcard/download - Received request for vCard");
+        String eTag = "\"vcard-" + portfolioContentRevision.current() + "\"";
+        if (webRequest.checkNotModified(eTag, portfolioContentRevision.lastModified().toEpochMilli())) {
+            return null;
+        }
         try {
             PortfolioProfile profile = portfolioProfileService.getPublicProfile();
             VCardService.VCardFile vCardFile = vCardService.generateVCard(profile);
@@ -40,6 +53,8 @@ public class VCardController {
             HttpHeaders headers = new HttpHeaders();
             headers.set(HttpHeaders.CONTENT_TYPE, "text/vcard; charset=utf-8");
             headers.setContentDispositionFormData("attachment", vCardFile.suggestedFilename());
+            // A card without its (not yet cached) photo must not be kept, or it would be revalidated as current.
+            headers.setCacheControl(vCardFile.complete() ? CacheControl.noCache().cachePublic() : CacheControl.noStore());
 
             log.info("Successfully generated vCard. Filename: {}", vCardFile.suggestedFilename());
             return new ResponseEntity<>(vCardFile.content(), headers, HttpStatus.OK);
@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.forkmyfolio.dto.response.UserDto;
 import com.forkmyfolio.dto.update.UpdateUserAccountRequest;
 import com.forkmyfolio.mapper.UserMapper;
@@ -19,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
  * Admin controller for managing the admin's own user account details.
  */
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin/account")
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin: Account Management", description = "Endpoints for managing the admin's own account.")
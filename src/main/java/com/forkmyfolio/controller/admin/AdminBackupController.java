@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forkmyfolio.dto.response.PortfolioBackupDto;
 import com.forkmyfolio.mapper.BackupMapper;
@@ -30,6 +31,7 @@ import java.time.format.DateTimeFormatter;
  * @PostMapping("/ingest") description = "Restores the entire portfolio from a JSON backup file. THIS IS A DESTRUCTIVE OPERATION and will replace all existing portfolio data (projects, skills, etc.) for the user.",
  */
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin")
 @Tag(name = "Admin Operations", description = "Endpoints for administrative tasks like backups and statistics.")
 @RequiredArgsConstructor
@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.forkmyfolio.dto.create.CreateExperienceRequest;
 import com.forkmyfolio.dto.response.ExperienceDto;
 import com.forkmyfolio.dto.update.UpdateExperienceRequest;
@@ -26,6 +27,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin/experience")
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin: Experience Management", description = "Endpoints for managing work experience.")
@@ -0,0 +1,198 @@
+package com.forkmyfolio.controller.admin;
+
+import com.forkmyfolio.dto.response.ImageCacheStatsDto;
+import com.forkmyfolio.dto.response.PdfCacheStatsDto;
+import com.forkmyfolio.dto.response.PdfRenderMetricsDto;
+import com.forkmyfolio.dto.response.PdfRenderPoolStatsDto;
+import com.forkmyfolio.dto.response.RouteLatencyDto;
+import com.forkmyfolio.metrics.LatencyHistogram;
+import com.forkmyfolio.metrics.RouteLatencyRegistry;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import com.forkmyfolio.service.image.ImageCache;
+import com.forkmyfolio.service.pdf.PdfRenderCache;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics.Phase;
+import com.forkmyfolio.service.pdf.PdfRenderPool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Admin endpoints exposing in-process performance metrics.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/metrics")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminMetricsController {
+
+    private final RouteLatencyRegistry routeLatencyRegistry;
+    private final PdfRenderCache pdfRenderCache;
+    private final PortfolioContentRevision portfolioContentRevision;
+    private final PdfRenderPool pdfRenderPool;
+    private final ImageCache imageCache;
+    private final PdfRenderMetrics pdfRenderMetrics;
+
+    /**
+     * GET /api/v1/admin/metrics/latency
+     * Returns request latency percentiles per route template, method and outcome, slowest p99 first.
+     */
+    @GetMapping("/latency")
+    public ResponseEntity<List<RouteLatencyDto>> getLatency() {
+        List<RouteLatencyDto> latencies = routeLatencyRegistry.entries().stream()
+                .map(entry -> {
+                    LatencyHistogram histogram = entry.histogram();
+                    return new RouteLatencyDto(
+                            entry.route(),
+                            entry.method(),
+                            entry.outcome().name(),
+                            histogram.getCount(),
+                            toMillis(histogram.getMeanMicros()),
+                            toMillis(histogram.getValueAtPercentile(50)),
+                            toMillis(histogram.getValueAtPercentile(95)),
+                            toMillis(histogram.getValueAtPercentile(99)),
+                            toMillis(histogram.getMaxMicros())
+                    );
+                })
+                .sorted(Comparator.comparingDouble(RouteLatencyDto::getP99Ms).reversed())
+                .toList();
+        return ResponseEntity.ok(latencies);
+    }
+
+    /**
+     * DELETE /api/v1/admin/metrics/latency
+     * Clears all latency histograms, e.g. after a deployment.
+     */
+    @DeleteMapping("/latency")
+    public ResponseEntity<Void> resetLatency() {
+        routeLatencyRegistry.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /api/v1/admin/metrics/pdf-cache
+     * Returns the size and hit rate of the rendered PDF cache.
+     */
+    @GetMapping("/pdf-cache")
+    public ResponseEntity<PdfCacheStatsDto> getPdfCacheStats() {
+        PdfCacheStatsDto dto = new PdfCacheStatsDto(
+                portfolioContentRevision.current(),
+                pdfRenderCache.getEntryCount(),
+                pdfRenderCache.getTotalBytes(),
+                pdfRenderCache.getMaxBytes(),
+                pdfRenderCache.getMaxEntryBytes(),
+                pdfRenderCache.getHits(),
+                pdfRenderCache.getMisses(),
+                pdfRenderCache.getEvictions()
+        );
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * GET /api/v1/admin/metrics/pdf-render-pool
+     * Returns concurrency, queue depth, admission counters and wait/render time percentiles of the PDF render pool.
+     */
+    @GetMapping("/pdf-render-pool")
+    public ResponseEntity<PdfRenderPoolStatsDto> getPdfRenderPoolStats() {
+        LatencyHistogram wait = pdfRenderPool.getWaitTime();
+        LatencyHistogram render = pdfRenderPool.getRenderTime();
+        PdfRenderPoolStatsDto dto = new PdfRenderPoolStatsDto(
+                pdfRenderPool.getConcurrency(),
+                pdfRenderPool.getActiveCount(),
+                pdfRenderPool.getQueueDepth(),
+                pdfRenderPool.getQueueCapacity(),
+                pdfRenderPool.getQueueTimeoutMs(),
+                pdfRenderPool.getCompletedCount(),
+                pdfRenderPool.getFailedCount(),
+                pdfRenderPool.getRejectedCount(),
+                pdfRenderPool.getTimedOutCount(),
+                toMillis(wait.getValueAtPercentile(50)),
+                toMillis(wait.getValueAtPercentile(99)),
+                toMillis(wait.getMaxMicros()),
+                toMillis(render.getMeanMicros()),
+                toMillis(render.getValueAtPercentile(50)),
+                toMillis(render.getValueAtPercentile(99)),
+                toMillis(render.getMaxMicros())
+        );
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * GET /api/v1/admin/metrics/pdf-renders
+     * Returns per-template render times split into data load, setup, layout and close, with page count, output
+     * size and allocated bytes per render. Slowest p99 first. Cache hits are not renders and are not included.
+     */
+    @GetMapping("/pdf-renders")
+    public ResponseEntity<List<PdfRenderMetricsDto>> getPdfRenderMetrics() {
+        List<PdfRenderMetricsDto> metrics = pdfRenderMetrics.templates().stream()
+                .map(snapshot -> {
+                    PdfRenderMetrics.TemplateMetrics m = snapshot.metrics();
+                    LatencyHistogram total = m.getTotalTime();
+                    return new PdfRenderMetricsDto(
+                            snapshot.template(),
+                            snapshot.mode().name().toLowerCase(),
+                            m.getRenders(),
+                            m.getFailures(),
+                            toMillis(m.getPhaseTime(Phase.DATA_LOAD).getMeanMicros()),
+                            toMillis(m.getPhaseTime(Phase.DATA_LOAD).getValueAtPercentile(99)),
+                            toMillis(m.getPhaseTime(Phase.SETUP).getMeanMicros()),
+                            toMillis(m.getPhaseTime(Phase.SETUP).getValueAtPercentile(99)),
+                            toMillis(m.getPhaseTime(Phase.LAYOUT).getMeanMicros()),
+                            toMillis(m.getPhaseTime(Phase.LAYOUT).getValueAtPercentile(99)),
+                            toMillis(m.getPhaseTime(Phase.CLOSE).getMeanMicros()),
+                            toMillis(m.getPhaseTime(Phase.CLOSE).getValueAtPercentile(99)),
+                            toMillis(total.getMeanMicros()),
+                            toMillis(total.getValueAtPercentile(50)),
+                            toMillis(total.getValueAtPercentile(99)),
+                            toMillis(total.getMaxMicros()),
+                            m.getMeanPages(),
+                            m.getMeanSizeBytes(),
+                            m.getMeanAllocatedBytes(),
+                            m.getMaxAllocatedBytes()
+                    );
+                })
+                .sorted(Comparator.comparingDouble(PdfRenderMetricsDto::getTotalP99Ms).reversed())
+                .toList();
+        return ResponseEntity.ok(metrics);
+    }
+
+    /**
+     * DELETE /api/v1/admin/metrics/pdf-renders
+     * Clears the PDF render metrics and the recent renders shown in the PDF diagnostics.
+     */
+    @DeleteMapping("/pdf-renders")
+    public ResponseEntity<Void> resetPdfRenderMetrics() {
+        pdfRenderMetrics.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /api/v1/admin/metrics/image-cache
+     * Returns the size, hit rate and fetch counters of the local image cache.
+     */
+    @GetMapping("/image-cache")
+    public ResponseEntity<ImageCacheStatsDto> getImageCacheStats() {
+        ImageCacheStatsDto dto = new ImageCacheStatsDto(
+                imageCache.getEntryCount(),
+                imageCache.getTotalBytes(),
+                imageCache.getMaxBytes(),
+                imageCache.getHits(),
+                imageCache.getMisses(),
+                imageCache.getFetches(),
+                imageCache.getFetchFailures(),
+                imageCache.getEvictions()
+        );
+        return ResponseEntity.ok(dto);
+    }
+
+    private static double toMillis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.forkmyfolio.controller.admin;
+
+import com.forkmyfolio.aop.SkipApiResponseWrapper;
+import com.forkmyfolio.dto.response.PdfRenderTraceDto;
+import com.forkmyfolio.service.pdf.PdfBundle;
+import com.forkmyfolio.service.pdf.PdfBundleService;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics.Phase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Admin-only PDF exports.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/pdf")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Admin Operations", description = "Endpoints for administrative tasks like backups and statistics.")
+@RequiredArgsConstructor
+public class AdminPdfController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminPdfController.class);
+
+    private final PdfBundleService pdfBundleService;
+    private final PdfRenderMetrics pdfRenderMetrics;
+
+    /**
+     * GET /api/v1/admin/pdf/bundle
+     * Streams a ZIP archive with the portfolio rendered in every template. The templates render in parallel
+     * on the render pool and each PDF is added to the archive as soon as it is done.
+     */
+    @GetMapping("/bundle")
+    @SkipApiResponseWrapper
+    @Operation(summary = "Download All PDF Templates",
+            description = "Streams a ZIP archive containing the portfolio PDF in every template. Templates that fail are listed in FAILED.txt inside the archive.",
+            security = @SecurityRequirement(name = "bearerAuth"),
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "ZIP archive streamed."),
+                    @ApiResponse(responseCode = "400", description = "Unknown output mode."),
+                    @ApiResponse(responseCode = "429", description = "The render queue is full; retry after the Retry-After delay.")
+            })
+    public void downloadBundle(@RequestParam(value = "mode", required = false) String outputMode,
+                               HttpServletResponse response) throws IOException {
+        log.info("GET /api/v1/admin/pdf/bundle - Received request for a PDF bundle");
+        PdfBundle bundle = pdfBundleService.prepareBundle(outputMode);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(bundle.getFilename()).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        int written = bundle.writeTo(response.getOutputStream());
+        response.flushBuffer();
+        log.info("Sent PDF bundle {} with {} PDFs.", bundle.getFilename(), written);
+    }
+
+    /**
+     * GET /api/v1/admin/pdf/diagnostics
+     * Lists the most recent PDF renders, newest first, each with its phase times, page count, size and
+     * allocated bytes, so a single slow download can be traced to its cause.
+     */
+    @GetMapping("/diagnostics")
+    @Operation(summary = "Recent PDF Renders",
+            description = "Lists recent PDF renders with data load, setup, layout and close times, page count, size and allocated bytes.",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<List<PdfRenderTraceDto>> getDiagnostics() {
+        List<PdfRenderTraceDto> renders = pdfRenderMetrics.recent().stream()
+                .map(render -> new PdfRenderTraceDto(
+                        render.template(),
+                        render.mode().name().toLowerCase(),
+                        render.finishedAt(),
+                        render.succeeded(),
+                        toMillis(render.micros(Phase.DATA_LOAD)),
+                        toMillis(render.micros(Phase.SETUP)),
+                        toMillis(render.micros(Phase.LAYOUT)),
+                        toMillis(render.micros(Phase.CLOSE)),
+                        toMillis(render.totalMicros()),
+                        render.pages(),
+                        render.sizeBytes(),
+                        render.allocatedBytes(),
+                        render.complete()))
+                .toList();
+        return ResponseEntity.ok(renders);
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
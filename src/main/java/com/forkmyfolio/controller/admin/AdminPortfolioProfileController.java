@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.forkmyfolio.dto.create.CreatePortfolioProfileRequest;
 import com.forkmyfolio.dto.response.PortfolioProfileDto;
 import com.forkmyfolio.dto.update.UpdatePortfolioProfileRequest;
@@ -24,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
  * This is a singleton resource, so it has C-R-U but no "list all" or "delete".
  */
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin/portfolio-profile")
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin: Portfolio Profile Management", description = "Endpoints for managing the public portfolio profile content.")
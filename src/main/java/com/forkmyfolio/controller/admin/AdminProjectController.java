@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.forkmyfolio.dto.create.CreateProjectRequest;
 import com.forkmyfolio.dto.response.ProjectDto;
 import com.forkmyfolio.dto.update.UpdateProjectRequest;
@@ -30,6 +31,7 @@ import java.util.stream.Collectors;
  * Admin controller for managing portfolio projects.
  */
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin/projects")
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin: Project Management", description = "Endpoints for managing portfolio projects.")
@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.forkmyfolio.dto.create.CreateQualificationRequest;
 import com.forkmyfolio.dto.response.QualificationDto;
 import com.forkmyfolio.dto.update.UpdateQualificationRequest;
@@ -27,6 +28,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin/qualifications")
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin: Qualification Management", description = "Endpoints for managing qualifications.")
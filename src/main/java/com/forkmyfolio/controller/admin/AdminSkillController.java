@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.forkmyfolio.dto.create.CreateSkillRequest;
 import com.forkmyfolio.dto.response.SkillDto;
 import com.forkmyfolio.dto.update.UpdateSkillRequest;
@@ -26,6 +27,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin/skills")
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin: Skill Management", description = "Endpoints for managing portfolio skills.")
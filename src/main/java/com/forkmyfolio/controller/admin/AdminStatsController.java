@@ -1,23 +1,179 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.SkipApiResponseWrapper;
+import com.forkmyfolio.config.AsyncConfig;
 import com.forkmyfolio.dto.AdminStatsDto;
+import com.forkmyfolio.dto.response.BotTrafficStatsDto;
+import com.forkmyfolio.dto.response.ProjectViewStatsPageDto;
+import com.forkmyfolio.dto.response.StatsSeriesDto;
+import com.forkmyfolio.dto.response.TrackingQueueStatsDto;
+import com.forkmyfolio.dto.response.TrendingProjectStatsDto;
+import com.forkmyfolio.dto.response.UniqueVisitorsDto;
+import com.forkmyfolio.model.enums.StatBucketGranularity;
+import com.forkmyfolio.model.enums.VisitorStatType;
+import com.forkmyfolio.repository.projection.StatRefIdCount;
 import com.forkmyfolio.service.VisitorStatsService;
-import lombok.RequiredArgsConstructor;
+import com.forkmyfolio.service.stats.BotTrafficCounter;
+import com.forkmyfolio.service.stats.DroppingRejectionPolicy;
+import com.forkmyfolio.service.stats.TrendingWindow;
+import com.forkmyfolio.service.stats.UniqueVisitorsEstimate;
+import com.forkmyfolio.service.stats.UserAgentClassifier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @RestController
 @RequestMapping("/api/v1/admin/stats")
-@RequiredArgsConstructor
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminStatsController {
     private final VisitorStatsService visitorStatsService;
+    private final ThreadPoolTaskExecutor visitorStatsExecutor;
+    private final DroppingRejectionPolicy visitorStatsRejectionPolicy;
+    private final BotTrafficCounter botTrafficCounter;
+    private final UserAgentClassifier userAgentClassifier;
+
+    public AdminStatsController(VisitorStatsService visitorStatsService,
+                                @Qualifier(AsyncConfig.VISITOR_STATS_EXECUTOR) ThreadPoolTaskExecutor visitorStatsExecutor,
+                                DroppingRejectionPolicy visitorStatsRejectionPolicy,
+                                BotTrafficCounter botTrafficCounter,
+                                UserAgentClassifier userAgentClassifier) {
+        this.visitorStatsService = visitorStatsService;
+        this.visitorStatsExecutor = visitorStatsExecutor;
+        this.visitorStatsRejectionPolicy = visitorStatsRejectionPolicy;
+        this.botTrafficCounter = botTrafficCounter;
+        this.userAgentClassifier = userAgentClassifier;
+    }
 
     @GetMapping
     public ResponseEntity<AdminStatsDto> getVisitorStats() {
         return ResponseEntity.ok(visitorStatsService.getStats());
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/v1/admin/stats/stream
+     * Server-Sent Events stream: one {@code snapshot} event with the current totals, then at most one
+     * {@code delta} event per second with the increments since the previous event. The snapshot includes
+     * increments that have not been flushed to the database yet.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SkipApiResponseWrapper
+    public SseEmitter streamStats() {
+        return visitorStatsService.subscribeLiveStats();
+    }
+
+    /**
+     * GET /api/v1/admin/stats/projects?page=0&size=20
+     * Pages through per-project view counts, most viewed first.
+     */
+    @GetMapping("/projects")
+    public ResponseEntity<ProjectViewStatsPageDto> getProjectViews(@RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        Page<StatRefIdCount> result = visitorStatsService.getProjectViews(page, size);
+        ProjectViewStatsPageDto dto = new ProjectViewStatsPageDto(
+                result.map(row -> new ProjectViewStatsPageDto.Entry(row.getRefId(), row.getCount())).getContent(),
+                result.getNumber(),
+                result.getSize(),
+                result.getTotalElements(),
+                result.getTotalPages()
+        );
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * GET /api/v1/admin/stats/bots
+     * Reports tracked hits that were classified as bot traffic and therefore not persisted.
+     */
+    @GetMapping("/bots")
+    public ResponseEntity<BotTrafficStatsDto> getBotTrafficStats() {
+        Map<String, Long> botHits = new LinkedHashMap<>();
+        botTrafficCounter.snapshot().forEach((type, count) -> botHits.put(type.name(), count));
+        BotTrafficStatsDto dto = new BotTrafficStatsDto(
+                botHits,
+                userAgentClassifier.getCacheSize(),
+                userAgentClassifier.getCacheHits(),
+                userAgentClassifier.getCacheMisses()
+        );
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * GET /api/v1/admin/stats/tracking
+     * Reports queue depth and dropped/rejected counters of the asynchronous visitor tracking executor.
+     */
+    @GetMapping("/tracking")
+    public ResponseEntity<TrackingQueueStatsDto> getTrackingQueueStats() {
+        ThreadPoolExecutor pool = visitorStatsExecutor.getThreadPoolExecutor();
+        TrackingQueueStatsDto dto = new TrackingQueueStatsDto(
+                pool.getActiveCount(),
+                pool.getQueue().size(),
+                visitorStatsExecutor.getQueueCapacity(),
+                pool.getCompletedTaskCount(),
+                visitorStatsRejectionPolicy.getDroppedCount(),
+                visitorStatsRejectionPolicy.getRejectedCount(),
+                visitorStatsRejectionPolicy.getMode().name()
+        );
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * GET /api/v1/admin/stats/series?type=PROJECT_VIEW&granularity=DAY&from=2025-01-01&to=2025-01-31[&refId=...]
+     * Returns a zero-filled time series for one stat type over an inclusive UTC date range.
+     */
+    @GetMapping("/series")
+    public ResponseEntity<StatsSeriesDto> getSeries(
+            @RequestParam VisitorStatType type,
+            @RequestParam(defaultValue = "DAY") StatBucketGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String refId) {
+        List<StatsSeriesDto.Point> points = visitorStatsService.getSeries(type, refId, granularity, from, to).stream()
+                .map(point -> new StatsSeriesDto.Point(point.bucketStart(), point.count()))
+                .toList();
+        return ResponseEntity.ok(new StatsSeriesDto(type.name(), refId, granularity.name(), points));
+    }
+
+    /**
+     * GET /api/v1/admin/stats/unique?type=TOTAL_VISITS&from=2025-01-01&to=2025-01-31
+     * Returns approximate unique visitors per UTC day and for the whole range.
+     */
+    @GetMapping("/unique")
+    public ResponseEntity<UniqueVisitorsDto> getUniqueVisitors(
+            @RequestParam(defaultValue = "TOTAL_VISITS") VisitorStatType type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        UniqueVisitorsEstimate estimate = visitorStatsService.getUniqueVisitors(type, from, to);
+        return ResponseEntity.ok(new UniqueVisitorsDto(type.name(), from, to, estimate.total(), estimate.daily()));
+    }
+
+    /**
+     * GET /api/v1/admin/stats/trending?limit=10
+     * Returns the trending projects for every window, with the sketch's error bound per entry.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<Map<TrendingWindow, List<TrendingProjectStatsDto>>> getTrendingProjects(
+            @RequestParam(defaultValue = "10") int limit) {
+        Map<TrendingWindow, List<TrendingProjectStatsDto>> trending = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            trending.put(window, visitorStatsService.getTrendingProjects(window, limit).stream()
+                    .map(hitter -> new TrendingProjectStatsDto(hitter.item(), hitter.count(), hitter.error()))
+                    .toList());
+        }
+        return ResponseEntity.ok(trending);
+    }
+}
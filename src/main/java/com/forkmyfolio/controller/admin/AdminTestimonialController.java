@@ -1,5 +1,6 @@
 package com.forkmyfolio.controller.admin;
 
+import com.forkmyfolio.aop.ModifiesPortfolioContent;
 import com.forkmyfolio.dto.create.CreateTestimonialRequest;
 import com.forkmyfolio.dto.response.TestimonialDto;
 import com.forkmyfolio.dto.update.UpdateTestimonialRequest;
@@ -27,6 +28,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
+@ModifiesPortfolioContent
 @RequestMapping("/api/v1/admin/testimonials")
 @PreAuthorize("hasRole('ADMIN')")
 @Tag(name = "Admin: Testimonial Management", description = "Endpoints for managing testimonials.")
@@ -9,7 +9,14 @@ import java.util.Map;
 @NoArgsConstructor
 public class AdminStatsDto {
     private long totalVisits;
+    /**
+     * Views of every viewed project (project UUID to views), highest first.
+     */
     private Map<String, Long> projects;
+    /**
+     * The first {@code app.stats.dashboard-top-projects} entries of {@link #projects}.
+     */
+    private Map<String, Long> topProjects;
     private long projectsSectionViews;
     private long skillsSectionViews;
     private long experienceSectionViews;
@@ -20,4 +27,5 @@ public class AdminStatsDto {
     private long loginSuccesses;
     private long loginFailures;
     private long logoutSuccesses;
+    private long vcardDownloads;
 }
\ No newline at end of file
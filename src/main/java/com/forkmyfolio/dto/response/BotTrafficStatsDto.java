@@ -0,0 +1,22 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Hits filtered out as bot traffic since startup, plus the User-Agent classifier's cache statistics.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BotTrafficStatsDto {
+    private Map<String, Long> botHits;
+    private int classifierCacheSize;
+    private long classifierCacheHits;
+    private long classifierCacheMisses;
+}
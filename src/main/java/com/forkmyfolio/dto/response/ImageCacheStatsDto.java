@@ -0,0 +1,24 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Occupancy and effectiveness of the local image cache. Entries are files, one per image and rendition.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageCacheStatsDto {
+    private int files;
+    private long bytes;
+    private long maxBytes;
+    private long hits;
+    private long misses;
+    private long fetches;
+    private long fetchFailures;
+    private long evictions;
+}
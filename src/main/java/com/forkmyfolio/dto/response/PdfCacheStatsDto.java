@@ -0,0 +1,24 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Occupancy and effectiveness of the rendered PDF cache.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfCacheStatsDto {
+    private String contentRevision;
+    private int entries;
+    private long bytes;
+    private long maxBytes;
+    private long maxEntryBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+}
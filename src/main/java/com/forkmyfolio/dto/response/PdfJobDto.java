@@ -0,0 +1,30 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * State of an asynchronous PDF job. {@code downloadUrl} and {@code sizeBytes} are only set once the job is done.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfJobDto {
+    private String id;
+    private String template;
+    private String outputMode;
+    private String status;
+    private Instant createdAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Instant expiresAt;
+    private Long sizeBytes;
+    private String statusUrl;
+    private String downloadUrl;
+    private String error;
+}
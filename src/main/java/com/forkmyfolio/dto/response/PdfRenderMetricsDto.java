@@ -0,0 +1,37 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Render metrics of one (template, output mode), split by phase. Times are in milliseconds.
+ * Allocated bytes are {@code -1} when the JVM does not track per-thread allocations.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfRenderMetricsDto {
+    private String template;
+    private String mode;
+    private long renders;
+    private long failures;
+    private double dataLoadMeanMs;
+    private double dataLoadP99Ms;
+    private double setupMeanMs;
+    private double setupP99Ms;
+    private double layoutMeanMs;
+    private double layoutP99Ms;
+    private double closeMeanMs;
+    private double closeP99Ms;
+    private double totalMeanMs;
+    private double totalP50Ms;
+    private double totalP99Ms;
+    private double totalMaxMs;
+    private double meanPages;
+    private long meanSizeBytes;
+    private long meanAllocatedBytes;
+    private long maxAllocatedBytes;
+}
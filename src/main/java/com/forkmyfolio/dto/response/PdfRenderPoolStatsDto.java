@@ -0,0 +1,33 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Load and admission-control counters of the PDF render pool.
+ * Wait time is measured from admission to the start of rendering.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfRenderPoolStatsDto {
+    private int concurrency;
+    private int activeRenders;
+    private int queueDepth;
+    private int queueCapacity;
+    private long queueTimeoutMs;
+    private long completed;
+    private long failed;
+    private long rejected;
+    private long timedOut;
+    private double waitP50Ms;
+    private double waitP99Ms;
+    private double waitMaxMs;
+    private double renderMeanMs;
+    private double renderP50Ms;
+    private double renderP99Ms;
+    private double renderMaxMs;
+}
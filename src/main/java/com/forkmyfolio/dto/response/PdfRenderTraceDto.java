@@ -0,0 +1,32 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One recent PDF render with its phase breakdown. Times are in milliseconds.
+ * {@code complete} is {@code false} when the profile photo was not in the image cache yet.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfRenderTraceDto {
+    private String template;
+    private String mode;
+    private Instant finishedAt;
+    private boolean succeeded;
+    private double dataLoadMs;
+    private double setupMs;
+    private double layoutMs;
+    private double closeMs;
+    private double totalMs;
+    private int pages;
+    private long sizeBytes;
+    private long allocatedBytes;
+    private boolean complete;
+}
@@ -0,0 +1,32 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of per-project view counts, most viewed first.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectViewStatsPageDto {
+    private List<Entry> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String projectId;
+        private long views;
+    }
+}
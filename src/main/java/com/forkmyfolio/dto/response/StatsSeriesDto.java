@@ -0,0 +1,35 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A zero-filled visitor statistics time series for the admin dashboard charts.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsSeriesDto {
+    private String type;
+    private String refId;
+    private String granularity;
+    private List<Point> points;
+
+    /**
+     * One bucket of the series. {@code bucketStart} is in UTC.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        private LocalDateTime bucketStart;
+        private long count;
+    }
+}
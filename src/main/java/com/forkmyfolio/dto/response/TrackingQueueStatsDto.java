@@ -0,0 +1,23 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Health of the asynchronous visitor tracking pipeline, for the admin dashboard.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingQueueStatsDto {
+    private int activeWorkers;
+    private int queuedEvents;
+    private int queueCapacity;
+    private long completedEvents;
+    private long droppedEvents;
+    private long rejectedEvents;
+    private String dropPolicy;
+}
@@ -0,0 +1,18 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A trending project and its estimated number of views within the requested window.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingProjectDto {
+    private String projectId;
+    private long estimatedViews;
+}
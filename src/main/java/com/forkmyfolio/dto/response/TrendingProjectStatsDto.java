@@ -0,0 +1,20 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A trending project for the admin dashboard: its estimated views within a window and how far that
+ * estimate may exceed the true count.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingProjectStatsDto {
+    private String projectId;
+    private long estimatedViews;
+    private long maxOverestimation;
+}
@@ -0,0 +1,25 @@
+package com.forkmyfolio.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Approximate unique visitors for one stat type, per UTC day and for the whole range.
+ * The estimates come from HyperLogLog sketches and have a standard error of about 1.6%.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniqueVisitorsDto {
+    private String type;
+    private LocalDate from;
+    private LocalDate to;
+    private long total;
+    private Map<LocalDate, Long> daily;
+}
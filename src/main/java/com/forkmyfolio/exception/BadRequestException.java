@@ -0,0 +1,22 @@
+package com.forkmyfolio.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when request parameters are well-formed but semantically invalid,
+ * for example a date range whose end lies before its start.
+ * Responds with HTTP status 400 (Bad Request).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new BadRequestException with the specified detail message.
+     *
+     * @param message the detail message.
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
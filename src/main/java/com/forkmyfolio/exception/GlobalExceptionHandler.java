@@ -5,9 +5,11 @@ import com.forkmyfolio.advice.ApiResponseWrapper;
 import com.forkmyfolio.dto.response.FieldErrorDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -91,6 +93,60 @@ public class GlobalExceptionHandler implements ResponseBodyAdvice<Object> {
         return new ApiResponseWrapper<>(errors, "validation_failed");
     }
 
+    /**
+     * Handles lookups of resources that do not exist.
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiResponseWrapper<Object> handleResourceNotFound(ResourceNotFoundException ex) {
+        log.warn("Resource not found: {}", ex.getMessage());
+        List<FieldErrorDto> errors = List.of(new FieldErrorDto("general", ex.getMessage()));
+        return new ApiResponseWrapper<>(errors);
+    }
+
+    /**
+     * Handles operations that conflict with the current state of a resource.
+     */
+    @ExceptionHandler(ConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponseWrapper<Object> handleConflict(ConflictException ex) {
+        log.warn("Conflict: {}", ex.getMessage());
+        List<FieldErrorDto> errors = List.of(new FieldErrorDto("general", ex.getMessage()));
+        return new ApiResponseWrapper<>(errors);
+    }
+
+    /**
+     * Handles semantically invalid request parameters raised by services.
+     */
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponseWrapper<Object> handleBadRequest(BadRequestException ex) {
+        log.warn("Bad request: {}", ex.getMessage());
+        List<FieldErrorDto> errors = List.of(new FieldErrorDto("general", ex.getMessage()));
+        return new ApiResponseWrapper<>(errors);
+    }
+
+    /**
+     * Handles saturation of bounded resources with 429 and a Retry-After hint.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiResponseWrapper<Object>> handleTooManyRequests(TooManyRequestsException ex) {
+        log.warn("Too many requests: {}", ex.getMessage());
+        List<FieldErrorDto> errors = List.of(new FieldErrorDto("general", ex.getMessage()));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponseWrapper<>(errors));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponseWrapper<Object>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        log.warn("Service unavailable: {}", ex.getMessage());
+        List<FieldErrorDto> errors = List.of(new FieldErrorDto("general", ex.getMessage()));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiResponseWrapper<>(errors));
+    }
+
     /**
      * A final catch-all for any unexpected exceptions.
      * Returns a generic error message to avoid leaking implementation details.
@@ -0,0 +1,29 @@
+package com.forkmyfolio.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a request was accepted into a bounded queue but could not be served in time.
+ * Responds with HTTP status 503 (Service Unavailable) and a {@code Retry-After} header.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceUnavailableException.
+     *
+     * @param message           the detail message.
+     * @param retryAfterSeconds the number of seconds the client should wait before retrying.
+     */
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,29 @@
+package com.forkmyfolio.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a bounded server resource is saturated and the client should retry later.
+ * Responds with HTTP status 429 (Too Many Requests) and a {@code Retry-After} header.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new TooManyRequestsException.
+     *
+     * @param message           the detail message.
+     * @param retryAfterSeconds the number of seconds the client should wait before retrying.
+     */
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,53 @@
+package com.forkmyfolio.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every request end to end, including security filters and response serialization, and records the
+ * result in {@link RouteLatencyRegistry} labelled by route template, method and outcome.
+ * <p>
+ * Requests that switch to asynchronous processing (e.g. the SSE stats stream) are not recorded, because
+ * their lifetime is not a latency.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestLatencyFilter extends OncePerRequestFilter {
+
+    private final RouteLatencyRegistry registry;
+
+    public RequestLatencyFilter(RouteLatencyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!request.isAsyncStarted()) {
+                long micros = (System.nanoTime() - start) / 1_000;
+                RequestOutcome outcome = failed ? RequestOutcome.SERVER_ERROR : RequestOutcome.fromStatus(response.getStatus());
+                registry.record(routeOf(request), request.getMethod(), outcome, micros);
+            }
+        }
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String route ? route : RouteLatencyRegistry.UNMATCHED_ROUTE;
+    }
+}
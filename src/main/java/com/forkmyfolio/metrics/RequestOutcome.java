@@ -0,0 +1,20 @@
+package com.forkmyfolio.metrics;
+
+/**
+ * Coarse result class of an HTTP request, used as a histogram label.
+ */
+public enum RequestOutcome {
+    SUCCESS,
+    CLIENT_ERROR,
+    SERVER_ERROR;
+
+    /**
+     * Maps a response status to an outcome. 1xx-3xx count as success.
+     */
+    public static RequestOutcome fromStatus(int status) {
+        if (status >= 500) {
+            return SERVER_ERROR;
+        }
+        return status >= 400 ? CLIENT_ERROR : SUCCESS;
+    }
+}
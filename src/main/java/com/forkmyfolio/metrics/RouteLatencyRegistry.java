@@ -0,0 +1,85 @@
+package com.forkmyfolio.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Holds one {@link LatencyHistogram} per (route template, HTTP method, outcome).
+ * <p>
+ * Routes are keyed by the matched handler pattern (e.g. {@code /api/v1/projects/{uuid}}), never the raw
+ * path, so the number of histograms is bounded by the number of controller mappings. Once a route's
+ * histograms exist, recording is a map lookup plus array indexing with no allocation.
+ */
+@Component
+public class RouteLatencyRegistry {
+
+    /** Route label for requests that did not match any handler, e.g. 404s and static resources. */
+    public static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    static final String[] METHODS = {"GET", "POST", "PUT", "PATCH", "DELETE", "OTHER"};
+    private static final RequestOutcome[] OUTCOMES = RequestOutcome.values();
+
+    private final Map<String, AtomicReferenceArray<LatencyHistogram>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Records the latency of one finished request.
+     */
+    public void record(String route, String method, RequestOutcome outcome, long micros) {
+        AtomicReferenceArray<LatencyHistogram> histograms = routes.get(route);
+        if (histograms == null) {
+            histograms = routes.computeIfAbsent(route, key -> new AtomicReferenceArray<>(METHODS.length * OUTCOMES.length));
+        }
+        int slot = methodIndex(method) * OUTCOMES.length + outcome.ordinal();
+        LatencyHistogram histogram = histograms.get(slot);
+        if (histogram == null) {
+            histograms.compareAndSet(slot, null, new LatencyHistogram());
+            histogram = histograms.get(slot);
+        }
+        histogram.record(micros);
+    }
+
+    /**
+     * Returns every non-empty histogram with its labels.
+     */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        routes.forEach((route, histograms) -> {
+            for (int slot = 0; slot < histograms.length(); slot++) {
+                LatencyHistogram histogram = histograms.get(slot);
+                if (histogram != null && histogram.getCount() > 0) {
+                    entries.add(new Entry(route, METHODS[slot / OUTCOMES.length], OUTCOMES[slot % OUTCOMES.length], histogram));
+                }
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Drops all recorded data.
+     */
+    public void reset() {
+        routes.clear();
+    }
+
+    private static int methodIndex(String method) {
+        return switch (method) {
+            case "GET", "HEAD" -> 0;
+            case "POST" -> 1;
+            case "PUT" -> 2;
+            case "PATCH" -> 3;
+            case "DELETE" -> 4;
+            default -> 5;
+        };
+    }
+
+    /**
+     * A labelled histogram.
+     */
+    public record Entry(String route, String method, RequestOutcome outcome, LatencyHistogram histogram) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.forkmyfolio.model;
+
+import com.forkmyfolio.model.enums.StatBucketGranularity;
+import com.forkmyfolio.model.enums.VisitorStatType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * A visitor counter for one (type, refId) pair within one UTC time bucket.
+ * <p>
+ * Buckets are maintained incrementally at hourly, daily and monthly granularity as
+ * buffered increments are flushed, so a range query reads at most one row per bucket
+ * instead of aggregating individual events.
+ */
+@Entity
+@Table(name = "visitor_stat_buckets",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_visitor_stat_buckets_key", columnNames = {"type", "ref_id", "granularity", "bucket_start"})
+        },
+        indexes = {
+                @Index(name = "idx_visitor_stat_buckets_series", columnList = "type, granularity, bucket_start")
+        })
+@Getter
+@Setter
+public class VisitorStatBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 100)
+    private VisitorStatType type;
+
+    @Column(name = "ref_id", nullable = false)
+    private String refId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private StatBucketGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private long count = 0L;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -9,7 +9,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.Instant;
 
 @Entity
-@Table(name = "visitor_stats")
+@Table(name = "visitor_stats",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_visitor_stats_type_ref_id", columnNames = {"type", "ref_id"})
+        },
+        indexes = {
+                @Index(name = "idx_visitor_stats_type_count", columnList = "type, count")
+        })
 @Getter
 @Setter
 public class VisitorStats {
@@ -22,7 +28,7 @@ public class VisitorStats {
     @Column(nullable = false, length = 100) // THE FIX: Ensure length is 50 to accommodate all enum names.
     private VisitorStatType type;
 
-    @Column(nullable = false)
+    @Column(name = "ref_id", nullable = false)
     private String refId;
 
     @Column(nullable = false)
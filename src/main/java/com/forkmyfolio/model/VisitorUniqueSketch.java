@@ -0,0 +1,40 @@
+package com.forkmyfolio.model;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The persisted HyperLogLog registers for one stat type on one UTC day.
+ * Each row is a fixed 4 KiB regardless of traffic and holds no IP addresses or other raw identifiers.
+ */
+@Entity
+@Table(name = "visitor_unique_sketches", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_visitor_unique_sketches_type_day", columnNames = {"type", "stat_day"})
+})
+@Getter
+@Setter
+public class VisitorUniqueSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 100)
+    private VisitorStatType type;
+
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false, length = 4096)
+    private byte[] registers;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+}
@@ -0,0 +1,62 @@
+package com.forkmyfolio.model.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The width of a time bucket in the visitor statistics time series.
+ * All bucket boundaries are in UTC.
+ */
+public enum StatBucketGranularity {
+    HOUR,
+    DAY,
+    MONTH;
+
+    /**
+     * Returns the start of the bucket that contains the given UTC timestamp.
+     *
+     * @param timestamp A UTC timestamp.
+     * @return The inclusive start of the enclosing bucket.
+     */
+    public LocalDateTime bucketStart(LocalDateTime timestamp) {
+        return switch (this) {
+            case HOUR -> timestamp.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> timestamp.truncatedTo(ChronoUnit.DAYS);
+            case MONTH -> timestamp.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Returns the start of the bucket that follows the one starting at {@code bucketStart}.
+     *
+     * @param bucketStart The start of a bucket of this granularity.
+     * @return The start of the next bucket.
+     */
+    public LocalDateTime next(LocalDateTime bucketStart) {
+        return switch (this) {
+            case HOUR -> bucketStart.plusHours(1);
+            case DAY -> bucketStart.plusDays(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    /**
+     * Returns the number of buckets that start in {@code [start, end)}, without enumerating them.
+     *
+     * @param start The start of a bucket of this granularity.
+     * @param end   The exclusive end of the range.
+     * @return The number of buckets, or zero if {@code end} is not after {@code start}.
+     */
+    public long bucketsBetween(LocalDateTime start, LocalDateTime end) {
+        ChronoUnit unit = switch (this) {
+            case HOUR -> ChronoUnit.HOURS;
+            case DAY -> ChronoUnit.DAYS;
+            case MONTH -> ChronoUnit.MONTHS;
+        };
+        if (!start.isBefore(end)) {
+            return 0;
+        }
+        long whole = unit.between(start, end);
+        return start.plus(whole, unit).isBefore(end) ? whole + 1 : whole;
+    }
+}
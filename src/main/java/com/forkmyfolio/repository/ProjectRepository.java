@@ -2,6 +2,7 @@ package com.forkmyfolio.repository;
 
 import com.forkmyfolio.model.Project;
 import com.forkmyfolio.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -28,6 +29,15 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     List<Project> findByUser(User owner);
 
+    /**
+     * Finds a user's projects in creation order, with their tech stacks fetched in the same query.
+     *
+     * @param owner The owning user.
+     * @return The projects, oldest first.
+     */
+    @EntityGraph(attributePaths = "techStack")
+    List<Project> findWithTechStackByUserOrderByIdAsc(User owner);
+
     Optional<Project> findByUuid(UUID uuid);
 
     void deleteByUser(User user);
@@ -0,0 +1,68 @@
+package com.forkmyfolio.repository;
+
+import com.forkmyfolio.model.VisitorStatBucket;
+import com.forkmyfolio.model.enums.StatBucketGranularity;
+import com.forkmyfolio.model.enums.VisitorStatType;
+import com.forkmyfolio.repository.projection.StatBucketTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface VisitorStatBucketRepository extends JpaRepository<VisitorStatBucket, Long> {
+
+    /**
+     * Atomically adds {@code delta} to a bucket, creating it if needed.
+     *
+     * @param type        The {@link VisitorStatType} name.
+     * @param refId       The reference ID.
+     * @param granularity The {@link StatBucketGranularity} name.
+     * @param bucketStart The UTC start of the bucket.
+     * @param delta       The amount to add.
+     * @return The number of affected rows as reported by the driver.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO visitor_stat_buckets (type, ref_id, granularity, bucket_start, count, updated_at) " +
+            "VALUES (:type, :refId, :granularity, :bucketStart, :delta, CURRENT_TIMESTAMP(6)) " +
+            "ON DUPLICATE KEY UPDATE count = count + :delta, updated_at = CURRENT_TIMESTAMP(6)",
+            nativeQuery = true)
+    int upsertIncrement(@Param("type") String type, @Param("refId") String refId,
+                        @Param("granularity") String granularity, @Param("bucketStart") LocalDateTime bucketStart,
+                        @Param("delta") long delta);
+
+    /**
+     * Sums the buckets of one stat type across all reference IDs, e.g. all project views per day.
+     */
+    @Query("SELECT b.bucketStart AS bucketStart, SUM(b.count) AS total FROM VisitorStatBucket b " +
+            "WHERE b.type = :type AND b.granularity = :granularity AND b.bucketStart >= :from AND b.bucketStart < :to " +
+            "GROUP BY b.bucketStart ORDER BY b.bucketStart")
+    List<StatBucketTotal> sumSeries(@Param("type") VisitorStatType type,
+                                    @Param("granularity") StatBucketGranularity granularity,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Returns the buckets of a single (type, refId) series, e.g. the daily views of one project.
+     */
+    @Query("SELECT b.bucketStart AS bucketStart, SUM(b.count) AS total FROM VisitorStatBucket b " +
+            "WHERE b.type = :type AND b.refId = :refId AND b.granularity = :granularity " +
+            "AND b.bucketStart >= :from AND b.bucketStart < :to " +
+            "GROUP BY b.bucketStart ORDER BY b.bucketStart")
+    List<StatBucketTotal> sumSeriesForRefId(@Param("type") VisitorStatType type, @Param("refId") String refId,
+                                            @Param("granularity") StatBucketGranularity granularity,
+                                            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Deletes buckets of one granularity that start before the cutoff. Used to cap hourly retention.
+     *
+     * @return The number of deleted buckets.
+     */
+    @Modifying
+    @Query("DELETE FROM VisitorStatBucket b WHERE b.granularity = :granularity AND b.bucketStart < :cutoff")
+    int deleteByGranularityAndBucketStartBefore(@Param("granularity") StatBucketGranularity granularity,
+                                                @Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,12 +2,51 @@ package com.forkmyfolio.repository;
 
 import com.forkmyfolio.model.VisitorStats;
 import com.forkmyfolio.model.enums.VisitorStatType;
+import com.forkmyfolio.repository.projection.StatRefIdCount;
+import com.forkmyfolio.repository.projection.StatTypeTotal;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VisitorStatsRepository extends JpaRepository<VisitorStats, Long> {
     Optional<VisitorStats> findByTypeAndRefId(VisitorStatType type, String refId);
-}
\ No newline at end of file
+
+    /**
+     * Sums every counter per stat type in the database. Returns one row per type that has data,
+     * no matter how many reference IDs exist.
+     */
+    @Query("SELECT s.type AS type, SUM(s.count) AS total FROM VisitorStats s GROUP BY s.type")
+    List<StatTypeTotal> sumCountsByType();
+
+    /**
+     * Pages through the counters of one stat type, highest count first. Used for per-project views.
+     */
+    @Query(value = "SELECT s.refId AS refId, s.count AS count FROM VisitorStats s WHERE s.type = :type " +
+            "ORDER BY s.count DESC, s.refId ASC",
+            countQuery = "SELECT COUNT(s) FROM VisitorStats s WHERE s.type = :type")
+    Page<StatRefIdCount> findCountsByType(@Param("type") VisitorStatType type, Pageable pageable);
+
+    /**
+     * Atomically adds {@code delta} to the counter for (type, refId), creating the row if it does not exist.
+     * Relies on the unique (type, ref_id) index, so concurrent writers never read-modify-write or lose updates.
+     *
+     * @param type  The {@link VisitorStatType} name.
+     * @param refId The reference ID.
+     * @param delta The amount to add.
+     * @return The number of affected rows as reported by the driver.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO visitor_stats (type, ref_id, count, updated_at) " +
+            "VALUES (:type, :refId, :delta, CURRENT_TIMESTAMP(6)) " +
+            "ON DUPLICATE KEY UPDATE count = count + :delta, updated_at = CURRENT_TIMESTAMP(6)",
+            nativeQuery = true)
+    int upsertIncrement(@Param("type") String type, @Param("refId") String refId, @Param("delta") long delta);
+}
@@ -0,0 +1,24 @@
+package com.forkmyfolio.repository;
+
+import com.forkmyfolio.model.VisitorUniqueSketch;
+import com.forkmyfolio.model.enums.VisitorStatType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VisitorUniqueSketchRepository extends JpaRepository<VisitorUniqueSketch, Long> {
+
+    /**
+     * Loads a sketch row for update, so concurrent flushes from several instances merge instead of overwrite.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<VisitorUniqueSketch> findByTypeAndDay(VisitorStatType type, LocalDate day);
+
+    List<VisitorUniqueSketch> findByTypeAndDayBetweenOrderByDay(VisitorStatType type, LocalDate from, LocalDate to);
+}
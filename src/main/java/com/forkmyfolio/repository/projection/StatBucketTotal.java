@@ -0,0 +1,12 @@
+package com.forkmyfolio.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of one aggregated time bucket: its start and the summed count of all matching rows.
+ */
+public interface StatBucketTotal {
+    LocalDateTime getBucketStart();
+
+    Long getTotal();
+}
@@ -0,0 +1,10 @@
+package com.forkmyfolio.repository.projection;
+
+/**
+ * Projection of a single counter: its reference ID (e.g. a project UUID) and its count.
+ */
+public interface StatRefIdCount {
+    String getRefId();
+
+    Long getCount();
+}
@@ -0,0 +1,12 @@
+package com.forkmyfolio.repository.projection;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+
+/**
+ * Projection of one stat type and the summed count of all its reference IDs.
+ */
+public interface StatTypeTotal {
+    VisitorStatType getType();
+
+    Long getTotal();
+}
@@ -1,16 +1,20 @@
 package com.forkmyfolio.service;
 
+import com.forkmyfolio.exception.BadRequestException;
 import com.forkmyfolio.model.*;
-import com.forkmyfolio.repository.ExperienceRepository;
-import com.forkmyfolio.repository.ProjectRepository;
-import com.forkmyfolio.repository.QualificationRepository;
-import com.forkmyfolio.repository.SkillRepository;
+import com.forkmyfolio.repository.SettingRepository;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import com.forkmyfolio.service.pdf.BoundedByteArrayOutputStream;
+import com.forkmyfolio.service.pdf.PdfDownload;
+import com.forkmyfolio.service.pdf.PdfFontRegistry;
+import com.forkmyfolio.service.pdf.PdfOutputMode;
+import com.forkmyfolio.service.pdf.PdfRenderCache;
+import com.forkmyfolio.service.pdf.PdfRenderContext;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics;
 import com.forkmyfolio.service.pdf.PortfolioData;
+import com.forkmyfolio.service.pdf.PortfolioDataLoader;
 import com.forkmyfolio.service.pdf.templates.*;
-import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.DeviceRgb;
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
@@ -18,16 +22,19 @@ import com.itextpdf.layout.Document;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
@@ -36,13 +43,21 @@ public class PdfGenerationService {
     private static final Logger log = LoggerFactory.getLogger(PdfGenerationService.class);
 
     //<editor-fold desc="Repositories">
-    private final PortfolioProfileService portfolioProfileService;
-    private final ExperienceRepository experienceRepository;
-    private final ProjectRepository projectRepository;
-    private final SkillRepository skillRepository;
-    private final QualificationRepository qualificationRepository;
+    private final PortfolioDataLoader portfolioDataLoader;
+    private final SettingRepository settingRepository;
     //</editor-fold>
 
+    private final PortfolioContentRevision portfolioContentRevision;
+    private final PdfRenderCache pdfRenderCache;
+    private final PdfFontRegistry pdfFontRegistry;
+    private final PdfRenderMetrics pdfRenderMetrics;
+
+    @Value("${app.pdf.render.max-bytes:16777216}")
+    private long maxRenderBytes;
+
+    /** The {@value #OUTPUT_MODE_SETTING} setting, loaded on first use. */
+    private final AtomicReference<PdfOutputMode> defaultOutputMode = new AtomicReference<>();
+
     //<editor-fold desc="Color & Font Constants">
     // These are public so templates can access them easily.
     public static final DeviceRgb PRIMARY_COLOR = new DeviceRgb(34, 49, 63);
@@ -55,6 +70,9 @@ public class PdfGenerationService {
     public static final DeviceRgb SKILL_BEGINNER_COLOR = new DeviceRgb(255, 193, 7);     // #FFC107 (Amber)
     //</editor-fold>
 
+    /** Name of the setting that holds the default {@link PdfOutputMode}. */
+    public static final String OUTPUT_MODE_SETTING = "PDF_OUTPUT_MODE";
+
     // A map to hold available templates. This makes adding new ones easy.
     private final Map<String, PortfolioPdfTemplate> templates = Map.of(
             "modern", new ModernTemplate(),
@@ -74,95 +92,292 @@ public class PdfGenerationService {
     }
 
     /**
-     * The context object holds resources for a single PDF generation, like fonts.
-     * It's public so it can be accessed by templates in other packages.
+     * Returns a portfolio PDF using a specified template, in the configured default output mode.
+     *
+     * @param templateName The name of the template to use (e.g., "modern").
+     * @return A PdfFile record containing the byte content and suggested filename.
+     * @see #generatePortfolioPdf(String, PdfOutputMode)
      */
-    public static class PdfContext {
-        public final PdfDocument pdfDocument;
-        public final PdfFont nameFont, headlineFont, sectionHeaderFont, itemTitleFont, itemSubtitleFont, bodyFont, dateFont, solidIconFont, brandsIconFont;
-
-        public PdfContext(PdfDocument pdfDocument) throws IOException {
-            this.pdfDocument = pdfDocument;
-            this.nameFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
-            this.headlineFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_OBLIQUE);
-            this.sectionHeaderFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
-            this.itemTitleFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
-            this.itemSubtitleFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_OBLIQUE);
-            this.bodyFont = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-            this.dateFont = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-            this.solidIconFont = loadOptionalFontFromResource("fonts/Font Awesome 6 Free-Solid-900.otf");
-            this.brandsIconFont = loadOptionalFontFromResource("fonts/Font Awesome 6 Brands-Regular-400.otf");
-        }
+    public PdfFile generatePortfolioPdf(String templateName) {
+        return generatePortfolioPdf(templateName, getDefaultOutputMode());
     }
 
-    private static PdfFont loadOptionalFontFromResource(String resourcePath) {
-        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(resourcePath)) {
-            if (is == null) {
-                log.warn("Font resource not found on classpath: '{}'. Icons may not display.", resourcePath);
-                return null;
+    /**
+     * Returns a portfolio PDF using a specified template. The PDF is served from the
+     * {@link PdfRenderCache} when the same template was already rendered in the same mode for the current
+     * portfolio content revision, and rendered (then cached) otherwise.
+     *
+     * @param templateName The name of the template to use (e.g., "modern").
+     * @param mode         How the PDF file is written.
+     * @return A PdfFile record containing the byte content and suggested filename.
+     */
+    public PdfFile generatePortfolioPdf(String templateName, PdfOutputMode mode) {
+        String resolvedName = resolveTemplateName(templateName);
+        PdfRenderCache.Key cacheKey = new PdfRenderCache.Key(resolvedName, mode, portfolioContentRevision.current());
+        PdfRenderCache.Entry cached = pdfRenderCache.get(cacheKey);
+        if (cached == null) {
+            PdfRenderMetrics.Trace trace = pdfRenderMetrics.start(resolvedName, mode);
+            PortfolioData portfolioData = loadPortfolioData(trace);
+            cached = renderPortfolioPdf(resolvedName, mode, portfolioData, trace);
+            if (!portfolioData.isMissingProfileImage()) {
+                pdfRenderCache.put(cacheKey, cached);
             }
-            byte[] fontBytes = is.readAllBytes();
-            return PdfFontFactory.createFont(fontBytes, PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED);
-        } catch (IOException e) {
-            log.error("Failed to load font resource '{}': {}", resourcePath, e.getMessage(), e);
-            return null;
+        } else {
+            log.debug("Serving cached PDF for template '{}' at revision {}.", resolvedName, cacheKey.revision());
         }
+        return new PdfFile(cached.content(), cached.length(), buildFilename(cached.filenameStem()));
     }
 
     /**
-     * Generates a portfolio PDF using a specified template.
+     * Returns the render cache key a request for the given template resolves to right now.
      *
-     * @param templateName The name of the template to use (e.g., "modern").
-     * @return A PdfFile record containing the byte content and suggested filename.
+     * @param templateName The requested template name; unknown names resolve to "modern".
+     * @param outputMode   The requested output mode, or {@code null} for the configured default.
+     * @return The resolved template name and output mode paired with the current content revision.
+     * @throws BadRequestException if {@code outputMode} does not name a {@link PdfOutputMode}.
      */
-    public PdfFile generatePortfolioPdf(String templateName) {
-        log.info("Starting PDF generation process with template: {}", templateName);
+    public PdfRenderCache.Key cacheKeyFor(String templateName, String outputMode) {
+        return new PdfRenderCache.Key(resolveTemplateName(templateName), resolveOutputMode(outputMode),
+                portfolioContentRevision.current());
+    }
+
+    /**
+     * Resolves a requested output mode, falling back to the {@value #OUTPUT_MODE_SETTING} setting when the
+     * request does not name one.
+     *
+     * @param requested The {@code mode} request parameter, may be {@code null} or blank.
+     * @throws BadRequestException if {@code requested} does not name a {@link PdfOutputMode}.
+     */
+    public PdfOutputMode resolveOutputMode(String requested) {
+        if (requested == null || requested.isBlank()) {
+            return getDefaultOutputMode();
+        }
+        PdfOutputMode mode = PdfOutputMode.fromValue(requested);
+        if (mode == null) {
+            throw new BadRequestException("Unknown PDF output mode '" + requested + "'. Use 'standard' or 'compact'.");
+        }
+        return mode;
+    }
+
+    /**
+     * Returns the output mode configured in the {@value #OUTPUT_MODE_SETTING} setting, or
+     * {@link PdfOutputMode#STANDARD} if it is missing or invalid.
+     * <p>
+     * The setting is read from the database once and then kept in memory; {@link #onSettingsChanged} replaces
+     * it when the setting is updated. Downloads, jobs and pre-renders therefore never query it.
+     */
+    public PdfOutputMode getDefaultOutputMode() {
+        PdfOutputMode mode = defaultOutputMode.get();
+        if (mode == null) {
+            PdfOutputMode loaded = settingRepository.findByName(OUTPUT_MODE_SETTING)
+                    .map(setting -> parseOutputModeSetting(setting.getValue()))
+                    .orElse(PdfOutputMode.STANDARD);
+            // An update that raced with this read wins.
+            defaultOutputMode.compareAndSet(null, loaded);
+            mode = defaultOutputMode.get();
+        }
+        return mode;
+    }
+
+    /**
+     * Loads the default output mode at startup, so that not even the first download or conditional GET queries it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDefaultOutputMode() {
+        log.info("Default PDF output mode is {}.", getDefaultOutputMode());
+    }
+
+    /**
+     * Refreshes the in-memory default output mode when the {@value #OUTPUT_MODE_SETTING} setting is updated.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSettingsChanged(SettingsChangedEvent event) {
+        String value = event.changedValues().get(OUTPUT_MODE_SETTING);
+        if (value != null) {
+            PdfOutputMode mode = parseOutputModeSetting(value);
+            defaultOutputMode.set(mode);
+            log.info("Default PDF output mode is now {}.", mode);
+        }
+    }
+
+    private static PdfOutputMode parseOutputModeSetting(String value) {
+        PdfOutputMode mode = PdfOutputMode.fromValue(value);
+        if (mode == null) {
+            log.warn("Setting {} has unknown value '{}'; using {}.", OUTPUT_MODE_SETTING, value, PdfOutputMode.STANDARD);
+            return PdfOutputMode.STANDARD;
+        }
+        return mode;
+    }
+
+    /**
+     * Returns the cached PDF for a key without rendering, or {@code null} if it is not cached.
+     */
+    public PdfFile findCachedPortfolioPdf(PdfRenderCache.Key key) {
+        PdfRenderCache.Entry cached = pdfRenderCache.get(key);
+        return cached == null ? null : new PdfFile(cached.content(), cached.length(), buildFilename(cached.filenameStem()));
+    }
 
-        PortfolioPdfTemplate template = templates.get(templateName.toLowerCase());
-        if (template == null) {
+    /**
+     * Maps a requested template name to a registered one, falling back to "modern" for unknown names
+     * so that every unknown name shares the same cache entry.
+     */
+    private String resolveTemplateName(String templateName) {
+        String key = templateName.toLowerCase();
+        if (!templates.containsKey(key)) {
             log.error("Requested PDF template '{}' not found. Defaulting to 'modern'.", templateName);
-            template = templates.get("modern");
+            return "modern";
         }
+        return key;
+    }
 
-        // 1. Gather all data
-        PortfolioProfile profile = portfolioProfileService.getPublicProfile();
-        List<Experience> experiences = experienceRepository.findAll();
-        List<Qualification> qualifications = qualificationRepository.findAll();
-        List<Project> projects = projectRepository.findAll();
-        List<Skill> skills = skillRepository.findAll();
-        PortfolioData portfolioData = new PortfolioData(profile, experiences, qualifications, projects, skills);
+    /**
+     * Prepares a portfolio PDF for a client.
+     * <p>
+     * A cached PDF is returned as is. Otherwise the portfolio data is loaded now, on the calling thread, so
+     * that database errors surface before any byte is written, and the document is rendered into a bounded
+     * in-memory buffer ({@code app.pdf.render.max-bytes}) by {@link PdfDownload#render()}. The caller runs that
+     * on the render pool and writes the bytes to the client afterwards, so a slow client never holds a render
+     * slot. The rendered bytes are also put into the {@link PdfRenderCache}, so the next download is a cache hit.
+     *
+     * @param templateName The name of the template to use (e.g., "modern").
+     * @param outputMode   The requested output mode, or {@code null} for the configured default.
+     * @return The download, ready to be written.
+     * @throws BadRequestException if {@code outputMode} does not name a {@link PdfOutputMode}.
+     */
+    public PdfDownload preparePortfolioPdf(String templateName, String outputMode) {
+        return preparePortfolioPdf(cacheKeyFor(templateName, outputMode));
+    }
 
-        User user = profile.getUser();
-        log.info("Generating PDF for user: {}", user.getEmail());
+    /**
+     * Prepares the portfolio PDF for a key obtained from {@link #cacheKeyFor(String, String)}, so that the
+     * caller can derive HTTP validators from the same key it serves.
+     */
+    public PdfDownload preparePortfolioPdf(PdfRenderCache.Key cacheKey) {
+        String resolvedName = cacheKey.template();
+        PdfRenderCache.Entry cached = pdfRenderCache.get(cacheKey);
+        if (cached != null) {
+            log.debug("Serving cached PDF for template '{}' at revision {}.", resolvedName, cacheKey.revision());
+            return PdfDownload.cached(buildFilename(cached.filenameStem()), cached.content(), cached.length());
+        }
+
+        PdfRenderMetrics.Trace trace = pdfRenderMetrics.start(resolvedName, cacheKey.mode());
+        PortfolioData portfolioData = loadPortfolioData(trace);
+        String filenameStem = filenameStem(portfolioData);
+        return PdfDownload.rendered(buildFilename(filenameStem), !portfolioData.isMissingProfileImage(), () -> {
+            PdfRenderCache.Entry rendered = renderPortfolioPdf(resolvedName, cacheKey.mode(), portfolioData, trace);
+            if (!portfolioData.isMissingProfileImage()) {
+                pdfRenderCache.put(cacheKey, rendered);
+            }
+            return rendered;
+        });
+    }
+
+    private PdfRenderCache.Entry renderPortfolioPdf(String templateName, PdfOutputMode mode, PortfolioData portfolioData,
+                                                    PdfRenderMetrics.Trace trace) {
+        BoundedByteArrayOutputStream buffer = new BoundedByteArrayOutputStream(maxRenderBytes);
+        renderPortfolioPdf(templateName, mode, portfolioData, buffer, trace);
+        // The buffer's own array, not a trimmed copy: a render never holds the document twice.
+        return new PdfRenderCache.Entry(buffer.buffer(), buffer.size(), filenameStem(portfolioData));
+    }
+
+    /**
+     * Loads the portfolio data as the first phase of {@code trace}. The trace is suspended afterwards, because
+     * the render may continue on another thread.
+     */
+    private PortfolioData loadPortfolioData(PdfRenderMetrics.Trace trace) {
+        PortfolioData portfolioData = null;
+        try {
+            portfolioData = portfolioDataLoader.load();
+            return portfolioData;
+        } finally {
+            trace.endPhase(PdfRenderMetrics.Phase.DATA_LOAD);
+            trace.suspend();
+            if (portfolioData == null) {
+                pdfRenderMetrics.recordFailure(trace);
+            }
+        }
+    }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfWriter writer = new PdfWriter(baos);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf, template.getPageSize());
-        document.setMargins(0, 0, 0, 0);
+    /**
+     * Renders the document into {@code out}, timing each phase in {@code trace}. The target is always an
+     * in-memory buffer, never a client connection, so the layout and close phases measure iText work only and
+     * a slow client cannot show up as a slow render.
+     */
+    private void renderPortfolioPdf(String templateName, PdfOutputMode mode, PortfolioData portfolioData,
+                                    BoundedByteArrayOutputStream out, PdfRenderMetrics.Trace trace) {
+        log.info("Starting PDF generation process with template: {} ({} output)", templateName, mode);
+        trace.resume();
+        PortfolioPdfTemplate template = templates.get(templateName);
+
+        User user = portfolioData.profile().getUser();
+        log.info("Generating PDF for user: {}", user.getEmail());
 
+        boolean rendered = false;
+        int pages = 0;
+        long size = 0;
         try {
-            // 2. Create the context with fonts
-            PdfContext ctx = new PdfContext(pdf);
+            PdfWriter writer = new PdfWriter(out, mode.writerProperties());
+            writer.setCloseStream(false);
+            PdfDocument pdf = new PdfDocument(writer);
+            Document document = new Document(pdf, template.getPageSize());
+            document.setMargins(0, 0, 0, 0);
 
-            // 3. Delegate the entire layout generation to the chosen template
-            template.generate(document, ctx, portfolioData);
+            try {
+                // Everything the render needs lives in the context, so the shared template instance stays stateless
+                PdfRenderContext ctx = new PdfRenderContext(document, portfolioData, pdfFontRegistry);
+                trace.endPhase(PdfRenderMetrics.Phase.SETUP);
 
-        } catch (IOException e) {
-            log.error("Failed to load fonts or other resources for PDF generation. Aborting.", e);
-            throw new RuntimeException("Failed to generate PDF due to a resource loading issue.", e);
+                // Delegate the entire layout generation to the chosen template
+                template.generate(ctx);
+                trace.endPhase(PdfRenderMetrics.Phase.LAYOUT);
+                pages = pdf.getNumberOfPages();
+
+            } catch (IOException e) {
+                log.error("Failed to load fonts or other resources for PDF generation. Aborting.", e);
+                throw new RuntimeException("Failed to generate PDF due to a resource loading issue.", e);
+            } finally {
+                document.close();
+                trace.endPhase(PdfRenderMetrics.Phase.CLOSE);
+            }
+            size = writer.getCurrentPos();
+            rendered = true;
         } finally {
-            document.close();
+            trace.suspend();
+            if (rendered) {
+                pdfRenderMetrics.recordSuccess(trace, pages, size, !portfolioData.isMissingProfileImage());
+            } else {
+                pdfRenderMetrics.recordFailure(trace);
+            }
         }
 
-        log.info("PDF generation complete. Final document size: {} bytes.", baos.size());
-        String filename = String.format("%s%s-Resume-%s.pdf",
-                user.getFirstName(),
-                user.getLastName(),
+        log.info("PDF generation complete. Final document size: {} bytes, {} pages. Data load {} ms, setup {} ms, layout {} ms, close {} ms.",
+                size, pages,
+                trace.micros(PdfRenderMetrics.Phase.DATA_LOAD) / 1000, trace.micros(PdfRenderMetrics.Phase.SETUP) / 1000,
+                trace.micros(PdfRenderMetrics.Phase.LAYOUT) / 1000, trace.micros(PdfRenderMetrics.Phase.CLOSE) / 1000);
+    }
+
+    private static String filenameStem(PortfolioData portfolioData) {
+        User user = portfolioData.profile().getUser();
+        return user.getFirstName() + user.getLastName();
+    }
+
+    private static String buildFilename(String filenameStem) {
+        return String.format("%s-Resume-%s.pdf",
+                filenameStem,
                 LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE)
         );
-        return new PdfFile(baos.toByteArray(), filename);
     }
 
-    public record PdfFile(byte[] content, String suggestedFilename) {}
+    /**
+     * A rendered PDF.
+     *
+     * @param content The buffer holding the PDF bytes. Shared; do not modify.
+     * @param length  The number of valid bytes at the start of {@code content}.
+     */
+    public record PdfFile(byte[] content, int length, String suggestedFilename) {
+
+        public PdfFile(byte[] content, String suggestedFilename) {
+            this(content, content.length, suggestedFilename);
+        }
+    }
 }
\ No newline at end of file
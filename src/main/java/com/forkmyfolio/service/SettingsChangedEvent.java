@@ -0,0 +1,11 @@
+package com.forkmyfolio.service;
+
+import java.util.Map;
+
+/**
+ * Published when settings were updated through {@link SettingService#updateSettings}.
+ *
+ * @param changedValues The new values, keyed by setting name.
+ */
+public record SettingsChangedEvent(Map<String, String> changedValues) {
+}
@@ -1,18 +1,51 @@
 package com.forkmyfolio.service;
 
+import com.forkmyfolio.config.AsyncConfig;
 import com.forkmyfolio.dto.AdminStatsDto;
-import com.forkmyfolio.model.VisitorStats;
+import com.forkmyfolio.exception.BadRequestException;
+import com.forkmyfolio.model.VisitorUniqueSketch;
+import com.forkmyfolio.model.enums.StatBucketGranularity;
 import com.forkmyfolio.model.enums.VisitorStatType;
+import com.forkmyfolio.repository.VisitorStatBucketRepository;
 import com.forkmyfolio.repository.VisitorStatsRepository;
+import com.forkmyfolio.repository.VisitorUniqueSketchRepository;
+import com.forkmyfolio.repository.projection.StatBucketTotal;
+import com.forkmyfolio.repository.projection.StatRefIdCount;
+import com.forkmyfolio.repository.projection.StatTypeTotal;
+import com.forkmyfolio.service.stats.HyperLogLog;
+import com.forkmyfolio.service.stats.LiveStatsBroadcaster;
+import com.forkmyfolio.service.stats.SpaceSaving;
+import com.forkmyfolio.service.stats.StatsSeriesPoint;
+import com.forkmyfolio.service.stats.VisitorStatDelta;
+import com.forkmyfolio.service.stats.TrendingProjects;
+import com.forkmyfolio.service.stats.TrendingWindow;
+import com.forkmyfolio.service.stats.UniqueVisitorSketches;
+import com.forkmyfolio.service.stats.UniqueVisitorsEstimate;
+import com.forkmyfolio.service.stats.VisitorStatsBuffer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,161 +64,404 @@ public class VisitorStatsService {
     private static final String LOGIN_SUCCESS_REF_ID = "auth_login_success";
     private static final String LOGIN_FAILURE_REF_ID = "auth_login_failure";
     private static final String LOGOUT_SUCCESS_REF_ID = "auth_logout_success";
+    private static final String VCARD_DOWNLOAD_REF_ID = "vcard_download";
+
+    private static final int MAX_SERIES_BUCKETS = 10_000;
+    private static final int MAX_UNIQUE_RANGE_DAYS = 366;
+    private static final int MAX_PROJECT_STATS_PAGE_SIZE = 200;
+    private static final List<StatBucketGranularity> ROLLUP_GRANULARITIES =
+            List.of(StatBucketGranularity.HOUR, StatBucketGranularity.DAY, StatBucketGranularity.MONTH);
 
     private final VisitorStatsRepository visitorStatsRepository;
+    private final VisitorStatBucketRepository visitorStatBucketRepository;
+    private final VisitorStatsBuffer visitorStatsBuffer;
+    private final VisitorUniqueSketchRepository visitorUniqueSketchRepository;
+    private final UniqueVisitorSketches uniqueVisitorSketches;
+    private final TrendingProjects trendingProjects;
+    private final LiveStatsBroadcaster liveStatsBroadcaster;
 
-    @Async // Run this in a separate thread to not slow down the user's page load
-    @Transactional
+    @Value("${app.stats.dashboard-top-projects:10}")
+    private int dashboardTopProjects;
+
+    /**
+     * Shared by every increment, exclusive while a live stats subscriber is registered, so an event is
+     * either in a subscriber's snapshot or in its deltas. Increments run on the small visitor-stats
+     * executor, so the shared side is barely contended.
+     */
+    private final ReadWriteLock liveSnapshotLock = new ReentrantReadWriteLock();
+
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementTotalVisits() {
         log.debug("Incrementing total site visits.");
         incrementStat(VisitorStatType.TOTAL_VISITS, TOTAL_VISITS_REF_ID);
     }
 
-    @Async // Also run this asynchronously
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementProjectView(String projectId) {
         log.debug("Incrementing project view for ID: {}", projectId);
         incrementStat(VisitorStatType.PROJECT_VIEW, projectId);
+        trendingProjects.recordView(projectId);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementProjectsSectionView() {
         log.debug("Incrementing projects section views.");
         incrementStat(VisitorStatType.PROJECTS_SECTION_VIEW, PROJECTS_SECTION_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementSkillsSectionView() {
         log.debug("Incrementing skills section views.");
         incrementStat(VisitorStatType.SKILLS_SECTION_VIEW, SKILLS_SECTION_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementExperienceSectionView() {
         log.debug("Incrementing experience section views.");
         incrementStat(VisitorStatType.EXPERIENCE_SECTION_VIEW, EXPERIENCE_SECTION_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementQualificationsSectionView() {
         log.debug("Incrementing qualifications section views.");
         incrementStat(VisitorStatType.QUALIFICATIONS_SECTION_VIEW, QUALIFICATIONS_SECTION_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementContactMessageSubmission() {
         log.debug("Incrementing contact message submissions.");
         incrementStat(VisitorStatType.CONTACT_MESSAGE_SUBMISSION, CONTACT_MESSAGE_SUBMISSION_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementPdfDownload() {
         log.debug("Incrementing PDF download count.");
         incrementStat(VisitorStatType.PDF_DOWNLOAD, PDF_DOWNLOAD_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementTestimonialsSectionView() {
         log.debug("Incrementing testimonials section views.");
         incrementStat(VisitorStatType.TESTIMONIALS_SECTION_VIEW, TESTIMONIALS_SECTION_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementLoginSuccess() {
         log.debug("Incrementing successful login count.");
         incrementStat(VisitorStatType.LOGIN_SUCCESS, LOGIN_SUCCESS_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementLoginFailure() {
         log.debug("Incrementing failed login attempt count.");
         incrementStat(VisitorStatType.LOGIN_FAILURE, LOGIN_FAILURE_REF_ID);
     }
 
-    @Async
-    @Transactional
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
     public void incrementLogoutSuccess() {
         log.debug("Incrementing successful logout count.");
         incrementStat(VisitorStatType.LOGOUT_SUCCESS, LOGOUT_SUCCESS_REF_ID);
     }
 
+    /**
+     * Records one increment in the write-behind buffer. The database is not touched here;
+     * {@link com.forkmyfolio.service.stats.VisitorStatsFlusher} persists the deltas in batches.
+     */
     private void incrementStat(VisitorStatType type, String refId) {
-        VisitorStats stats = visitorStatsRepository.findByTypeAndRefId(type, refId)
-                .orElseGet(() -> {
-                    log.info("No stats found for type={}, refId={}. Creating new record.", type, refId);
-                    VisitorStats newStats = new VisitorStats();
-                    newStats.setType(type);
-                    newStats.setRefId(refId);
-                    return newStats;
-                });
+        Lock lock = liveSnapshotLock.readLock();
+        lock.lock();
+        try {
+            visitorStatsBuffer.increment(type, refId);
+            liveStatsBroadcaster.record(type, refId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records an anonymous visitor hash in today's unique-visitor sketch for the given type.
+     * This is a constant-time, in-memory operation; the sketch is persisted by the flusher.
+     *
+     * @param type        The stat type the visitor triggered.
+     * @param visitorHash The salted visitor hash from {@link com.forkmyfolio.service.stats.VisitorHasher}.
+     */
+    public void recordUniqueVisitor(VisitorStatType type, long visitorHash) {
+        uniqueVisitorSketches.offer(type, LocalDate.now(ZoneOffset.UTC), visitorHash);
+    }
+
+    /**
+     * Merges in-memory unique-visitor sketches into the persisted ones (register-wise maximum).
+     * Merging is idempotent, so retrying a partially applied batch cannot over-count.
+     *
+     * @param sketches The sketches to merge, keyed by type and day.
+     */
+    @Transactional
+    public void mergeUniqueSketches(Map<UniqueVisitorSketches.Key, HyperLogLog> sketches) {
+        sketches.forEach((key, sketch) -> {
+            VisitorUniqueSketch row = visitorUniqueSketchRepository.findByTypeAndDay(key.type(), key.day())
+                    .orElseGet(() -> {
+                        VisitorUniqueSketch created = new VisitorUniqueSketch();
+                        created.setType(key.type());
+                        created.setDay(key.day());
+                        return created;
+                    });
+            if (row.getRegisters() != null) {
+                sketch.merge(HyperLogLog.fromBytes(row.getRegisters()));
+            }
+            row.setRegisters(sketch.toBytes());
+            visitorUniqueSketchRepository.save(row);
+        });
+    }
+
+    /**
+     * Estimates unique visitors for one stat type, per day and for the whole inclusive UTC date range.
+     * The range total merges the daily sketches, so a visitor seen on several days is counted once.
+     * Sketches not yet flushed are included.
+     *
+     * @param type The stat type.
+     * @param from The first day (inclusive).
+     * @param to   The last day (inclusive).
+     * @return The daily estimates, in order, followed by the merged range sketch.
+     * @throws BadRequestException if the range is inverted or longer than {@value #MAX_UNIQUE_RANGE_DAYS} days.
+     */
+    @Transactional(readOnly = true)
+    public UniqueVisitorsEstimate getUniqueVisitors(VisitorStatType type, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("The 'to' date must not be before the 'from' date.");
+        }
+        if (from.plusDays(MAX_UNIQUE_RANGE_DAYS).isBefore(to)) {
+            throw new BadRequestException("Unique visitors can be queried for at most " + MAX_UNIQUE_RANGE_DAYS + " days at a time.");
+        }
+        Map<LocalDate, HyperLogLog> byDay = new TreeMap<>();
+        for (VisitorUniqueSketch row : visitorUniqueSketchRepository.findByTypeAndDayBetweenOrderByDay(type, from, to)) {
+            byDay.put(row.getDay(), HyperLogLog.fromBytes(row.getRegisters()));
+        }
+        HyperLogLog range = new HyperLogLog();
+        Map<LocalDate, Long> daily = new LinkedHashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HyperLogLog sketch = byDay.getOrDefault(day, new HyperLogLog());
+            HyperLogLog pending = uniqueVisitorSketches.peek(type, day);
+            if (pending != null) {
+                sketch.merge(pending);
+            }
+            range.merge(sketch);
+            daily.put(day, sketch.estimate());
+        }
+        return new UniqueVisitorsEstimate(daily, range.estimate());
+    }
 
-        stats.setCount(stats.getCount() + 1);
-        visitorStatsRepository.save(stats);
+    /**
+     * Persists a batch of drained counter deltas in a single transaction.
+     * Each delta is one atomic upsert statement on the lifetime counter, plus one per rollup
+     * granularity (hour, day, month) on the time series. The deltas are attributed to the
+     * buckets containing the flush time, so bucket accuracy is bounded by the flush interval.
+     *
+     * @param deltas The deltas drained from the buffer.
+     */
+    @Transactional
+    public void applyDeltas(List<VisitorStatDelta> deltas) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        for (VisitorStatDelta delta : deltas) {
+            String type = delta.type().name();
+            visitorStatsRepository.upsertIncrement(type, delta.refId(), delta.delta());
+            for (StatBucketGranularity granularity : ROLLUP_GRANULARITIES) {
+                LocalDateTime bucketStart = granularity.bucketStart(now);
+                visitorStatBucketRepository.upsertIncrement(type, delta.refId(), granularity.name(), bucketStart, delta.delta());
+            }
+        }
     }
 
+    /**
+     * Returns a time series for one stat type over an inclusive UTC date range.
+     * Every bucket in the range is present; buckets without events have a count of zero.
+     * The cost is proportional to the number of buckets in the range, not to the number of events.
+     *
+     * @param type        The stat type.
+     * @param refId       An optional reference ID (e.g. a project UUID). If null, all reference IDs are summed.
+     * @param granularity The bucket width.
+     * @param from        The first day of the range (inclusive).
+     * @param to          The last day of the range (inclusive).
+     * @return The series, ordered by bucket start.
+     * @throws BadRequestException if the range is inverted or would contain too many buckets.
+     */
+    @Transactional(readOnly = true)
+    public List<StatsSeriesPoint> getSeries(VisitorStatType type, String refId, StatBucketGranularity granularity,
+                                            LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("The 'to' date must not be before the 'from' date.");
+        }
+        LocalDateTime start = granularity.bucketStart(from.atStartOfDay());
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        // Rejected before the query, so an oversized range never reads its rows.
+        if (granularity.bucketsBetween(start, end) > MAX_SERIES_BUCKETS) {
+            throw new BadRequestException("The requested range contains more than " + MAX_SERIES_BUCKETS
+                    + " " + granularity.name().toLowerCase() + " buckets. Use a coarser granularity.");
+        }
+
+        List<StatBucketTotal> rows = (refId == null || refId.isBlank())
+                ? visitorStatBucketRepository.sumSeries(type, granularity, start, end)
+                : visitorStatBucketRepository.sumSeriesForRefId(type, refId, granularity, start, end);
+        Map<LocalDateTime, Long> totals = rows.stream()
+                .collect(Collectors.toMap(StatBucketTotal::getBucketStart, StatBucketTotal::getTotal));
+
+        List<StatsSeriesPoint> series = new ArrayList<>();
+        for (LocalDateTime bucket = start; bucket.isBefore(end); bucket = granularity.next(bucket)) {
+            series.add(new StatsSeriesPoint(bucket, totals.getOrDefault(bucket, 0L)));
+        }
+        return series;
+    }
+
+    /**
+     * Deletes hourly buckets older than the retention period. Daily and monthly rollups are kept.
+     *
+     * @param retentionDays How many days of hourly buckets to keep.
+     * @return The number of deleted buckets.
+     */
+    @Transactional
+    public int purgeExpiredHourlyBuckets(int retentionDays) {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minusDays(retentionDays);
+        return visitorStatBucketRepository.deleteByGranularityAndBucketStartBefore(StatBucketGranularity.HOUR, cutoff);
+    }
+
+    /**
+     * Builds the dashboard totals from one {@code GROUP BY type} query and one query for the per-project counts.
+     * No entity is loaded; each tracked project costs one map entry in {@code projects}.
+     */
     @Transactional(readOnly = true)
     public AdminStatsDto getStats() {
-        log.debug("Fetching all visitor stats for admin dashboard.");
-        List<VisitorStats> allStats = visitorStatsRepository.findAll();
-
-        // Group stats by type for efficient processing
-        Map<VisitorStatType, List<VisitorStats>> groupedStats = allStats.stream()
-                .collect(Collectors.groupingBy(VisitorStats::getType));
-
-        long totalVisits = getSumForStatType(groupedStats, VisitorStatType.TOTAL_VISITS);
-        long projectsSectionViews = getSumForStatType(groupedStats, VisitorStatType.PROJECTS_SECTION_VIEW);
-        long skillsSectionViews = getSumForStatType(groupedStats, VisitorStatType.SKILLS_SECTION_VIEW);
-        long experienceSectionViews = getSumForStatType(groupedStats, VisitorStatType.EXPERIENCE_SECTION_VIEW);
-        long qualificationsSectionViews = getSumForStatType(groupedStats, VisitorStatType.QUALIFICATIONS_SECTION_VIEW);
-        long contactMessageSubmissions = getSumForStatType(groupedStats, VisitorStatType.CONTACT_MESSAGE_SUBMISSION);
-        long pdfDownloads = getSumForStatType(groupedStats, VisitorStatType.PDF_DOWNLOAD);
-        long testimonialsSectionViews = getSumForStatType(groupedStats, VisitorStatType.TESTIMONIALS_SECTION_VIEW);
-        long loginSuccesses = getSumForStatType(groupedStats, VisitorStatType.LOGIN_SUCCESS);
-        long loginFailures = getSumForStatType(groupedStats, VisitorStatType.LOGIN_FAILURE);
-        long logoutSuccesses = getSumForStatType(groupedStats, VisitorStatType.LOGOUT_SUCCESS);
-
-        Map<String, Long> projectViews = groupedStats.getOrDefault(VisitorStatType.PROJECT_VIEW, List.of()).stream()
-                .collect(Collectors.toMap(VisitorStats::getRefId, VisitorStats::getCount));
+        log.debug("Fetching aggregated visitor stats for admin dashboard.");
+        Map<VisitorStatType, Long> totals = new EnumMap<>(VisitorStatType.class);
+        for (StatTypeTotal row : visitorStatsRepository.sumCountsByType()) {
+            totals.put(row.getType(), row.getTotal());
+        }
+
+        Map<String, Long> projects = new LinkedHashMap<>();
+        visitorStatsRepository.findCountsByType(VisitorStatType.PROJECT_VIEW, Pageable.unpaged())
+                .forEach(row -> projects.put(row.getRefId(), row.getCount()));
 
         // Using setters is more flexible than relying on a specific constructor order
         AdminStatsDto dto = new AdminStatsDto();
-        dto.setTotalVisits(totalVisits);
-        dto.setProjects(projectViews);
-        dto.setProjectsSectionViews(projectsSectionViews);
-        dto.setSkillsSectionViews(skillsSectionViews);
-        dto.setExperienceSectionViews(experienceSectionViews);
-        dto.setQualificationsSectionViews(qualificationsSectionViews);
-        dto.setContactMessageSubmissions(contactMessageSubmissions);
-        dto.setPdfDownloads(pdfDownloads);
-        dto.setTestimonialsSectionViews(testimonialsSectionViews);
-        dto.setLoginSuccesses(loginSuccesses);
-        dto.setLoginFailures(loginFailures);
-        dto.setLogoutSuccesses(logoutSuccesses);
+        dto.setTotalVisits(totals.getOrDefault(VisitorStatType.TOTAL_VISITS, 0L));
+        dto.setProjects(projects);
+        dto.setTopProjects(topOf(projects));
+        dto.setProjectsSectionViews(totals.getOrDefault(VisitorStatType.PROJECTS_SECTION_VIEW, 0L));
+        dto.setSkillsSectionViews(totals.getOrDefault(VisitorStatType.SKILLS_SECTION_VIEW, 0L));
+        dto.setExperienceSectionViews(totals.getOrDefault(VisitorStatType.EXPERIENCE_SECTION_VIEW, 0L));
+        dto.setQualificationsSectionViews(totals.getOrDefault(VisitorStatType.QUALIFICATIONS_SECTION_VIEW, 0L));
+        dto.setContactMessageSubmissions(totals.getOrDefault(VisitorStatType.CONTACT_MESSAGE_SUBMISSION, 0L));
+        dto.setPdfDownloads(totals.getOrDefault(VisitorStatType.PDF_DOWNLOAD, 0L));
+        dto.setTestimonialsSectionViews(totals.getOrDefault(VisitorStatType.TESTIMONIALS_SECTION_VIEW, 0L));
+        dto.setLoginSuccesses(totals.getOrDefault(VisitorStatType.LOGIN_SUCCESS, 0L));
+        dto.setLoginFailures(totals.getOrDefault(VisitorStatType.LOGIN_FAILURE, 0L));
+        dto.setLogoutSuccesses(totals.getOrDefault(VisitorStatType.LOGOUT_SUCCESS, 0L));
+        dto.setVcardDownloads(totals.getOrDefault(VisitorStatType.VCARD_DOWNLOAD, 0L));
 
         return dto;
     }
 
     /**
-     * Helper method to safely calculate the sum of counts for a given stat type from a pre-grouped map.
+     * Opens a live stats stream whose snapshot includes the increments that are still in the write-behind buffer.
+     * <p>
+     * The persisted totals and the buffer are read while no flush is in progress, so no increment is in both or
+     * in neither. The buffer is read and the subscriber registered while increments are held off, so every later
+     * increment reaches the subscriber as a delta and no earlier one does. Buffered project views are added to
+     * the project counts, and the top list is ranked again from them.
+     *
+     * @return The emitter to return from the controller.
      */
-    private long getSumForStatType(Map<VisitorStatType, List<VisitorStats>> groupedStats, VisitorStatType type) {
-        return groupedStats.getOrDefault(type, List.of()).stream()
-                .mapToLong(VisitorStats::getCount)
-                .sum();
+    public SseEmitter subscribeLiveStats() {
+        Lock flushLock = visitorStatsBuffer.flushLock();
+        flushLock.lock();
+        try {
+            AdminStatsDto persisted = getStats();
+            Lock lock = liveSnapshotLock.writeLock();
+            lock.lock();
+            try {
+                return liveStatsBroadcaster.subscribe(() -> withPending(persisted, visitorStatsBuffer.pending()));
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
     }
 
-    public void incrementVcardDownload() {
-        /// TODO IMPLEMENT THIS
+    private AdminStatsDto withPending(AdminStatsDto dto, List<VisitorStatDelta> pending) {
+        Map<VisitorStatType, Long> pendingByType = new EnumMap<>(VisitorStatType.class);
+        Map<String, Long> projects = new LinkedHashMap<>(dto.getProjects());
+        for (VisitorStatDelta delta : pending) {
+            pendingByType.merge(delta.type(), delta.delta(), Long::sum);
+            if (delta.type() == VisitorStatType.PROJECT_VIEW) {
+                projects.merge(delta.refId(), delta.delta(), Long::sum);
+            }
+        }
+        Map<String, Long> ranked = new LinkedHashMap<>();
+        projects.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> ranked.put(entry.getKey(), entry.getValue()));
+        dto.setProjects(ranked);
+        dto.setTopProjects(topOf(ranked));
+        dto.setTotalVisits(dto.getTotalVisits() + pendingByType.getOrDefault(VisitorStatType.TOTAL_VISITS, 0L));
+        dto.setProjectsSectionViews(dto.getProjectsSectionViews() + pendingByType.getOrDefault(VisitorStatType.PROJECTS_SECTION_VIEW, 0L));
+        dto.setSkillsSectionViews(dto.getSkillsSectionViews() + pendingByType.getOrDefault(VisitorStatType.SKILLS_SECTION_VIEW, 0L));
+        dto.setExperienceSectionViews(dto.getExperienceSectionViews() + pendingByType.getOrDefault(VisitorStatType.EXPERIENCE_SECTION_VIEW, 0L));
+        dto.setQualificationsSectionViews(dto.getQualificationsSectionViews() + pendingByType.getOrDefault(VisitorStatType.QUALIFICATIONS_SECTION_VIEW, 0L));
+        dto.setContactMessageSubmissions(dto.getContactMessageSubmissions() + pendingByType.getOrDefault(VisitorStatType.CONTACT_MESSAGE_SUBMISSION, 0L));
+        dto.setPdfDownloads(dto.getPdfDownloads() + pendingByType.getOrDefault(VisitorStatType.PDF_DOWNLOAD, 0L));
+        dto.setTestimonialsSectionViews(dto.getTestimonialsSectionViews() + pendingByType.getOrDefault(VisitorStatType.TESTIMONIALS_SECTION_VIEW, 0L));
+        dto.setLoginSuccesses(dto.getLoginSuccesses() + pendingByType.getOrDefault(VisitorStatType.LOGIN_SUCCESS, 0L));
+        dto.setLoginFailures(dto.getLoginFailures() + pendingByType.getOrDefault(VisitorStatType.LOGIN_FAILURE, 0L));
+        dto.setLogoutSuccesses(dto.getLogoutSuccesses() + pendingByType.getOrDefault(VisitorStatType.LOGOUT_SUCCESS, 0L));
+        dto.setVcardDownloads(dto.getVcardDownloads() + pendingByType.getOrDefault(VisitorStatType.VCARD_DOWNLOAD, 0L));
+        return dto;
+    }
 
+    /**
+     * The first {@code app.stats.dashboard-top-projects} entries of a map ranked highest first.
+     */
+    private Map<String, Long> topOf(Map<String, Long> rankedProjects) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        rankedProjects.entrySet().stream()
+                .limit(dashboardTopProjects)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
 
+    /**
+     * Returns one page of per-project view counts, most viewed first.
+     *
+     * @param page The zero-based page index.
+     * @param size The page size (1 to {@value #MAX_PROJECT_STATS_PAGE_SIZE}).
+     * @return The requested page.
+     * @throws BadRequestException if the page or size is out of range.
+     */
+    @Transactional(readOnly = true)
+    public Page<StatRefIdCount> getProjectViews(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PROJECT_STATS_PAGE_SIZE) {
+            throw new BadRequestException("'page' must be >= 0 and 'size' between 1 and " + MAX_PROJECT_STATS_PAGE_SIZE + ".");
+        }
+        return visitorStatsRepository.findCountsByType(VisitorStatType.PROJECT_VIEW, PageRequest.of(page, size));
+    }
+
+    /**
+     * Returns the most viewed projects in a sliding window, from the in-memory heavy-hitters sketch.
+     * Counts are estimates that never under-count and are not persisted across restarts.
+     *
+     * @param window The sliding window.
+     * @param limit  The number of projects to return (1 to the sketch capacity).
+     * @return The trending projects, highest first.
+     * @throws BadRequestException if the limit is out of range.
+     */
+    public List<SpaceSaving.HeavyHitter> getTrendingProjects(TrendingWindow window, int limit) {
+        if (limit < 1 || limit > trendingProjects.getCapacity()) {
+            throw new BadRequestException("'limit' must be between 1 and " + trendingProjects.getCapacity() + ".");
+        }
+        return trendingProjects.top(window, limit);
+    }
+
+    @Async(AsyncConfig.VISITOR_STATS_EXECUTOR)
+    public void incrementVcardDownload() {
+        log.debug("Incrementing vCard download count.");
+        incrementStat(VisitorStatType.VCARD_DOWNLOAD, VCARD_DOWNLOAD_REF_ID);
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.forkmyfolio.service.content;
+
+import java.time.Instant;
+
+/**
+ * Published after an admin request successfully changed portfolio content.
+ *
+ * @param revision     The new content revision.
+ * @param lastModified When the change happened.
+ */
+public record PortfolioContentChangedEvent(String revision, Instant lastModified) {
+}
@@ -0,0 +1,62 @@
+package com.forkmyfolio.service.content;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A version stamp for everything rendered from portfolio content (public pages, PDF exports).
+ * <p>
+ * The revision combines a per-boot identifier with a counter, so values from before a restart can never
+ * be mistaken for current ones even though nothing is persisted. Derived artefacts such as cached PDFs
+ * are keyed by it and become unreachable as soon as it changes.
+ */
+@Component
+public class PortfolioContentRevision {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(new Snapshot(0, Instant.now().truncatedTo(ChronoUnit.SECONDS)));
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PortfolioContentRevision(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Returns the current revision, e.g. {@code "lq3k9x2a-17"}.
+     */
+    public String current() {
+        return format(current.get().counter());
+    }
+
+    /**
+     * Returns when the content last changed (or the application started), truncated to whole seconds
+     * so it can be used as an HTTP {@code Last-Modified} value.
+     */
+    public Instant lastModified() {
+        return current.get().lastModified();
+    }
+
+    /**
+     * Advances the revision and publishes a {@link PortfolioContentChangedEvent}.
+     *
+     * @return The new revision.
+     */
+    public String bump() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Snapshot next = current.updateAndGet(previous -> new Snapshot(previous.counter() + 1, now));
+        String revision = format(next.counter());
+        eventPublisher.publishEvent(new PortfolioContentChangedEvent(revision, next.lastModified()));
+        return revision;
+    }
+
+    private String format(long counter) {
+        return bootId + "-" + counter;
+    }
+
+    private record Snapshot(long counter, Instant lastModified) {
+    }
+}
@@ -0,0 +1,487 @@
+package com.forkmyfolio.service.image;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A local-disk cache of downscaled remote images (profile photos, project images).
+ * <p>
+ * Each source URL is fetched once, with connect and header timeouts and a deadline on the whole download, and
+ * every {@link ImageVariant} is written
+ * to disk under a name derived from the URL hash. A changed URL is simply a different entry; the old files
+ * age out of the size-bounded LRU. Readers never touch the network: {@link #get} answers from disk and, on a
+ * miss, only schedules a background fetch, so PDF renders and vCard downloads stay fast even when the image
+ * host is slow or down. The index is rebuilt from the directory on startup.
+ * <p>
+ * Sources are capped twice: the download at {@code app.images.max-source-bytes} and the decoded image at
+ * {@code app.images.max-pixels}, which is checked from the header before any pixel is decoded, so a small,
+ * highly compressed file cannot expand into gigabytes of heap.
+ */
+@Component
+public class ImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCache.class);
+    private static final Duration FAILURE_BACKOFF = Duration.ofMinutes(5);
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxSourceBytes;
+    private final long maxPixels;
+    private final Duration readTimeout;
+    private final Duration downloadTimeout;
+    private final HttpClient httpClient;
+    private final ExecutorService fetchExecutor;
+
+    /** File name to size, in access order. Guarded by {@code this}. */
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> failedAt = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder fetchFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ImageCache(@Value("${app.images.cache-dir:${java.io.tmpdir}/forkmyfolio-image-cache}") String directory,
+                      @Value("${app.images.cache.max-bytes:67108864}") long maxBytes,
+                      @Value("${app.images.max-source-bytes:10485760}") long maxSourceBytes,
+                      @Value("${app.images.max-pixels:40000000}") long maxPixels,
+                      @Value("${app.images.connect-timeout-ms:3000}") long connectTimeoutMs,
+                      @Value("${app.images.read-timeout-ms:5000}") long readTimeoutMs,
+                      @Value("${app.images.download-timeout-ms:15000}") long downloadTimeoutMs) {
+        this(directory, maxBytes, maxSourceBytes, maxPixels, connectTimeoutMs, readTimeoutMs, downloadTimeoutMs,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("image-fetch-", 0).factory()));
+    }
+
+    /**
+     * A cache that runs its fetches on {@code fetchExecutor}.
+     */
+    ImageCache(String directory, long maxBytes, long maxSourceBytes, long maxPixels, long connectTimeoutMs,
+               long readTimeoutMs, long downloadTimeoutMs, ExecutorService fetchExecutor) {
+        this.fetchExecutor = fetchExecutor;
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        this.maxSourceBytes = maxSourceBytes;
+        this.maxPixels = maxPixels;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        this.downloadTimeout = Duration.ofMillis(downloadTimeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Creates the cache directory and indexes the files already in it, oldest first.
+     */
+    @PostConstruct
+    void loadIndex() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                    .sorted(Comparator.comparing(ImageCache::lastModified))
+                    .toList();
+        }
+        synchronized (this) {
+            for (Path file : files) {
+                long size = file.toFile().length();
+                index.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            }
+            evictOverBudget();
+        }
+        log.info("Image cache at {} holds {} files ({} bytes).", directory, getEntryCount(), getTotalBytes());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns a cached rendition of an image without any network access. On a miss, a background fetch is
+     * started (unless one is running or the URL failed recently) and an empty result is returned.
+     *
+     * @param url     The source image URL; blank or non-HTTP(S) URLs are never fetched.
+     * @param variant The rendition.
+     * @return The encoded image bytes, or empty if not cached yet.
+     */
+    public Optional<byte[]> get(String url, ImageVariant variant) {
+        if (!isFetchable(url)) {
+            return Optional.empty();
+        }
+        String fileName = fileName(url, variant);
+        boolean indexed;
+        synchronized (this) {
+            indexed = index.get(fileName) != null;
+        }
+        if (indexed) {
+            try {
+                byte[] bytes = Files.readAllBytes(directory.resolve(fileName));
+                hits.increment();
+                return Optional.of(bytes);
+            } catch (NoSuchFileException e) {
+                forget(fileName);
+            } catch (IOException e) {
+                log.warn("Failed to read cached image {}: {}", fileName, e.getMessage());
+            }
+        }
+        misses.increment();
+        prefetch(url);
+        return Optional.empty();
+    }
+
+    /**
+     * Fetches an image and writes all its renditions, unless they are all cached already. Concurrent calls for
+     * the same URL share one fetch. A URL whose last fetch failed is not retried for five minutes.
+     *
+     * @return A future completed when the renditions are on disk, or exceptionally if the fetch failed.
+     */
+    public CompletableFuture<Void> prefetch(String url) {
+        if (!isFetchable(url) || isCached(url)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Long lastFailure = failedAt.get(url);
+        if (lastFailure != null && System.currentTimeMillis() - lastFailure < FAILURE_BACKOFF.toMillis()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = inFlight.computeIfAbsent(url,
+                key -> CompletableFuture.runAsync(() -> fetchAndStore(key), fetchExecutor));
+        // Attached only after computeIfAbsent has returned: on a fetch that is already done the callback runs
+        // inline, and removing the mapping from within the mapping function would be a recursive update.
+        future.whenComplete((ignored, failure) -> inFlight.remove(url, future));
+        return future;
+    }
+
+    private void fetchAndStore(String url) {
+        fetches.increment();
+        try {
+            BufferedImage source = decode(download(url), maxPixels);
+            for (ImageVariant variant : ImageVariant.values()) {
+                store(fileName(url, variant), encode(scale(source, variant), variant));
+            }
+            failedAt.remove(url);
+            log.debug("Cached {} renditions of {}.", ImageVariant.values().length, url);
+        } catch (IOException | RuntimeException e) {
+            fetchFailures.increment();
+            failedAt.put(url, System.currentTimeMillis());
+            log.warn("Failed to fetch image '{}': {}", url, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Downloads a source image. The request timeout only bounds the wait for the response headers, so the whole
+     * exchange, body included, is also bounded by {@code app.images.download-timeout-ms}; a server that drip-feeds
+     * the body is cut off when the deadline passes.
+     */
+    private byte[] download(String url) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(readTimeout).GET().build();
+        CompletableFuture<HttpResponse<byte[]>> exchange = httpClient.sendAsync(request, info -> info.statusCode() == 200
+                ? new CappedBodySubscriber(maxSourceBytes)
+                : HttpResponse.BodySubscribers.replacing(null));
+        HttpResponse<byte[]> response;
+        try {
+            response = exchange.get(downloadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            exchange.cancel(true);
+            throw new IOException("Download did not finish within " + downloadTimeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            exchange.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Decodes an image after checking its dimensions from the header against {@code maxPixels}.
+     */
+    static BufferedImage decode(byte[] bytes, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image of " + width + "x" + height + " pixels exceeds the limit of " + maxPixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscales to fit the variant's bounding square. Images that already fit are re-encoded at their size.
+     */
+    static BufferedImage scale(BufferedImage source, ImageVariant variant) {
+        double factor = Math.min(1.0, (double) variant.getMaxDimension() / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage target = new BufferedImage(width, height,
+                variant.hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            if (!variant.hasAlpha()) {
+                // JPEG has no alpha channel; flatten transparent areas onto white instead of black.
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    static byte[] encode(BufferedImage image, ImageVariant variant) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!"jpg".equals(variant.getFormat())) {
+            ImageIO.write(image, variant.getFormat(), out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.85f);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private void store(String fileName, byte[] bytes) throws IOException {
+        Path target = directory.resolve(fileName);
+        Path temp = directory.resolve(fileName + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            Long previous = index.put(fileName, (long) bytes.length);
+            totalBytes += bytes.length - (previous == null ? 0 : previous);
+            evictOverBudget();
+        }
+    }
+
+    /**
+     * Deletes least recently used files until the cache fits its budget. Caller holds the lock.
+     */
+    private void evictOverBudget() {
+        List<String> victims = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            totalBytes -= entry.getValue();
+            victims.add(entry.getKey());
+            eldest.remove();
+            evictions.increment();
+        }
+        for (String victim : victims) {
+            try {
+                Files.deleteIfExists(directory.resolve(victim));
+            } catch (IOException e) {
+                log.warn("Failed to delete evicted image {}: {}", victim, e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void forget(String fileName) {
+        Long size = index.remove(fileName);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private synchronized boolean isCached(String url) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!index.containsKey(fileName(url, variant))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFetchable(String url) {
+        return url != null && (url.startsWith("https://") || url.startsWith("http://"));
+    }
+
+    static String fileName(String url, ImageVariant variant) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + "-" + variant.name().toLowerCase() + "." + variant.getFormat();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+
+    public synchronized int getEntryCount() {
+        return index.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getFetches() {
+        return fetches.sum();
+    }
+
+    public long getFetchFailures() {
+        return fetchFailures.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * The number of fetches that have been started and not finished yet.
+     */
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Collects a response body in memory and fails as soon as it grows beyond {@code maxBytes},
+     * without waiting for the rest of it.
+     */
+    private static final class CappedBodySubscriber implements HttpResponse.BodySubscriber<byte[]> {
+
+        private final long maxBytes;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        CappedBodySubscriber(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> items) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer item : items) {
+                if (buffer.size() + (long) item.remaining() > maxBytes) {
+                    subscription.cancel();
+                    body.completeExceptionally(new IOException("Image larger than " + maxBytes + " bytes"));
+                    return;
+                }
+                byte[] chunk = new byte[item.remaining()];
+                item.get(chunk);
+                buffer.write(chunk, 0, chunk.length);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(buffer.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.forkmyfolio.service.image;
+
+import com.forkmyfolio.model.PortfolioProfile;
+import com.forkmyfolio.model.Project;
+import com.forkmyfolio.service.PortfolioProfileService;
+import com.forkmyfolio.service.ProjectService;
+import com.forkmyfolio.service.content.PortfolioContentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the {@link ImageCache} with the portfolio's images at startup and whenever content changes,
+ * so that a new or changed image URL is fetched before a visitor needs it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImageCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageCacheWarmer.class);
+
+    private final ImageCache imageCache;
+    private final PortfolioProfileService portfolioProfileService;
+    private final ProjectService projectService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        warm();
+    }
+
+    @EventListener
+    public void onContentChanged(PortfolioContentChangedEvent event) {
+        warm();
+    }
+
+    /**
+     * Starts background fetches for the résumé photo and all project images. Returns immediately.
+     */
+    public void warm() {
+        try {
+            PortfolioProfile profile = portfolioProfileService.getPublicProfile();
+            imageCache.prefetch(profile.getResumeImageUrl());
+            for (Project project : projectService.getPublicProjects()) {
+                imageCache.prefetch(project.getImageUrl());
+            }
+        } catch (RuntimeException e) {
+            // No owner or profile yet (e.g. a fresh database); nothing to warm.
+            log.debug("Skipping image cache warm-up: {}", e.getMessage());
+        }
+    }
+}
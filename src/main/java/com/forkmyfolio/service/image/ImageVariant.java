@@ -0,0 +1,41 @@
+package com.forkmyfolio.service.image;
+
+/**
+ * The downscaled renditions kept by the {@link ImageCache}. Every rendition fits within a square of
+ * {@code maxDimension} pixels, keeps the source aspect ratio and is never upscaled.
+ */
+public enum ImageVariant {
+    /** The résumé photo in PDF templates, drawn at 100pt (about 216 dpi). PNG keeps transparency. */
+    PDF_AVATAR(300, "png", "image/png"),
+    /** The contact photo embedded in vCards, where clients expect a small JPEG. */
+    VCARD_PHOTO(256, "jpg", "image/jpeg"),
+    /** Project list thumbnails for the public site. */
+    THUMBNAIL(480, "jpg", "image/jpeg");
+
+    private final int maxDimension;
+    private final String format;
+    private final String contentType;
+
+    ImageVariant(int maxDimension, String format, String contentType) {
+        this.maxDimension = maxDimension;
+        this.format = format;
+        this.contentType = contentType;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /** The ImageIO format name, also used as the file extension. */
+    public String getFormat() {
+        return format;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    boolean hasAlpha() {
+        return "png".equals(format);
+    }
+}
@@ -3,8 +3,10 @@ package com.forkmyfolio.service.impl;
 import com.forkmyfolio.model.Setting;
 import com.forkmyfolio.repository.SettingRepository;
 import com.forkmyfolio.service.SettingService;
+import com.forkmyfolio.service.SettingsChangedEvent;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 public class SettingServiceImpl implements SettingService {
 
     private final SettingRepository settingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional(readOnly = true) // Switched to Spring's Transactional
@@ -40,7 +43,11 @@ public class SettingServiceImpl implements SettingService {
                 setting.setValue(settingsToUpdate.get(setting.getUuid()).toString())
         );
 
-        return settingRepository.saveAll(settingsToModify);
+        List<Setting> saved = settingRepository.saveAll(settingsToModify);
+        // Lets components that keep a setting in memory refresh it once the transaction has committed.
+        eventPublisher.publishEvent(new SettingsChangedEvent(saved.stream()
+                .collect(Collectors.toMap(Setting::getName, Setting::getValue))));
+        return saved;
     }
 
     /**
@@ -0,0 +1,72 @@
+package com.forkmyfolio.service.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An in-memory buffer for a rendered document that refuses to grow beyond a limit, so a runaway render
+ * fails with an {@link IOException} instead of exhausting the heap.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream}, the finished content is handed over without a copy:
+ * {@link #buffer()} returns the internal array, of which the first {@link #size()} bytes are valid.
+ */
+public class BoundedByteArrayOutputStream extends OutputStream {
+
+    private static final int INITIAL_CAPACITY = 16 * 1024;
+    // Some VMs reserve header words in an array; this is the largest size that is safe everywhere.
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long maxBytes;
+    private byte[] buf;
+    private int count;
+
+    public BoundedByteArrayOutputStream(long maxBytes) {
+        this.maxBytes = Math.min(maxBytes, MAX_ARRAY_SIZE);
+        this.buf = new byte[(int) Math.min(INITIAL_CAPACITY, this.maxBytes)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureCapacity(1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        ensureCapacity(len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    private void ensureCapacity(int len) throws IOException {
+        long needed = count + (long) len;
+        if (needed > maxBytes) {
+            throw new IOException("Rendered PDF exceeds the limit of " + maxBytes + " bytes.");
+        }
+        if (needed > buf.length) {
+            buf = Arrays.copyOf(buf, (int) Math.min(maxBytes, Math.max(needed, 2L * buf.length)));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * The internal array, not a copy. Only the first {@link #size()} bytes are content; the array must not be
+     * modified, and nothing more may be written once it has been handed over.
+     */
+    public byte[] buffer() {
+        return buf;
+    }
+
+    /**
+     * A copy of the content, trimmed to {@link #size()}.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+}
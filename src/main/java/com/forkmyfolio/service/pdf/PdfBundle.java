@@ -0,0 +1,103 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.PdfGenerationService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A ZIP archive of PDFs whose renders are already running on the {@link PdfRenderPool}.
+ * <p>
+ * {@link #writeTo} adds each PDF to the archive in the order the renders finish, and drops its reference as
+ * soon as the entry is written. Only PDFs that have finished but are not written yet are held here, which is
+ * normally none or one. Templates whose render fails or does not finish in time are listed in a
+ * {@value #FAILURES_ENTRY} entry instead of failing the whole archive.
+ */
+public final class PdfBundle {
+
+    static final String FAILURES_ENTRY = "FAILED.txt";
+
+    /**
+     * The outcome of one render: exactly one of {@code file} and {@code failure} is set.
+     */
+    record Completion(String template, PdfGenerationService.PdfFile file, Throwable failure) {
+    }
+
+    private final String filename;
+    private final List<String> templates;
+    private final BlockingQueue<Completion> completions;
+    private final long timeoutMs;
+
+    PdfBundle(String filename, List<String> templates, BlockingQueue<Completion> completions, long timeoutMs) {
+        this.filename = filename;
+        this.templates = templates;
+        this.completions = completions;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    /**
+     * Writes the archive to {@code out}, waiting for the renders as needed. The stream is flushed but not closed.
+     *
+     * @return The number of PDFs in the archive.
+     */
+    public int writeTo(OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDF streams are already compressed; spend as little CPU as possible on them.
+        zip.setLevel(Deflater.BEST_SPEED);
+        List<String> pending = new ArrayList<>(templates);
+        List<String> failures = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        try {
+            while (!pending.isEmpty()) {
+                Completion completion = completions.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (completion == null) {
+                    pending.forEach(template -> failures.add(template + ": did not finish within " + timeoutMs + " ms"));
+                    break;
+                }
+                pending.remove(completion.template());
+                if (completion.file() == null) {
+                    failures.add(completion.template() + ": " + completion.failure());
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry(entryName(completion.template(), completion.file().suggestedFilename())));
+                zip.write(completion.file().content(), 0, completion.file().length());
+                zip.closeEntry();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for PDF renders.", e);
+        }
+
+        if (!failures.isEmpty()) {
+            zip.putNextEntry(new ZipEntry(FAILURES_ENTRY));
+            zip.write(String.join("\n", failures).concat("\n").getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        // finish() rather than close(): the target stream belongs to the caller.
+        zip.finish();
+        out.flush();
+        return templates.size() - failures.size();
+    }
+
+    /**
+     * {@code JaneDoe-Resume-2024-05-01.pdf} becomes {@code JaneDoe-Resume-2024-05-01-classic.pdf}.
+     */
+    static String entryName(String template, String suggestedFilename) {
+        String stem = suggestedFilename.endsWith(".pdf")
+                ? suggestedFilename.substring(0, suggestedFilename.length() - 4)
+                : suggestedFilename;
+        return stem + "-" + template + ".pdf";
+    }
+}
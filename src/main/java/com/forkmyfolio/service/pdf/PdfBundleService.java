@@ -0,0 +1,66 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.exception.BadRequestException;
+import com.forkmyfolio.exception.TooManyRequestsException;
+import com.forkmyfolio.service.PdfGenerationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Builds {@link PdfBundle}s: every PDF template rendered in parallel on the {@link PdfRenderPool} and
+ * packed into one ZIP archive. Templates that are already in the {@link PdfRenderCache} are not rendered
+ * again, and the fresh renders are cached like any other.
+ */
+@Service
+public class PdfBundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfBundleService.class);
+
+    private final PdfGenerationService pdfGenerationService;
+    private final PdfRenderPool pdfRenderPool;
+    private final long timeoutMs;
+
+    public PdfBundleService(PdfGenerationService pdfGenerationService,
+                            PdfRenderPool pdfRenderPool,
+                            @Value("${app.pdf.bundle.timeout-ms:120000}") long timeoutMs) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.pdfRenderPool = pdfRenderPool;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Submits a render for every template and returns the bundle that will collect them. Nothing has been
+     * written yet, so the failures declared here can still be reported as a normal error response.
+     *
+     * @param outputMode The requested output mode, or {@code null} for the configured default.
+     * @return The bundle, ready to be written.
+     * @throws BadRequestException      if {@code outputMode} does not name a {@link PdfOutputMode}.
+     * @throws TooManyRequestsException if the render queue cannot take all templates. Renders submitted
+     *                                  before that still finish and end up in the cache.
+     */
+    public PdfBundle prepareBundle(String outputMode) {
+        PdfOutputMode mode = pdfGenerationService.resolveOutputMode(outputMode);
+        List<String> templates = pdfGenerationService.getAvailableTemplateNames();
+        BlockingQueue<PdfBundle.Completion> completions = new LinkedBlockingQueue<>();
+        for (String template : templates) {
+            pdfRenderPool.submit(() -> pdfGenerationService.generatePortfolioPdf(template, mode), () -> { })
+                    .whenComplete((file, failure) -> {
+                        if (failure != null) {
+                            log.error("Rendering template '{}' for the PDF bundle failed.", template, failure);
+                        }
+                        completions.add(new PdfBundle.Completion(template, file, failure));
+                    });
+        }
+        log.info("Submitted {} PDF templates for a bundle ({} output).", templates.size(), mode);
+        String filename = String.format("Resume-bundle-%s.zip", LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE));
+        return new PdfBundle(filename, templates, completions, timeoutMs);
+    }
+}
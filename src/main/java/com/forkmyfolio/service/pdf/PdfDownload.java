@@ -0,0 +1,136 @@
+package com.forkmyfolio.service.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A PDF that is ready to be rendered and written to a response.
+ * <p>
+ * Everything that can fail before the first byte (resolving the template, loading the portfolio data) has
+ * already happened when an instance exists. A cached PDF already has its content. Otherwise {@link #render()}
+ * produces it in memory, on the render pool, and only the finished bytes are written to the client; a render
+ * never waits on the network, so a slow client cannot hold a render slot. The content is the render buffer
+ * itself, of which only the first {@link #getContentLength()} bytes are written; it is never copied.
+ */
+public final class PdfDownload {
+
+    /**
+     * Renders a document and returns the buffer holding it.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        PdfRenderCache.Entry render() throws IOException;
+    }
+
+    private final String suggestedFilename;
+    private final byte[] content;
+    private final int length;
+    private final Renderer renderer;
+    private final boolean cached;
+    private final boolean complete;
+
+    private PdfDownload(String suggestedFilename, byte[] content, int length, Renderer renderer, boolean cached,
+                        boolean complete) {
+        this.suggestedFilename = suggestedFilename;
+        this.content = content;
+        this.length = length;
+        this.renderer = renderer;
+        this.cached = cached;
+        this.complete = complete;
+    }
+
+    public static PdfDownload cached(String suggestedFilename, byte[] content) {
+        return cached(suggestedFilename, content, content.length);
+    }
+
+    /**
+     * @param length The number of valid bytes at the start of {@code content}.
+     */
+    public static PdfDownload cached(String suggestedFilename, byte[] content, int length) {
+        return new PdfDownload(suggestedFilename, content, length, null, true, true);
+    }
+
+    /**
+     * @param complete {@code false} if the document will lack something that is only temporarily unavailable,
+     *                 such as a profile photo that is not in the image cache yet.
+     */
+    public static PdfDownload rendered(String suggestedFilename, boolean complete, Renderer renderer) {
+        return new PdfDownload(suggestedFilename, null, -1, renderer, false, complete);
+    }
+
+    /**
+     * Renders the document if it has no content yet. This is the CPU-heavy part and is meant to run on the
+     * render pool; writing the result is not.
+     *
+     * @return A download with content: this instance if it already has some, otherwise a rendered copy.
+     */
+    public PdfDownload render() throws IOException {
+        if (content != null) {
+            return this;
+        }
+        PdfRenderCache.Entry rendered = renderer.render();
+        return new PdfDownload(suggestedFilename, rendered.content(), rendered.length(), null, false, complete);
+    }
+
+    public String getSuggestedFilename() {
+        return suggestedFilename;
+    }
+
+    /**
+     * Whether the PDF comes from the render cache.
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Whether the content is available, i.e. the PDF was cached or {@link #render()} has produced it.
+     */
+    public boolean hasContent() {
+        return content != null;
+    }
+
+    /**
+     * Whether this is the final document for its content revision. Incomplete documents must not be cached
+     * by clients, because a later render of the same revision will differ.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * The size in bytes, or {@code -1} if the PDF has not been rendered yet.
+     */
+    public long getContentLength() {
+        return content != null ? length : -1;
+    }
+
+    /**
+     * Writes the PDF to {@code out}. The stream is flushed but not closed.
+     *
+     * @throws IllegalStateException if the PDF has not been rendered yet.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        requireContent();
+        writeRangeTo(out, 0, length - 1L);
+    }
+
+    /**
+     * Writes the bytes {@code start} to {@code end} (both inclusive) of the PDF to {@code out}.
+     * The stream is flushed but not closed.
+     *
+     * @throws IllegalStateException if the PDF has not been rendered yet.
+     */
+    public void writeRangeTo(OutputStream out, long start, long end) throws IOException {
+        byte[] bytes = requireContent();
+        out.write(bytes, (int) start, (int) (end - start + 1));
+        out.flush();
+    }
+
+    private byte[] requireContent() {
+        if (content == null) {
+            throw new IllegalStateException("The PDF has not been rendered yet.");
+        }
+        return content;
+    }
+}
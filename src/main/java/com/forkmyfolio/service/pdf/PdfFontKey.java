@@ -0,0 +1,52 @@
+package com.forkmyfolio.service.pdf;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+
+/**
+ * Every font the PDF templates use. Bundled fonts name their classpath resource and, for text fonts,
+ * a standard font to substitute if the resource is missing. Icon and emoji fonts have no substitute;
+ * templates already treat them as optional.
+ */
+public enum PdfFontKey {
+    HELVETICA(StandardFonts.HELVETICA, null, null),
+    HELVETICA_BOLD(StandardFonts.HELVETICA_BOLD, null, null),
+    HELVETICA_OBLIQUE(StandardFonts.HELVETICA_OBLIQUE, null, null),
+    TIMES_ROMAN(StandardFonts.TIMES_ROMAN, null, null),
+    TIMES_BOLD(StandardFonts.TIMES_BOLD, null, null),
+    MONTSERRAT_BOLD(null, "fonts/Montserrat-Bold.ttf", HELVETICA_BOLD),
+    LATO_REGULAR(null, "fonts/Lato-Regular.ttf", HELVETICA),
+    LATO_ITALIC(null, "fonts/Lato-Italic.ttf", HELVETICA_OBLIQUE),
+    FONT_AWESOME_SOLID(null, "fonts/Font Awesome 6 Free-Solid-900.otf", null),
+    FONT_AWESOME_BRANDS(null, "fonts/Font Awesome 6 Brands-Regular-400.otf", null),
+    NOTO_EMOJI(null, "fonts/NotoEmoji-Regular.ttf", null);
+
+    private final String standardFontName;
+    private final String resourcePath;
+    private final PdfFontKey substitute;
+
+    PdfFontKey(String standardFontName, String resourcePath, PdfFontKey substitute) {
+        this.standardFontName = standardFontName;
+        this.resourcePath = resourcePath;
+        this.substitute = substitute;
+    }
+
+    /** The built-in PDF font name, or {@code null} for bundled fonts. */
+    public String getStandardFontName() {
+        return standardFontName;
+    }
+
+    /** The classpath resource of a bundled font, or {@code null} for standard fonts. */
+    public String getResourcePath() {
+        return resourcePath;
+    }
+
+    /** The font to use when the bundled resource is missing, or {@code null} if there is none. */
+    public PdfFontKey getSubstitute() {
+        return substitute;
+    }
+
+    /** Whether the font program must be embedded in the PDF. */
+    public boolean isEmbedded() {
+        return resourcePath != null;
+    }
+}
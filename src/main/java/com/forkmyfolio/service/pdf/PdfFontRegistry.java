@@ -0,0 +1,111 @@
+package com.forkmyfolio.service.pdf;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parses every PDF font once at startup and hands out per-document {@link PdfFont} instances.
+ * <p>
+ * A {@link FontProgram} (the parsed glyph tables) is immutable and can be shared across threads, while a
+ * {@link PdfFont} is bound to the document it is first used in. Keeping the programs here means a render
+ * only creates lightweight font wrappers instead of re-reading and re-parsing font files.
+ * <p>
+ * The registry also builds one shared {@link FontSet} containing the text fonts and Noto Emoji. A
+ * per-document {@link FontProvider} over that set lets templates fall back to the emoji font, glyph by
+ * glyph, for names and descriptions.
+ */
+@Component
+public class PdfFontRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfFontRegistry.class);
+
+    private final Map<PdfFontKey, FontProgram> programs = new EnumMap<>(PdfFontKey.class);
+    private final Map<PdfFontKey, PdfFontKey> resolved = new EnumMap<>(PdfFontKey.class);
+    private final FontSet fallbackFontSet = new FontSet();
+
+    @PostConstruct
+    void loadFonts() {
+        for (PdfFontKey key : PdfFontKey.values()) {
+            FontProgram program = loadProgram(key);
+            if (program != null) {
+                programs.put(key, program);
+                resolved.put(key, key);
+            } else if (key.getSubstitute() != null) {
+                log.warn("Font resource '{}' not found; substituting {}.", key.getResourcePath(), key.getSubstitute());
+                resolved.put(key, key.getSubstitute());
+            } else {
+                log.warn("Optional font resource '{}' not found. Glyphs that need it will not display.", key.getResourcePath());
+            }
+        }
+        programs.forEach((key, program) -> {
+            if (key != PdfFontKey.FONT_AWESOME_SOLID && key != PdfFontKey.FONT_AWESOME_BRANDS) {
+                fallbackFontSet.addFont(program, "", key.name());
+            }
+        });
+        log.info("Loaded {} PDF font programs.", programs.size());
+    }
+
+    /**
+     * Creates a font for one document. Call once per key and document; the instance must not be shared
+     * with another document.
+     *
+     * @param key The font.
+     * @return The font, its substitute if the resource is missing, or {@code null} for a missing optional font.
+     */
+    public PdfFont createFont(PdfFontKey key) {
+        PdfFontKey actual = resolved.get(key);
+        if (actual == null) {
+            return null;
+        }
+        PdfFontFactory.EmbeddingStrategy embedding = actual.isEmbedded()
+                ? PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED
+                : PdfFontFactory.EmbeddingStrategy.PREFER_NOT_EMBEDDED;
+        return PdfFontFactory.createFont(programs.get(actual), "", embedding);
+    }
+
+    /**
+     * Creates a font provider for one document, over the shared text and emoji fonts.
+     */
+    public FontProvider createFontProvider() {
+        return new FontProvider(fallbackFontSet, PdfFontKey.HELVETICA.name());
+    }
+
+    /**
+     * Returns a font-family list that renders text in {@code primary} and falls back to Noto Emoji for
+     * glyphs the primary font lacks. Use with {@code setFontFamily} on elements of a document that has the
+     * provider from {@link #createFontProvider()}.
+     */
+    public String[] withEmojiFallback(PdfFontKey primary) {
+        PdfFontKey actual = resolved.getOrDefault(primary, PdfFontKey.HELVETICA);
+        return programs.containsKey(PdfFontKey.NOTO_EMOJI)
+                ? new String[]{actual.name(), PdfFontKey.NOTO_EMOJI.name()}
+                : new String[]{actual.name()};
+    }
+
+    private static FontProgram loadProgram(PdfFontKey key) {
+        try {
+            if (key.getStandardFontName() != null) {
+                return FontProgramFactory.createFont(key.getStandardFontName());
+            }
+            try (InputStream is = PdfFontRegistry.class.getClassLoader().getResourceAsStream(key.getResourcePath())) {
+                return is == null ? null : FontProgramFactory.createFont(is.readAllBytes());
+            }
+        } catch (IOException e) {
+            log.error("Failed to parse font '{}': {}", key, e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.PdfGenerationService;
+
+import java.time.Instant;
+
+/**
+ * An asynchronous PDF render and, once finished, its result.
+ * <p>
+ * Status changes are made by the render pool thread and read by request threads, so the mutable
+ * state is volatile and the result is published before the status flips to {@link PdfJobStatus#DONE}.
+ */
+public class PdfJob {
+
+    private final String id;
+    private final PdfRenderCache.Key key;
+    private final Instant createdAt;
+    private volatile PdfJobStatus status = PdfJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile PdfGenerationService.PdfFile result;
+    private volatile String error;
+
+    public PdfJob(String id, PdfRenderCache.Key key, Instant createdAt) {
+        this.id = id;
+        this.key = key;
+        this.createdAt = createdAt;
+    }
+
+    void markRunning(Instant now) {
+        startedAt = now;
+        status = PdfJobStatus.RUNNING;
+    }
+
+    void markDone(PdfGenerationService.PdfFile file, Instant now) {
+        result = file;
+        if (startedAt == null) {
+            startedAt = now;
+        }
+        finishedAt = now;
+        status = PdfJobStatus.DONE;
+    }
+
+    void markFailed(String message, Instant now) {
+        error = message;
+        finishedAt = now;
+        status = PdfJobStatus.FAILED;
+    }
+
+    /**
+     * Whether the job finished before {@code cutoff}, i.e. has outlived a TTL ending at {@code cutoff}.
+     */
+    boolean finishedBefore(Instant cutoff) {
+        Instant finished = finishedAt;
+        return finished != null && finished.isBefore(cutoff);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public PdfRenderCache.Key getKey() {
+        return key;
+    }
+
+    public PdfJobStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * The rendered PDF, or {@code null} until the job is {@link PdfJobStatus#DONE}.
+     */
+    public PdfGenerationService.PdfFile getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
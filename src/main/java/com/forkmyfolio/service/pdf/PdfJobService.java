@@ -0,0 +1,157 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.exception.ResourceNotFoundException;
+import com.forkmyfolio.exception.TooManyRequestsException;
+import com.forkmyfolio.service.PdfGenerationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs PDF renders as background jobs on the {@link PdfRenderPool}.
+ * <p>
+ * A job is identified by a random id, which is also what makes its result URL hard to guess. Requests for the
+ * same template at the same content revision share one job, whether it is still queued, running or done, so a
+ * burst of identical requests costs one render. Finished jobs, and their results, are kept for
+ * {@code app.pdf.jobs.ttl-ms} and then swept. A failed job is dropped as soon as a new job replaces it.
+ */
+@Service
+public class PdfJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfJobService.class);
+
+    private final PdfGenerationService pdfGenerationService;
+    private final PdfRenderPool pdfRenderPool;
+    private final Clock clock;
+    private final Duration ttl;
+
+    private final Map<String, PdfJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<PdfRenderCache.Key, PdfJob> jobsByKey = new ConcurrentHashMap<>();
+    private final LongAdder deduplicated = new LongAdder();
+
+    @Autowired
+    public PdfJobService(PdfGenerationService pdfGenerationService, PdfRenderPool pdfRenderPool,
+                         @Value("${app.pdf.jobs.ttl-ms:600000}") long ttlMillis) {
+        this(pdfGenerationService, pdfRenderPool, Clock.systemUTC(), ttlMillis);
+    }
+
+    PdfJobService(PdfGenerationService pdfGenerationService, PdfRenderPool pdfRenderPool, Clock clock, long ttlMillis) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.pdfRenderPool = pdfRenderPool;
+        this.clock = clock;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
+    /**
+     * Starts a job for the template, or returns the existing job for the same template, output mode and
+     * content revision. A PDF that is already in the render cache yields a job that is done immediately.
+     *
+     * @param templateName The requested template name; unknown names resolve to "modern".
+     * @param outputMode   The requested output mode, or {@code null} for the configured default.
+     * @return The new or shared job.
+     * @throws TooManyRequestsException if a render is needed and the render queue is full.
+     */
+    public PdfJob submit(String templateName, String outputMode) {
+        PdfRenderCache.Key key = pdfGenerationService.cacheKeyFor(templateName, outputMode);
+        PdfJob[] created = new PdfJob[1];
+        PdfJob[] replaced = new PdfJob[1];
+        PdfJob job = jobsByKey.compute(key, (k, existing) -> {
+            if (existing != null && existing.getStatus() != PdfJobStatus.FAILED) {
+                return existing;
+            }
+            replaced[0] = existing;
+            created[0] = new PdfJob(UUID.randomUUID().toString(), k, clock.instant());
+            return created[0];
+        });
+        if (created[0] == null) {
+            deduplicated.increment();
+            return job;
+        }
+        if (replaced[0] != null) {
+            // Resubmitting after a failure would otherwise leave one dead job per attempt until the sweep.
+            jobsById.remove(replaced[0].getId(), replaced[0]);
+        }
+        jobsById.put(job.getId(), job);
+
+        PdfGenerationService.PdfFile cached = pdfGenerationService.findCachedPortfolioPdf(key);
+        if (cached != null) {
+            job.markDone(cached, clock.instant());
+            return job;
+        }
+
+        try {
+            pdfRenderPool.submit(() -> pdfGenerationService.generatePortfolioPdf(key.template(), key.mode()),
+                            () -> job.markRunning(clock.instant()))
+                    .whenComplete((file, failure) -> {
+                        if (failure == null) {
+                            job.markDone(file, clock.instant());
+                        } else {
+                            log.error("PDF job {} for template '{}' failed.", job.getId(), key.template(), failure);
+                            job.markFailed("PDF generation failed.", clock.instant());
+                        }
+                    });
+        } catch (TooManyRequestsException e) {
+            // Callers that were deduplicated onto this job in the meantime will see it as failed.
+            job.markFailed("PDF generation was busy.", clock.instant());
+            jobsByKey.remove(key, job);
+            throw e;
+        }
+        log.info("Queued PDF job {} for template '{}' at revision {}.", job.getId(), key.template(), key.revision());
+        return job;
+    }
+
+    /**
+     * Returns a job that has not expired.
+     *
+     * @throws ResourceNotFoundException if there is no such job, or it has expired.
+     */
+    public PdfJob getJob(String id) {
+        PdfJob job = jobsById.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("PDF job not found or expired: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Removes jobs that finished more than the TTL ago, releasing their results.
+     */
+    @Scheduled(fixedDelayString = "${app.pdf.jobs.sweep-interval-ms:60000}")
+    public void sweepExpiredJobs() {
+        Instant cutoff = clock.instant().minus(ttl);
+        int removed = 0;
+        for (PdfJob job : jobsById.values()) {
+            if (job.finishedBefore(cutoff)) {
+                jobsById.remove(job.getId(), job);
+                jobsByKey.remove(job.getKey(), job);
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.debug("Swept {} expired PDF jobs.", removed);
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public int getJobCount() {
+        return jobsById.size();
+    }
+
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+}
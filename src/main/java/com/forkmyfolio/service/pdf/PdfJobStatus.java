@@ -0,0 +1,15 @@
+package com.forkmyfolio.service.pdf;
+
+/**
+ * Lifecycle of an asynchronous PDF job.
+ */
+public enum PdfJobStatus {
+    /** Waiting for a slot in the render pool. */
+    QUEUED,
+    /** Being rendered. */
+    RUNNING,
+    /** Rendered; the result can be downloaded until the job expires. */
+    DONE,
+    /** Rendering failed. */
+    FAILED
+}
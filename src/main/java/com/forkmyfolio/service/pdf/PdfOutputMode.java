@@ -0,0 +1,56 @@
+package com.forkmyfolio.service.pdf;
+
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.WriterProperties;
+
+import java.util.Locale;
+
+/**
+ * How a portfolio PDF is written. The layout is identical in both modes; only the file structure differs.
+ * <p>
+ * The default for public downloads is the {@code PDF_OUTPUT_MODE} setting; a request can override it with
+ * the {@code mode} parameter.
+ */
+public enum PdfOutputMode {
+
+    /** iText's default writer settings: compressed content streams, plain cross-reference table. */
+    STANDARD,
+
+    /**
+     * Smallest output: best-level compression, objects packed into compressed object streams with a
+     * cross-reference stream (PDF 1.5+), and smart mode, which writes identical resources such as repeated
+     * images or font data only once. Embedded fonts are subset in both modes.
+     */
+    COMPACT;
+
+    /**
+     * Returns new writer properties for this mode. {@link WriterProperties} is mutable, so every document
+     * gets its own instance.
+     */
+    public WriterProperties writerProperties() {
+        WriterProperties properties = new WriterProperties();
+        if (this == COMPACT) {
+            properties.setFullCompressionMode(true)
+                    .setCompressionLevel(CompressionConstants.BEST_COMPRESSION)
+                    .useSmartMode();
+        }
+        return properties;
+    }
+
+    /**
+     * Parses a setting or request value, ignoring case.
+     *
+     * @return The mode, or {@code null} if the value does not name one.
+     */
+    public static PdfOutputMode fromValue(String value) {
+        if (value == null) {
+            return null;
+        }
+        for (PdfOutputMode mode : values()) {
+            if (mode.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,122 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.content.PortfolioContentChangedEvent;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Renders every PDF template into the {@link PdfRenderCache} in the background after portfolio content changes,
+ * so that the first visitor after an edit gets a cache hit.
+ * <p>
+ * Changes are debounced: a burst of admin edits results in one pass, {@code app.pdf.prerender.debounce-ms}
+ * after the last of them. A pass renders the templates one at a time on a single minimum-priority thread, so
+ * it adds at most one render to the load. It stops early if the content changes again (a new pass is already
+ * scheduled) and backs off while visitors are queuing in the {@link PdfRenderPool}.
+ */
+@Component
+public class PdfPreRenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfPreRenderer.class);
+
+    private final PdfGenerationService pdfGenerationService;
+    private final PortfolioContentRevision portfolioContentRevision;
+    private final PdfRenderPool pdfRenderPool;
+    private final boolean enabled;
+    private final long debounceMs;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("pdf-prerender").daemon(true).priority(Thread.MIN_PRIORITY).factory());
+
+    private ScheduledFuture<?> pending;
+    private final LongAdder passes = new LongAdder();
+    private final LongAdder rendered = new LongAdder();
+
+    public PdfPreRenderer(PdfGenerationService pdfGenerationService,
+                          PortfolioContentRevision portfolioContentRevision,
+                          PdfRenderPool pdfRenderPool,
+                          @Value("${app.pdf.prerender.enabled:true}") boolean enabled,
+                          @Value("${app.pdf.prerender.debounce-ms:3000}") long debounceMs) {
+        this.pdfGenerationService = pdfGenerationService;
+        this.portfolioContentRevision = portfolioContentRevision;
+        this.pdfRenderPool = pdfRenderPool;
+        this.enabled = enabled;
+        this.debounceMs = debounceMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        schedule();
+    }
+
+    @EventListener
+    public void onContentChanged(PortfolioContentChangedEvent event) {
+        schedule();
+    }
+
+    /**
+     * (Re)starts the debounce timer for a pre-render pass.
+     */
+    synchronized void schedule() {
+        if (!enabled || scheduler.isShutdown()) {
+            return;
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = scheduler.schedule(this::preRenderAll, debounceMs, TimeUnit.MILLISECONDS);
+    }
+
+    void preRenderAll() {
+        String revision = portfolioContentRevision.current();
+        List<String> templates = pdfGenerationService.getAvailableTemplateNames();
+        passes.increment();
+        long start = System.nanoTime();
+        int count = 0;
+        for (String template : templates) {
+            if (!revision.equals(portfolioContentRevision.current())) {
+                log.debug("Content changed during PDF pre-render at revision {}; stopping this pass.", revision);
+                return;
+            }
+            if (pdfRenderPool.getQueueDepth() > 0) {
+                log.debug("Visitors are waiting for PDF renders; postponing pre-render.");
+                schedule();
+                return;
+            }
+            try {
+                pdfGenerationService.generatePortfolioPdf(template);
+                count++;
+                rendered.increment();
+            } catch (RuntimeException e) {
+                log.warn("Pre-rendering PDF template '{}' failed: {}", template, e.getMessage());
+            }
+        }
+        log.info("Pre-rendered {} PDF templates for revision {} in {} ms.",
+                count, revision, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public long getPassCount() {
+        return passes.sum();
+    }
+
+    public long getRenderedCount() {
+        return rendered.sum();
+    }
+}
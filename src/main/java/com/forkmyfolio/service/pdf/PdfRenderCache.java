@@ -0,0 +1,171 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.content.PortfolioContentChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An in-memory LRU cache of rendered PDFs, bounded by total size in bytes.
+ * <p>
+ * The cache keeps the render buffer itself (see {@code app.pdf.render.max-bytes}) rather than a trimmed copy,
+ * so an entry is accounted by the capacity of that array, which can be up to twice the PDF's size. A single
+ * entry is cached only up to {@code app.pdf.cache.max-entry-bytes}, a small fraction of the budget, so one
+ * unusually large document cannot push every other template out.
+ * <p>
+ * Entries are keyed by template name, output mode and portfolio content revision, so a stale PDF can never be served;
+ * when the content changes, the whole cache is also cleared to release memory immediately. Cached arrays
+ * are shared and must not be modified by callers.
+ */
+@Component
+public class PdfRenderCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRenderCache.class);
+
+    /**
+     * Identifies a rendered PDF.
+     */
+    public record Key(String template, PdfOutputMode mode, String revision) {
+
+        /**
+         * A key for the {@link PdfOutputMode#STANDARD standard} output mode.
+         */
+        public Key(String template, String revision) {
+            this(template, PdfOutputMode.STANDARD, revision);
+        }
+    }
+
+    /**
+     * A cached rendering.
+     *
+     * @param content       The buffer holding the PDF bytes. Shared; do not modify.
+     * @param length        The number of valid bytes at the start of {@code content}.
+     * @param filenameStem  The owner's name part of the download filename, e.g. {@code "JaneDoe"}.
+     */
+    public record Entry(byte[] content, int length, String filenameStem) {
+
+        /**
+         * An entry whose whole array is the PDF.
+         */
+        public Entry(byte[] content, String filenameStem) {
+            this(content, content.length, filenameStem);
+        }
+    }
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public PdfRenderCache(@Value("${app.pdf.cache.max-bytes:33554432}") long maxBytes,
+                          @Value("${app.pdf.cache.max-entry-bytes:2097152}") long maxEntryBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.min(maxEntryBytes, maxBytes);
+    }
+
+    /**
+     * A cache whose entries may each use the whole budget.
+     */
+    public PdfRenderCache(long maxBytes) {
+        this(maxBytes, maxBytes);
+    }
+
+    /**
+     * Returns the cached PDF for the key, or {@code null} on a miss.
+     */
+    public Entry get(Key key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Stores a rendered PDF, evicting least recently used entries until the byte budget is met.
+     * Entries whose array is larger than the per-entry limit are not cached.
+     */
+    public void put(Key key, Entry entry) {
+        long size = entry.content().length;
+        if (size > maxEntryBytes) {
+            log.info("Rendered PDF for template '{}' holds {} bytes, more than the per-entry cache limit of {} bytes; not caching.",
+                    key.template(), size, maxEntryBytes);
+            return;
+        }
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                totalBytes -= previous.content().length;
+            }
+            totalBytes += size;
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<Key, Entry> evicted = eldest.next();
+                if (evicted.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= evicted.getValue().content().length;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops every cached PDF once portfolio content changes. The revision in the key already prevents
+     * stale hits; this just frees the memory straight away.
+     */
+    @EventListener
+    public void onContentChanged(PortfolioContentChangedEvent event) {
+        synchronized (this) {
+            entries.clear();
+            totalBytes = 0;
+        }
+        log.debug("Cleared rendered PDF cache for content revision {}.", event.revision());
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public long getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
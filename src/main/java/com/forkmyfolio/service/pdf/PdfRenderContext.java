@@ -0,0 +1,67 @@
+package com.forkmyfolio.service.pdf;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.font.FontProvider;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Everything that belongs to a single PDF render: the iText document being written, the portfolio data and
+ * the fonts bound to that document.
+ * <p>
+ * A new context is created for every render and is only ever used by the thread performing it. Templates are
+ * shared singletons, so any state they need while rendering must live here or in local variables, never in
+ * template fields. Fonts come from the {@link PdfFontRegistry}, so creating a context does not read or parse
+ * any font file.
+ */
+public class PdfRenderContext {
+
+    public final PdfDocument pdfDocument;
+    public final Document document;
+    public final PortfolioData data;
+    public final PdfFont nameFont, headlineFont, sectionHeaderFont, itemTitleFont, itemSubtitleFont, bodyFont, dateFont, solidIconFont, brandsIconFont;
+    public final FontProvider fontProvider;
+    private final PdfFontRegistry fontRegistry;
+    private final Map<PdfFontKey, PdfFont> fonts = new EnumMap<>(PdfFontKey.class);
+
+    public PdfRenderContext(Document document, PortfolioData data, PdfFontRegistry fontRegistry) {
+        this.pdfDocument = document.getPdfDocument();
+        this.document = document;
+        this.data = data;
+        this.fontRegistry = fontRegistry;
+        this.fontProvider = fontRegistry.createFontProvider();
+        this.nameFont = font(PdfFontKey.HELVETICA_BOLD);
+        this.headlineFont = font(PdfFontKey.HELVETICA_OBLIQUE);
+        this.sectionHeaderFont = nameFont;
+        this.itemTitleFont = nameFont;
+        this.itemSubtitleFont = headlineFont;
+        this.bodyFont = font(PdfFontKey.HELVETICA);
+        this.dateFont = bodyFont;
+        this.solidIconFont = font(PdfFontKey.FONT_AWESOME_SOLID);
+        this.brandsIconFont = font(PdfFontKey.FONT_AWESOME_BRANDS);
+        document.setFontProvider(fontProvider);
+    }
+
+    /**
+     * Returns this document's instance of a font, creating it on first use.
+     */
+    public PdfFont font(PdfFontKey key) {
+        PdfFont font = fonts.get(key);
+        if (font == null && !fonts.containsKey(key)) {
+            font = fontRegistry.createFont(key);
+            fonts.put(key, font);
+        }
+        return font;
+    }
+
+    /**
+     * Font families for free text (names, summaries, descriptions) that may contain emoji.
+     * See {@link PdfFontRegistry#withEmojiFallback(PdfFontKey)}.
+     */
+    public String[] withEmojiFallback(PdfFontKey primary) {
+        return fontRegistry.withEmojiFallback(primary);
+    }
+}
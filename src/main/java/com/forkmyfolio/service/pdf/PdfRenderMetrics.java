@@ -0,0 +1,308 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.metrics.LatencyHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-template instrumentation of PDF renders.
+ * <p>
+ * Every render that is not served from the cache is split into four {@link Phase phases}, each with its own
+ * {@link LatencyHistogram} per (template, output mode). Page count, output size and the bytes allocated by the
+ * rendering threads (from {@link com.sun.management.ThreadMXBean}) are summed alongside. The last
+ * {@code app.pdf.metrics.recent-renders} renders are also kept individually, so a single slow download can be
+ * traced to the database, iText layout or serialization. Renders write into memory and the transfer to the client
+ * happens afterwards, so none of the phases include network time.
+ */
+@Component
+public class PdfRenderMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRenderMetrics.class);
+
+    /**
+     * The phases of one render, in order.
+     */
+    public enum Phase {
+        /** Loading the portfolio snapshot, including the image cache lookup of the profile photo. */
+        DATA_LOAD,
+        /** Creating the writer, document and render context, including font setup. */
+        SETUP,
+        /** {@link PortfolioPdfTemplate#generate}, i.e. iText layout. */
+        LAYOUT,
+        /** Closing the document, which serializes the remaining objects into the in-memory render buffer. */
+        CLOSE
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final Map<Key, TemplateMetrics> templates = new ConcurrentHashMap<>();
+    private final Deque<RenderRecord> recent = new ArrayDeque<>();
+    private final int recentCapacity;
+    private final com.sun.management.ThreadMXBean threadBean = allocationBean();
+
+    public PdfRenderMetrics(@Value("${app.pdf.metrics.recent-renders:50}") int recentCapacity) {
+        this.recentCapacity = recentCapacity;
+    }
+
+    /**
+     * Starts tracing a render on the current thread. The first phase is {@link Phase#DATA_LOAD}.
+     */
+    public Trace start(String template, PdfOutputMode mode) {
+        Trace trace = new Trace(template, mode);
+        trace.resume();
+        return trace;
+    }
+
+    /**
+     * Records a finished render.
+     *
+     * @param pages     The number of pages of the document.
+     * @param sizeBytes The size of the written PDF.
+     * @param complete  {@code false} if the document lacks the (not yet cached) profile photo.
+     */
+    public void recordSuccess(Trace trace, int pages, long sizeBytes, boolean complete) {
+        TemplateMetrics metrics = metricsFor(trace);
+        long totalMicros = 0;
+        for (Phase phase : PHASES) {
+            long micros = trace.micros(phase);
+            metrics.phases[phase.ordinal()].record(micros);
+            totalMicros += micros;
+        }
+        metrics.total.record(totalMicros);
+        metrics.pages.add(pages);
+        metrics.bytes.add(sizeBytes);
+        if (trace.allocatedBytes >= 0) {
+            metrics.allocationSamples.increment();
+            metrics.allocatedBytes.add(trace.allocatedBytes);
+            metrics.maxAllocatedBytes.accumulateAndGet(trace.allocatedBytes, Math::max);
+        }
+        addRecent(new RenderRecord(trace.template, trace.mode, Instant.now(), true, trace.phaseMicros(),
+                totalMicros, pages, sizeBytes, trace.allocatedBytes, complete));
+    }
+
+    /**
+     * Records a render that threw. Its phase times are kept in the recent renders but not in the histograms.
+     */
+    public void recordFailure(Trace trace) {
+        metricsFor(trace).failures.increment();
+        long totalMicros = 0;
+        for (Phase phase : PHASES) {
+            totalMicros += trace.micros(phase);
+        }
+        addRecent(new RenderRecord(trace.template, trace.mode, Instant.now(), false, trace.phaseMicros(),
+                totalMicros, 0, 0, trace.allocatedBytes, false));
+    }
+
+    /**
+     * Returns the aggregated metrics of every (template, output mode) that was rendered at least once.
+     */
+    public List<TemplateSnapshot> templates() {
+        List<TemplateSnapshot> snapshots = new ArrayList<>();
+        templates.forEach((key, metrics) -> snapshots.add(new TemplateSnapshot(key.template(), key.mode(), metrics)));
+        return snapshots;
+    }
+
+    /**
+     * Returns the most recent renders, newest first.
+     */
+    public synchronized List<RenderRecord> recent() {
+        return List.copyOf(recent);
+    }
+
+    /**
+     * Drops all recorded data.
+     */
+    public synchronized void reset() {
+        templates.clear();
+        recent.clear();
+    }
+
+    private TemplateMetrics metricsFor(Trace trace) {
+        return templates.computeIfAbsent(new Key(trace.template, trace.mode), key -> new TemplateMetrics());
+    }
+
+    private synchronized void addRecent(RenderRecord record) {
+        if (recentCapacity <= 0) {
+            return;
+        }
+        if (recent.size() == recentCapacity) {
+            recent.removeLast();
+        }
+        recent.addFirst(record);
+    }
+
+    /**
+     * The bytes allocated by the current thread so far, or {@code -1} if the JVM does not track them.
+     */
+    private long currentThreadAllocatedBytes() {
+        return threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        log.info("Per-thread allocation tracking is not available; PDF render allocations will not be reported.");
+        return null;
+    }
+
+    /**
+     * The timing of one render in progress. A trace is used by one thread at a time; when rendering moves to
+     * another thread, the first thread calls {@link #suspend()} and the second {@link #resume()}, so the
+     * allocations of both are counted.
+     */
+    public final class Trace {
+
+        private final String template;
+        private final PdfOutputMode mode;
+        private final long[] phaseNanos = new long[PHASES.length];
+        private long phaseStart;
+        private long allocationStart;
+        private long allocatedBytes;
+
+        private Trace(String template, PdfOutputMode mode) {
+            this.template = template;
+            this.mode = mode;
+        }
+
+        /**
+         * Continues timing on the current thread. The next phase starts now.
+         */
+        public void resume() {
+            phaseStart = System.nanoTime();
+            allocationStart = currentThreadAllocatedBytes();
+        }
+
+        /**
+         * Ends {@code phase} now and starts the next one.
+         */
+        public void endPhase(Phase phase) {
+            long now = System.nanoTime();
+            phaseNanos[phase.ordinal()] += now - phaseStart;
+            phaseStart = now;
+        }
+
+        /**
+         * Adds the bytes the current thread allocated since {@link #resume()}. Call it before handing the
+         * trace to another thread, and once more when the render is over.
+         */
+        public void suspend() {
+            long end = currentThreadAllocatedBytes();
+            if (allocatedBytes < 0 || end < 0 || allocationStart < 0) {
+                allocatedBytes = -1;
+            } else {
+                allocatedBytes += end - allocationStart;
+            }
+        }
+
+        public long micros(Phase phase) {
+            return TimeUnit.NANOSECONDS.toMicros(phaseNanos[phase.ordinal()]);
+        }
+
+        private long[] phaseMicros() {
+            long[] micros = new long[PHASES.length];
+            for (Phase phase : PHASES) {
+                micros[phase.ordinal()] = micros(phase);
+            }
+            return micros;
+        }
+    }
+
+    /**
+     * The aggregated metrics of one (template, output mode).
+     */
+    public record TemplateSnapshot(String template, PdfOutputMode mode, TemplateMetrics metrics) {
+    }
+
+    /**
+     * One finished or failed render.
+     *
+     * @param phaseMicros    The time of each {@link Phase}, indexed by ordinal.
+     * @param allocatedBytes The bytes allocated by the rendering threads, or {@code -1} if unknown.
+     */
+    public record RenderRecord(String template, PdfOutputMode mode, Instant finishedAt, boolean succeeded,
+                               long[] phaseMicros, long totalMicros, int pages, long sizeBytes,
+                               long allocatedBytes, boolean complete) {
+
+        public long micros(Phase phase) {
+            return phaseMicros[phase.ordinal()];
+        }
+    }
+
+    /**
+     * Histograms and counters of one (template, output mode).
+     */
+    public static final class TemplateMetrics {
+
+        private final LatencyHistogram[] phases = new LatencyHistogram[PHASES.length];
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder pages = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder allocationSamples = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final AtomicLong maxAllocatedBytes = new AtomicLong();
+
+        private TemplateMetrics() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new LatencyHistogram();
+            }
+        }
+
+        public LatencyHistogram getPhaseTime(Phase phase) {
+            return phases[phase.ordinal()];
+        }
+
+        public LatencyHistogram getTotalTime() {
+            return total;
+        }
+
+        public long getRenders() {
+            return total.getCount();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public double getMeanPages() {
+            long renders = getRenders();
+            return renders == 0 ? 0 : (double) pages.sum() / renders;
+        }
+
+        public long getMeanSizeBytes() {
+            long renders = getRenders();
+            return renders == 0 ? 0 : bytes.sum() / renders;
+        }
+
+        /**
+         * The mean bytes allocated per render, or {@code -1} if allocations are not tracked.
+         */
+        public long getMeanAllocatedBytes() {
+            long samples = allocationSamples.sum();
+            return samples == 0 ? -1 : allocatedBytes.sum() / samples;
+        }
+
+        public long getMaxAllocatedBytes() {
+            return allocationSamples.sum() == 0 ? -1 : maxAllocatedBytes.get();
+        }
+    }
+
+    private record Key(String template, PdfOutputMode mode) {
+    }
+}
@@ -0,0 +1,237 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.exception.ServiceUnavailableException;
+import com.forkmyfolio.exception.TooManyRequestsException;
+import com.forkmyfolio.metrics.LatencyHistogram;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A dedicated, bounded executor for PDF rendering with admission control.
+ * <p>
+ * At most {@code app.pdf.render.concurrency} documents are rendered at once, and at most
+ * {@code app.pdf.render.queue-capacity} more wait for a slot. A render that finds the queue full is rejected
+ * immediately with a 429; one that has not started within {@code app.pdf.render.queue-timeout-ms} is
+ * withdrawn with a 503. Both carry a {@code Retry-After} estimate. This keeps a burst of downloads from
+ * occupying every servlet thread and starving the rest of the API.
+ * <p>
+ * The caller blocks until its render has finished. A render should only produce bytes in memory and never write
+ * to a client connection, or a slow client would hold a slot for the length of its transfer.
+ */
+@Component
+public class PdfRenderPool {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfRenderPool.class);
+
+    /**
+     * A unit of rendering work.
+     */
+    @FunctionalInterface
+    public interface RenderTask<T> {
+        T render() throws IOException;
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int concurrency;
+    private final int queueCapacity;
+    private final long queueTimeoutMs;
+
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram renderTime = new LatencyHistogram();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public PdfRenderPool(@Value("${app.pdf.render.concurrency:2}") int concurrency,
+                         @Value("${app.pdf.render.queue-capacity:16}") int queueCapacity,
+                         @Value("${app.pdf.render.queue-timeout-ms:10000}") long queueTimeoutMs) {
+        this.concurrency = concurrency;
+        this.queueCapacity = queueCapacity;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("pdf-render-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Runs a render on the pool and waits for its result.
+     *
+     * @throws TooManyRequestsException     if the wait queue is full.
+     * @throws ServiceUnavailableException if the render did not start within the queue timeout.
+     * @throws IOException                  if the render itself failed with one.
+     */
+    public <T> T execute(RenderTask<T> task) throws IOException {
+        CountDownLatch started = new CountDownLatch(1);
+        FutureTask<T> future = new FutureTask<>(measured(task, started::countDown));
+        admit(future);
+
+        try {
+            if (!started.await(queueTimeoutMs, TimeUnit.MILLISECONDS) && future.cancel(false)) {
+                // cancel(false) only succeeds if the task has not started; the pool drops it when dequeued.
+                executor.remove(future);
+                timedOut.increment();
+                log.warn("PDF render waited more than {} ms for a slot; giving up.", queueTimeoutMs);
+                throw new ServiceUnavailableException("PDF generation is busy. Please retry shortly.", estimateRetryAfterSeconds());
+            }
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("PDF generation was interrupted.", estimateRetryAfterSeconds());
+        } catch (CancellationException e) {
+            throw new ServiceUnavailableException("PDF generation was cancelled.", estimateRetryAfterSeconds());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("PDF render failed.", cause);
+        }
+    }
+
+    /**
+     * Queues a render without waiting for it. Queued background renders are not subject to the queue
+     * timeout, but they do occupy queue slots and are rejected the same way when the queue is full.
+     *
+     * @param task    The render.
+     * @param onStart Called on the pool thread just before the render starts.
+     * @return A future completed with the render's result or failure.
+     * @throws TooManyRequestsException if the wait queue is full.
+     */
+    public <T> CompletableFuture<T> submit(RenderTask<T> task, Runnable onStart) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Callable<T> measured = measured(task, onStart);
+        admit(() -> {
+            try {
+                result.complete(measured.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    private void admit(Runnable runnable) {
+        try {
+            executor.execute(runnable);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("PDF render queue is full ({} waiting); rejecting request.", queueCapacity);
+            throw new TooManyRequestsException("PDF generation is busy. Please retry shortly.", estimateRetryAfterSeconds());
+        }
+    }
+
+    /**
+     * Wraps a render so that its queue wait, render time and outcome are recorded.
+     */
+    private <T> Callable<T> measured(RenderTask<T> task, Runnable onStart) {
+        long enqueuedAt = System.nanoTime();
+        return () -> {
+            onStart.run();
+            long startedAt = System.nanoTime();
+            waitTime.record((startedAt - enqueuedAt) / 1_000);
+            try {
+                T result = task.render();
+                completed.increment();
+                return result;
+            } catch (IOException | RuntimeException | Error e) {
+                failed.increment();
+                throw e;
+            } finally {
+                renderTime.record((System.nanoTime() - startedAt) / 1_000);
+            }
+        };
+    }
+
+    /**
+     * Estimates how long until a slot frees up: the work ahead in the queue times the mean render time,
+     * spread over the worker threads. Never less than one second.
+     */
+    long estimateRetryAfterSeconds() {
+        double meanRenderMs = renderTime.getMeanMicros() / 1_000.0;
+        double backlog = executor.getQueue().size() + executor.getActiveCount();
+        long seconds = (long) Math.ceil(backlog * meanRenderMs / concurrency / 1_000.0);
+        return Math.max(1, seconds);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getQueueTimeoutMs() {
+        return queueTimeoutMs;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    public LatencyHistogram getRenderTime() {
+        return renderTime;
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+}
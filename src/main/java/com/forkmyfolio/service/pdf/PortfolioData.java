@@ -7,12 +7,25 @@ import java.util.List;
 /**
  * A data transfer object to hold all the necessary information for building a PDF.
  * This simplifies method signatures for PDF templates.
+ * {@code profileImage} is the cached, downscaled résumé photo, or {@code null} if there is none or it is not cached yet.
+ * <p>
+ * Instances built by {@link PortfolioDataLoader} hold immutable lists in display order: experiences newest first,
+ * qualifications by completion year (newest first), skills by level (expert first) then name, projects in creation order.
  */
 public record PortfolioData(
         PortfolioProfile profile,
         List<Experience> experiences,
         List<Qualification> qualifications,
         List<Project> projects,
-        List<Skill> skills
+        List<Skill> skills,
+        byte[] profileImage
 ) {
+    /**
+     * Whether the profile has a photo that is not in the image cache yet. Such a render is complete except
+     * for the photo and should not be cached.
+     */
+    public boolean isMissingProfileImage() {
+        String url = profile.getResumeImageUrl();
+        return profileImage == null && url != null && !url.isBlank();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.model.*;
+import com.forkmyfolio.repository.ExperienceRepository;
+import com.forkmyfolio.repository.ProjectRepository;
+import com.forkmyfolio.repository.QualificationRepository;
+import com.forkmyfolio.repository.SkillRepository;
+import com.forkmyfolio.service.PortfolioProfileService;
+import com.forkmyfolio.service.image.ImageCache;
+import com.forkmyfolio.service.image.ImageVariant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Loads a complete, read-only snapshot of the portfolio owner's content for PDF rendering.
+ * <p>
+ * Every query is scoped to the owner, so the work does not grow with other users' data, and the number of
+ * queries is fixed: the owner and profile, then one query each for experiences, qualifications, projects
+ * (with their tech stacks fetched in the same query) and skills. All of them run in one read-only transaction,
+ * so the snapshot is consistent. The returned lists are immutable and presorted in display order, so templates
+ * can share one snapshot without copying or sorting it.
+ */
+@Component
+@RequiredArgsConstructor
+public class PortfolioDataLoader {
+
+    /** Expert skills first, then alphabetically. */
+    static final Comparator<Skill> SKILL_ORDER = Comparator.comparing(Skill::getLevel).reversed()
+            .thenComparing(Skill::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final PortfolioProfileService portfolioProfileService;
+    private final ExperienceRepository experienceRepository;
+    private final QualificationRepository qualificationRepository;
+    private final ProjectRepository projectRepository;
+    private final SkillRepository skillRepository;
+    private final ImageCache imageCache;
+
+    /**
+     * Loads the public portfolio.
+     *
+     * @return The snapshot. The profile photo is only included if it is already in the local image cache.
+     */
+    @Transactional(readOnly = true)
+    public PortfolioData load() {
+        PortfolioProfile profile = portfolioProfileService.getPublicProfile();
+        User owner = profile.getUser();
+
+        List<Experience> experiences = List.copyOf(experienceRepository.findByUserOrderByStartDateDesc(owner));
+        List<Qualification> qualifications = List.copyOf(qualificationRepository.findByUserOrderByCompletionYearDesc(owner));
+        List<Project> projects = List.copyOf(projectRepository.findWithTechStackByUserOrderByIdAsc(owner));
+        List<Skill> skills = skillRepository.findByUser(owner).stream().sorted(SKILL_ORDER).toList();
+
+        // Only ever read from the local image cache; a render must not wait on the image host.
+        byte[] profileImage = imageCache.get(profile.getResumeImageUrl(), ImageVariant.PDF_AVATAR).orElse(null);
+        return new PortfolioData(profile, experiences, qualifications, projects, skills, profileImage);
+    }
+}
@@ -3,6 +3,8 @@ package com.forkmyfolio.service.pdf.templates;
 import com.forkmyfolio.model.PortfolioProfile;
 import com.forkmyfolio.model.User;
 import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.pdf.PdfFontKey;
+import com.forkmyfolio.service.pdf.PdfRenderContext;
 import com.forkmyfolio.service.pdf.PortfolioData;
 import com.itextpdf.barcodes.BarcodeQRCode;
 import com.itextpdf.kernel.colors.ColorConstants;
@@ -30,7 +32,9 @@ public class BusinessCardTemplate implements PortfolioPdfTemplate {
     }
 
     @Override
-    public void generate(Document document, PdfGenerationService.PdfContext ctx, PortfolioData data) throws IOException {
+    public void generate(PdfRenderContext ctx) throws IOException {
+        Document document = ctx.document;
+        PortfolioData data = ctx.data;
         document.setMargins(18, 18, 18, 18); // 0.25 inch margins
 
         PortfolioProfile profile = data.profile();
@@ -42,7 +46,7 @@ public class BusinessCardTemplate implements PortfolioPdfTemplate {
         // Left side: Text info
         Cell leftCell = new Cell().setBorder(Border.NO_BORDER).setVerticalAlignment(VerticalAlignment.MIDDLE);
         leftCell.add(new Paragraph(user.getFirstName() + " " + user.getLastName())
-                .setFont(ctx.nameFont).setFontSize(14).setMarginBottom(2));
+                .setFontFamily(ctx.withEmojiFallback(PdfFontKey.HELVETICA_BOLD)).setFontSize(14).setMarginBottom(2));
         leftCell.add(new Paragraph(profile.getHeadline())
                 .setFont(ctx.itemSubtitleFont).setFontSize(8).setFontColor(PdfGenerationService.SECONDARY_COLOR).setMarginBottom(10));
 
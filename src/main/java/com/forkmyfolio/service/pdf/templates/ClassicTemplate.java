@@ -4,12 +4,11 @@ import com.forkmyfolio.model.Experience;
 import com.forkmyfolio.model.Project;
 import com.forkmyfolio.model.Qualification;
 import com.forkmyfolio.model.User;
-import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.pdf.PdfFontKey;
+import com.forkmyfolio.service.pdf.PdfRenderContext;
 import com.forkmyfolio.service.pdf.PortfolioData;
-import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.SolidBorder;
@@ -20,7 +19,6 @@ import com.itextpdf.layout.properties.TextAlignment;
 
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 import java.util.stream.Collectors;
 
 /**
@@ -28,22 +26,22 @@ import java.util.stream.Collectors;
  */
 public class ClassicTemplate implements PortfolioPdfTemplate {
 
-    private PdfFont headingFont;
-    private PdfFont bodyFont;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy");
 
     @Override
-    public void generate(Document document, PdfGenerationService.PdfContext ctx, PortfolioData data) throws IOException {
-        this.headingFont = PdfFontFactory.createFont(StandardFonts.TIMES_BOLD);
-        this.bodyFont = PdfFontFactory.createFont(StandardFonts.TIMES_ROMAN);
+    public void generate(PdfRenderContext ctx) throws IOException {
+        Document document = ctx.document;
+        PortfolioData data = ctx.data;
+        Fonts fonts = new Fonts(ctx.font(PdfFontKey.TIMES_BOLD), ctx.font(PdfFontKey.TIMES_ROMAN),
+                ctx.withEmojiFallback(PdfFontKey.TIMES_BOLD), ctx.withEmojiFallback(PdfFontKey.TIMES_ROMAN));
 
-        document.setFont(bodyFont).setFontColor(ColorConstants.BLACK);
+        document.setFont(fonts.body()).setFontColor(ColorConstants.BLACK);
         document.setMargins(50, 50, 50, 50);
 
         // 1. Header
         User user = data.profile().getUser();
         document.add(new Paragraph(user.getFirstName() + " " + user.getLastName())
-                .setFont(headingFont).setFontSize(24).setTextAlignment(TextAlignment.CENTER).setMarginBottom(2));
+                .setFontFamily(fonts.headingFamily()).setFontSize(24).setTextAlignment(TextAlignment.CENTER).setMarginBottom(2));
 
         String contactInfo = String.join(" | ",
                 data.profile().getPublicEmail(),
@@ -54,43 +52,41 @@ public class ClassicTemplate implements PortfolioPdfTemplate {
                 .setFontSize(10).setTextAlignment(TextAlignment.CENTER));
 
         // 2. Summary
-        createSection(document, "Summary");
-        document.add(new Paragraph(data.profile().getSummary()).setMarginBottom(10));
+        createSection(document, "Summary", fonts);
+        document.add(new Paragraph(data.profile().getSummary()).setFontFamily(fonts.bodyFamily()).setMarginBottom(10));
 
         // 3. Experience
-        createSection(document, "Experience");
-        data.experiences().sort(Comparator.comparing(Experience::getStartDate).reversed());
+        createSection(document, "Experience", fonts);
         for (Experience exp : data.experiences()) {
             String dateStr = exp.getStartDate().format(DATE_FORMATTER) + " – " +
                     (exp.getEndDate() == null ? "Present" : exp.getEndDate().format(DATE_FORMATTER));
-            createEntry(document, exp.getJobTitle(), dateStr, exp.getCompanyName() + ", " + exp.getLocation(), exp.getDescription());
+            createEntry(document, exp.getJobTitle(), dateStr, exp.getCompanyName() + ", " + exp.getLocation(), exp.getDescription(), fonts);
         }
 
         // 4. Projects
-        createSection(document, "Projects");
+        createSection(document, "Projects", fonts);
         for (Project proj : data.projects()) {
-            createEntry(document, proj.getTitle(), proj.getTechStack().stream().collect(Collectors.joining(", ")), null, proj.getDescription());
+            createEntry(document, proj.getTitle(), proj.getTechStack().stream().collect(Collectors.joining(", ")), null, proj.getDescription(), fonts);
         }
 
         // 5. Education
-        createSection(document, "Education");
-        data.qualifications().sort(Comparator.comparing(Qualification::getCompletionYear).reversed());
+        createSection(document, "Education", fonts);
         for (Qualification qual : data.qualifications()) {
-            createEntry(document, qual.getQualificationName(), String.valueOf(qual.getCompletionYear()), qual.getInstitutionName(), qual.getGrade());
+            createEntry(document, qual.getQualificationName(), String.valueOf(qual.getCompletionYear()), qual.getInstitutionName(), qual.getGrade(), fonts);
         }
     }
 
-    private void createSection(Document doc, String title) {
+    private void createSection(Document doc, String title, Fonts fonts) {
         doc.add(new Div()
                 .setBorderTop(new SolidBorder(ColorConstants.BLACK, 0.5f))
                 .setMarginTop(10).setMarginBottom(5));
         doc.add(new Paragraph(title.toUpperCase())
-                .setFont(headingFont).setFontSize(12));
+                .setFont(fonts.heading()).setFontSize(12));
     }
 
 
 
-    private void createEntry(Document doc, String title, String date, String subtitle, String description) {
+    private void createEntry(Document doc, String title, String date, String subtitle, String description, Fonts fonts) {
         com.itextpdf.layout.element.Table table = new com.itextpdf.layout.element.Table(new float[]{70, 30});
         table.setWidth(com.itextpdf.layout.properties.UnitValue.createPercentValue(100));
         table.addCell(new Paragraph(title).setBold().setMargin(0).setPadding(0).setBorder(Border.NO_BORDER));
@@ -103,7 +99,13 @@ public class ClassicTemplate implements PortfolioPdfTemplate {
         }
 
         if (description != null && !description.isBlank()) {
-            doc.add(new Paragraph(description).setFontSize(10).setMarginLeft(15).setMarginBottom(10));
+            doc.add(new Paragraph(description).setFontFamily(fonts.bodyFamily()).setFontSize(10).setMarginLeft(15).setMarginBottom(10));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The fonts of one render. Created per call so that concurrent renders never share font instances.
+     */
+    private record Fonts(PdfFont heading, PdfFont body, String[] headingFamily, String[] bodyFamily) {
+    }
+}
@@ -2,12 +2,13 @@ package com.forkmyfolio.service.pdf.templates;
 
 import com.forkmyfolio.model.*;
 import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.pdf.PdfFontKey;
+import com.forkmyfolio.service.pdf.PdfRenderContext;
 import com.forkmyfolio.service.pdf.PortfolioData;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.pdf.action.PdfAction;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
@@ -20,10 +21,8 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -38,54 +37,48 @@ public class EleganceTemplate implements PortfolioPdfTemplate {
     private static final Color SUBTLE_COLOR = new DeviceRgb(108, 117, 125); // #6c757d (Medium Gray)
 
     // --- Template-Specific Fonts ---
-    private PdfFont headingFont;
-    private PdfFont bodyFont;
-    private PdfFont bodyItalicFont;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy");
 
     @Override
-    public void generate(Document document, PdfGenerationService.PdfContext ctx, PortfolioData data) throws IOException {
+    public void generate(PdfRenderContext ctx) throws IOException {
+        Document document = ctx.document;
+        PortfolioData data = ctx.data;
         // This template uses its own fonts and colors, so we set them up here.
-        initializeTemplateResources();
+        Fonts fonts = Fonts.from(ctx);
         document.setBackgroundColor(BG_COLOR);
         document.setFontColor(TEXT_COLOR);
-        document.setFont(bodyFont);
+        document.setFont(fonts.body());
         document.setMargins(40, 40, 40, 40);
 
         // 1. Header
-        createHeader(document, data.profile(), ctx.solidIconFont, ctx.brandsIconFont);
+        createHeader(document, data.profile(), ctx.solidIconFont, ctx.brandsIconFont, fonts);
 
         // 2. Summary
-        createSection(document, "Summary", data.profile().getSummary());
+        createSection(document, "Summary", data.profile().getSummary(), fonts);
 
         // 3. Skills
-        createSkillsSection(document, data.skills());
+        createSkillsSection(document, data.skills(), fonts);
 
         // 4. Experience
-        createExperienceSection(document, data.experiences());
+        createExperienceSection(document, data.experiences(), fonts);
 
         // 5. Projects
-        createProjectsSection(document, data.projects());
+        createProjectsSection(document, data.projects(), fonts);
 
         // 6. Qualifications
-        createQualificationsSection(document, data.qualifications());
+        createQualificationsSection(document, data.qualifications(), fonts);
     }
 
-    private void initializeTemplateResources() throws IOException {
-        this.headingFont = loadFontFromResource("fonts/Montserrat-Bold.ttf");
-        this.bodyFont = loadFontFromResource("fonts/Lato-Regular.ttf");
-        this.bodyItalicFont = loadFontFromResource("fonts/Lato-Italic.ttf");
-    }
 
-    private void createHeader(Document doc, PortfolioProfile profile, PdfFont solidIconFont, PdfFont brandsIconFont) {
+    private void createHeader(Document doc, PortfolioProfile profile, PdfFont solidIconFont, PdfFont brandsIconFont, Fonts fonts) {
         User user = profile.getUser();
         // Name
         doc.add(new Paragraph(user.getFirstName().toUpperCase() + " " + user.getLastName().toUpperCase())
-                .setFont(headingFont).setFontSize(32).setMarginBottom(0));
+                .setFontFamily(fonts.headingFamily()).setFontSize(32).setMarginBottom(0));
         // Headline
         doc.add(new Paragraph(profile.getHeadline())
-                .setFont(bodyFont).setFontSize(14).setFontColor(ACCENT_COLOR).setMarginTop(0).setMarginBottom(10));
+                .setFont(fonts.body()).setFontSize(14).setFontColor(ACCENT_COLOR).setMarginTop(0).setMarginBottom(10));
 
         // --- IMPROVED: DYNAMIC CONTACT SECTION ---
         List<Paragraph> contactItems = new ArrayList<>();
@@ -135,22 +128,21 @@ public class EleganceTemplate implements PortfolioPdfTemplate {
         return p;
     }
 
-    private void createSection(Document doc, String title, String content) {
+    private void createSection(Document doc, String title, String content, Fonts fonts) {
         if (content == null || content.isBlank()) return;
         doc.add(new Paragraph(title.toUpperCase())
-                .setFont(headingFont).setFontSize(14).setFontColor(ACCENT_COLOR)
+                .setFont(fonts.heading()).setFontSize(14).setFontColor(ACCENT_COLOR)
                 .setMarginTop(20).setMarginBottom(5));
-        doc.add(new Paragraph(content).setMultipliedLeading(1.2f));
+        doc.add(new Paragraph(content).setFontFamily(fonts.bodyFamily()).setMultipliedLeading(1.2f));
     }
 
-    private void createSkillsSection(Document doc, List<Skill> skills) {
+    private void createSkillsSection(Document doc, List<Skill> skills, Fonts fonts) {
         if (skills.isEmpty()) return;
         doc.add(new Paragraph("SKILLS")
-                .setFont(headingFont).setFontSize(14).setFontColor(ACCENT_COLOR)
+                .setFont(fonts.heading()).setFontSize(14).setFontColor(ACCENT_COLOR)
                 .setMarginTop(20).setMarginBottom(10));
 
         Paragraph skillParagraph = new Paragraph();
-        skills.sort(Comparator.comparing(Skill::getLevel).reversed().thenComparing(Skill::getName));
 
         for (Skill skill : skills) {
             Color pillColor = switch (skill.getLevel()) {
@@ -169,39 +161,38 @@ public class EleganceTemplate implements PortfolioPdfTemplate {
         doc.add(skillParagraph);
     }
 
-    private void createExperienceSection(Document doc, List<Experience> experiences) {
+    private void createExperienceSection(Document doc, List<Experience> experiences, Fonts fonts) {
         if (experiences.isEmpty()) return;
         doc.add(new Paragraph("EXPERIENCE")
-                .setFont(headingFont).setFontSize(14).setFontColor(ACCENT_COLOR)
+                .setFont(fonts.heading()).setFontSize(14).setFontColor(ACCENT_COLOR)
                 .setMarginTop(20).setMarginBottom(5));
 
-        experiences.sort(Comparator.comparing(Experience::getStartDate).reversed());
         for (Experience exp : experiences) {
             String dateText = exp.getStartDate().format(DATE_FORMATTER) + " - " +
                     (exp.getEndDate() == null ? "Present" : exp.getEndDate().format(DATE_FORMATTER));
 
             Table itemHeader = new Table(UnitValue.createPercentArray(new float[]{3, 1})).useAllAvailableWidth();
-            itemHeader.addCell(new Cell().add(new Paragraph(exp.getJobTitle()).setFont(bodyFont).setFontSize(12).setBold())
+            itemHeader.addCell(new Cell().add(new Paragraph(exp.getJobTitle()).setFont(fonts.body()).setFontSize(12).setBold())
                     .setBorder(Border.NO_BORDER));
             itemHeader.addCell(new Cell().add(new Paragraph(dateText).setTextAlignment(TextAlignment.RIGHT))
                     .setBorder(Border.NO_BORDER));
             doc.add(itemHeader.setMarginBottom(0).setPadding(0));
 
             doc.add(new Paragraph(exp.getCompanyName() + (exp.getLocation() != null ? ", " + exp.getLocation() : ""))
-                    .setFont(bodyItalicFont).setFontColor(SUBTLE_COLOR).setFontSize(10).setMarginTop(0));
+                    .setFont(fonts.italic()).setFontColor(SUBTLE_COLOR).setFontSize(10).setMarginTop(0));
 
-            doc.add(new Paragraph(exp.getDescription()).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
+            doc.add(new Paragraph(exp.getDescription()).setFontFamily(fonts.bodyFamily()).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
         }
     }
 
-    private void createProjectsSection(Document doc, List<Project> projects) {
+    private void createProjectsSection(Document doc, List<Project> projects, Fonts fonts) {
         if (projects.isEmpty()) return;
         doc.add(new Paragraph("PROJECTS")
-                .setFont(headingFont).setFontSize(14).setFontColor(ACCENT_COLOR)
+                .setFont(fonts.heading()).setFontSize(14).setFontColor(ACCENT_COLOR)
                 .setMarginTop(20).setMarginBottom(5));
 
         for (Project proj : projects) {
-            Text titleText = new Text(proj.getTitle()).setFont(bodyFont).setFontSize(12).setBold();
+            Text titleText = new Text(proj.getTitle()).setFont(fonts.body()).setFontSize(12).setBold();
             String projectUrl = proj.getLiveUrl() != null ? proj.getLiveUrl() : proj.getRepoUrl();
             if (projectUrl != null && !projectUrl.isBlank()) {
                 titleText.setAction(PdfAction.createURI(projectUrl)).setUnderline().setFontColor(ACCENT_COLOR);
@@ -211,29 +202,28 @@ public class EleganceTemplate implements PortfolioPdfTemplate {
             if (proj.getTechStack() != null && !proj.getTechStack().isEmpty()) {
                 String techStackString = String.join(" • ", proj.getTechStack());
                 doc.add(new Paragraph(techStackString)
-                        .setFont(bodyItalicFont).setFontColor(SUBTLE_COLOR).setFontSize(10).setMarginTop(0));
+                        .setFont(fonts.italic()).setFontColor(SUBTLE_COLOR).setFontSize(10).setMarginTop(0));
             }
-            doc.add(new Paragraph(proj.getDescription()).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
+            doc.add(new Paragraph(proj.getDescription()).setFontFamily(fonts.bodyFamily()).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
         }
     }
 
-    private void createQualificationsSection(Document doc, List<Qualification> qualifications) {
+    private void createQualificationsSection(Document doc, List<Qualification> qualifications, Fonts fonts) {
         if (qualifications.isEmpty()) return;
         doc.add(new Paragraph("QUALIFICATIONS")
-                .setFont(headingFont).setFontSize(14).setFontColor(ACCENT_COLOR)
+                .setFont(fonts.heading()).setFontSize(14).setFontColor(ACCENT_COLOR)
                 .setMarginTop(20).setMarginBottom(5));
 
-        qualifications.sort(Comparator.comparing(Qualification::getCompletionYear).reversed());
         for (Qualification qual : qualifications) {
             Table itemHeader = new Table(UnitValue.createPercentArray(new float[]{3, 1})).useAllAvailableWidth();
-            itemHeader.addCell(new Cell().add(new Paragraph(qual.getQualificationName()).setFont(bodyFont).setFontSize(12).setBold())
+            itemHeader.addCell(new Cell().add(new Paragraph(qual.getQualificationName()).setFont(fonts.body()).setFontSize(12).setBold())
                     .setBorder(Border.NO_BORDER));
             itemHeader.addCell(new Cell().add(new Paragraph(String.valueOf(qual.getCompletionYear())).setTextAlignment(TextAlignment.RIGHT))
                     .setBorder(Border.NO_BORDER));
             doc.add(itemHeader.setMarginBottom(0).setPadding(0));
 
             doc.add(new Paragraph(qual.getInstitutionName())
-                    .setFont(bodyItalicFont).setFontColor(SUBTLE_COLOR).setFontSize(10).setMarginTop(0));
+                    .setFont(fonts.italic()).setFontColor(SUBTLE_COLOR).setFontSize(10).setMarginTop(0));
 
             if (qual.getGrade() != null && !qual.getGrade().isBlank()) {
                 doc.add(new Paragraph(qual.getGrade()).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
@@ -243,13 +233,13 @@ public class EleganceTemplate implements PortfolioPdfTemplate {
         }
     }
 
-    private PdfFont loadFontFromResource(String resourcePath) throws IOException {
-        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(resourcePath)) {
-            if (is == null) {
-                throw new IOException("Font resource not found on classpath: " + resourcePath);
-            }
-            byte[] fontBytes = is.readAllBytes();
-            return PdfFontFactory.createFont(fontBytes, PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED);
+    /**
+     * The fonts of one render. Created per call so that concurrent renders never share font instances.
+     */
+    private record Fonts(PdfFont heading, PdfFont body, PdfFont italic, String[] headingFamily, String[] bodyFamily) {
+        static Fonts from(PdfRenderContext ctx) {
+            return new Fonts(ctx.font(PdfFontKey.MONTSERRAT_BOLD), ctx.font(PdfFontKey.LATO_REGULAR), ctx.font(PdfFontKey.LATO_ITALIC),
+                    ctx.withEmojiFallback(PdfFontKey.MONTSERRAT_BOLD), ctx.withEmojiFallback(PdfFontKey.LATO_REGULAR));
         }
     }
-}
\ No newline at end of file
+}
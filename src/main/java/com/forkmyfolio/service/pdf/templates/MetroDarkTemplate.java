@@ -1,12 +1,12 @@
 package com.forkmyfolio.service.pdf.templates;
 
 import com.forkmyfolio.model.*;
-import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.pdf.PdfFontKey;
+import com.forkmyfolio.service.pdf.PdfRenderContext;
 import com.forkmyfolio.service.pdf.PortfolioData;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.pdf.action.PdfAction;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Div;
@@ -15,10 +15,8 @@ import com.itextpdf.layout.element.Text;
 import com.itextpdf.layout.properties.TextAlignment;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class MetroDarkTemplate implements PortfolioPdfTemplate {
@@ -29,36 +27,35 @@ public class MetroDarkTemplate implements PortfolioPdfTemplate {
     private static final Color ACCENT_COLOR = new DeviceRgb(0, 150, 255);   // #0096FF (Vibrant Blue)
     private static final Color SUBTLE_COLOR = new DeviceRgb(160, 160, 160); // #A0A0A0 (Medium Gray)
 
-    private PdfFont headingFont;
-    private PdfFont bodyFont;
-    private PdfFont bodyItalicFont;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy");
 
     @Override
-    public void generate(Document document, PdfGenerationService.PdfContext ctx, PortfolioData data) throws IOException {
-        initializeTemplateResources();
+    public void generate(PdfRenderContext ctx) throws IOException {
+        Document document = ctx.document;
+        PortfolioData data = ctx.data;
+        Fonts fonts = Fonts.from(ctx);
         document.setBackgroundColor(BG_COLOR);
         document.setFontColor(TEXT_COLOR);
-        document.setFont(bodyFont);
+        document.setFont(fonts.body());
         document.setMargins(40, 40, 40, 40);
 
         User user = data.profile().getUser();
 
         // --- Header ---
         document.add(new Paragraph(user.getFirstName().toUpperCase() + " " + user.getLastName().toUpperCase())
-                .setFont(headingFont).setFontSize(36).setTextAlignment(TextAlignment.CENTER).setMarginBottom(0));
+                .setFontFamily(fonts.headingFamily()).setFontSize(36).setTextAlignment(TextAlignment.CENTER).setMarginBottom(0));
         document.add(new Paragraph(data.profile().getHeadline())
-                .setFont(bodyItalicFont).setFontSize(14).setFontColor(ACCENT_COLOR).setTextAlignment(TextAlignment.CENTER).setMarginBottom(10));
+                .setFont(fonts.italic()).setFontSize(14).setFontColor(ACCENT_COLOR).setTextAlignment(TextAlignment.CENTER).setMarginBottom(10));
 
         // --- IMPROVED: Clickable and robust contact info ---
         createContactInfo(document, data.profile());
 
         // --- Body ---
-        createSection(document, "Profile", data.profile().getSummary());
-        createExperienceSection(document, data.experiences());
-        createProjectsSection(document, data.projects());
-        createQualificationsSection(document, data.qualifications());
+        createSection(document, "Profile", data.profile().getSummary(), fonts);
+        createExperienceSection(document, data.experiences(), fonts);
+        createProjectsSection(document, data.projects(), fonts);
+        createQualificationsSection(document, data.qualifications(), fonts);
     }
 
     private void createContactInfo(Document doc, PortfolioProfile profile) {
@@ -93,26 +90,25 @@ public class MetroDarkTemplate implements PortfolioPdfTemplate {
         }
     }
 
-    private void createSection(Document doc, String title, String content) {
+    private void createSection(Document doc, String title, String content, Fonts fonts) {
         if (content == null || content.isBlank()) return;
         doc.add(new Paragraph(title.toUpperCase())
-                .setFont(headingFont).setFontSize(12).setFontColor(ACCENT_COLOR)
+                .setFont(fonts.heading()).setFontSize(12).setFontColor(ACCENT_COLOR)
                 .setMarginTop(15).setMarginBottom(5));
         doc.add(new Div().setHeight(1).setBackgroundColor(ACCENT_COLOR).setMarginBottom(10));
-        doc.add(new Paragraph(content).setMultipliedLeading(1.3f));
+        doc.add(new Paragraph(content).setFontFamily(fonts.bodyFamily()).setMultipliedLeading(1.3f));
     }
 
-    private void createSectionHeader(Document doc, String title) {
+    private void createSectionHeader(Document doc, String title, Fonts fonts) {
         doc.add(new Paragraph(title.toUpperCase())
-                .setFont(headingFont).setFontSize(12).setFontColor(ACCENT_COLOR)
+                .setFont(fonts.heading()).setFontSize(12).setFontColor(ACCENT_COLOR)
                 .setMarginTop(15).setMarginBottom(5));
         doc.add(new Div().setHeight(1).setBackgroundColor(ACCENT_COLOR).setMarginBottom(10));
     }
 
-    private void createExperienceSection(Document doc, java.util.List<Experience> experiences) {
+    private void createExperienceSection(Document doc, java.util.List<Experience> experiences, Fonts fonts) {
         if (experiences.isEmpty()) return;
-        createSectionHeader(doc, "Experience");
-        experiences.sort(Comparator.comparing(Experience::getStartDate).reversed());
+        createSectionHeader(doc, "Experience", fonts);
         for (Experience exp : experiences) {
             String dateText = exp.getStartDate().format(DATE_FORMATTER) + " - " + (exp.getEndDate() == null ? "Present" : exp.getEndDate().format(DATE_FORMATTER));
             doc.add(new Paragraph()
@@ -121,13 +117,13 @@ public class MetroDarkTemplate implements PortfolioPdfTemplate {
                     .add(new Text(exp.getCompanyName()).setBold())
                     .add(new Text("  |  " + dateText).setFontColor(SUBTLE_COLOR).setFontSize(9))
                     .setMarginBottom(0));
-            doc.add(new Paragraph(exp.getDescription()).setMarginLeft(15).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
+            doc.add(new Paragraph(exp.getDescription()).setFontFamily(fonts.bodyFamily()).setMarginLeft(15).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
         }
     }
 
-    private void createProjectsSection(Document doc, java.util.List<Project> projects) {
+    private void createProjectsSection(Document doc, java.util.List<Project> projects, Fonts fonts) {
         if (projects.isEmpty()) return;
-        createSectionHeader(doc, "Projects");
+        createSectionHeader(doc, "Projects", fonts);
         for (Project proj : projects) {
             // Determine the primary URL for the project link
             String projectUrl = null;
@@ -150,14 +146,13 @@ public class MetroDarkTemplate implements PortfolioPdfTemplate {
                     .setMarginBottom(0);
 
             doc.add(titleLine);
-            doc.add(new Paragraph(proj.getDescription()).setMarginLeft(15).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
+            doc.add(new Paragraph(proj.getDescription()).setFontFamily(fonts.bodyFamily()).setMarginLeft(15).setMarginTop(5).setMarginBottom(15).setMultipliedLeading(1.2f));
         }
     }
 
-    private void createQualificationsSection(Document doc, java.util.List<Qualification> qualifications) {
+    private void createQualificationsSection(Document doc, java.util.List<Qualification> qualifications, Fonts fonts) {
         if (qualifications.isEmpty()) return;
-        createSectionHeader(doc, "Education");
-        qualifications.sort(Comparator.comparing(Qualification::getCompletionYear).reversed());
+        createSectionHeader(doc, "Education", fonts);
         for (Qualification qual : qualifications) {
             doc.add(new Paragraph()
                     .add(new Text(qual.getQualificationName()).setBold())
@@ -167,16 +162,13 @@ public class MetroDarkTemplate implements PortfolioPdfTemplate {
         }
     }
 
-    private void initializeTemplateResources() throws IOException {
-        this.headingFont = loadFontFromResource("fonts/Montserrat-Bold.ttf");
-        this.bodyFont = loadFontFromResource("fonts/Lato-Regular.ttf");
-        this.bodyItalicFont = loadFontFromResource("fonts/Lato-Italic.ttf");
-    }
-
-    private PdfFont loadFontFromResource(String resourcePath) throws IOException {
-        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(resourcePath)) {
-            if (is == null) throw new IOException("Font resource not found: " + resourcePath);
-            return PdfFontFactory.createFont(is.readAllBytes(), PdfFontFactory.EmbeddingStrategy.FORCE_EMBEDDED);
+    /**
+     * The fonts of one render. Created per call so that concurrent renders never share font instances.
+     */
+    private record Fonts(PdfFont heading, PdfFont body, PdfFont italic, String[] headingFamily, String[] bodyFamily) {
+        static Fonts from(PdfRenderContext ctx) {
+            return new Fonts(ctx.font(PdfFontKey.MONTSERRAT_BOLD), ctx.font(PdfFontKey.LATO_REGULAR), ctx.font(PdfFontKey.LATO_ITALIC),
+                    ctx.withEmojiFallback(PdfFontKey.MONTSERRAT_BOLD), ctx.withEmojiFallback(PdfFontKey.LATO_REGULAR));
         }
     }
-}
\ No newline at end of file
+}
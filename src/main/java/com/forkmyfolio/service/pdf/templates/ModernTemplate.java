@@ -2,6 +2,8 @@ package com.forkmyfolio.service.pdf.templates;
 
 import com.forkmyfolio.model.*;
 import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.pdf.PdfFontKey;
+import com.forkmyfolio.service.pdf.PdfRenderContext;
 import com.forkmyfolio.service.pdf.PortfolioData;
 import com.itextpdf.barcodes.BarcodeQRCode;
 import com.itextpdf.io.image.ImageDataFactory;
@@ -18,7 +20,6 @@ import com.itextpdf.layout.properties.UnitValue;
 
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 
 /**
  * The "Modern" PDF template implementation. Contains all layout logic for this specific design.
@@ -38,14 +39,16 @@ public class ModernTemplate implements PortfolioPdfTemplate {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM yyyy");
 
     @Override
-    public void generate(Document document, PdfGenerationService.PdfContext ctx, PortfolioData data) throws IOException {
+    public void generate(PdfRenderContext ctx) throws IOException {
+        Document document = ctx.document;
+        PortfolioData data = ctx.data;
         User user = data.profile().getUser();
 
         // Banner
         Table bannerTable = new Table(UnitValue.createPercentArray(new float[]{1})).useAllAvailableWidth();
         Cell bannerCell = new Cell()
                 .add(new Paragraph(user.getFirstName() + " " + user.getLastName())
-                        .setFont(ctx.nameFont).setFontSize(24).setFontColor(ColorConstants.WHITE))
+                        .setFontFamily(ctx.withEmojiFallback(PdfFontKey.HELVETICA_BOLD)).setFontSize(24).setFontColor(ColorConstants.WHITE))
                 .add(new Paragraph(data.profile().getHeadline())
                         .setFont(ctx.headlineFont).setFontSize(14).setFontColor(ColorConstants.WHITE))
                 .setTextAlignment(TextAlignment.CENTER)
@@ -73,13 +76,13 @@ public class ModernTemplate implements PortfolioPdfTemplate {
         document.add(footerText);
     }
 
-    private Cell createLeftColumn(PortfolioData data, PdfGenerationService.PdfContext ctx) {
+    private Cell createLeftColumn(PortfolioData data, PdfRenderContext ctx) {
         Cell cell = new Cell().setBorder(Border.NO_BORDER).setBackgroundColor(SIDEBAR_BG).setPadding(20);
         PortfolioProfile profile = data.profile();
 
-        if (profile.getResumeImageUrl() != null && !profile.getResumeImageUrl().isBlank()) {
+        if (data.profileImage() != null) {
             try {
-                Image profileImage = new Image(ImageDataFactory.create(profile.getResumeImageUrl()));
+                Image profileImage = new Image(ImageDataFactory.create(data.profileImage()));
                 profileImage.setWidth(100).setHeight(100).setAutoScale(false);
                 cell.add(new Paragraph().add(profileImage).setTextAlignment(TextAlignment.CENTER).setMarginBottom(20));
             } catch (Exception e) {
@@ -113,7 +116,6 @@ public class ModernTemplate implements PortfolioPdfTemplate {
 
         addSectionToCell(cell, "Skills", () -> {
             Table skillsTable = new Table(UnitValue.createPercentArray(new float[]{1, 1})).useAllAvailableWidth();
-            data.skills().sort(Comparator.comparing(Skill::getLevel).reversed().thenComparing(Skill::getName, String.CASE_INSENSITIVE_ORDER));
             for (Skill skill : data.skills()) {
                 Cell nameCell = new Cell().add(new Paragraph(skill.getName()).setFont(ctx.bodyFont).setFontSize(9).setFontColor(SIDEBAR_TEXT).setMargin(0)).setBorder(Border.NO_BORDER).setPadding(0).setPaddingBottom(5);
                 Paragraph ratingParagraph = new Paragraph().setTextAlignment(TextAlignment.RIGHT).setMargin(0).setFontSize(10);
@@ -148,20 +150,18 @@ public class ModernTemplate implements PortfolioPdfTemplate {
         return cell;
     }
 
-    private Cell createRightColumn(PortfolioData data, PdfGenerationService.PdfContext ctx) {
+    private Cell createRightColumn(PortfolioData data, PdfRenderContext ctx) {
         Cell cell = new Cell().setBorder(Border.NO_BORDER).setPadding(20);
         if (data.profile().getSummary() != null && !data.profile().getSummary().isBlank()) {
             addSectionToCell(cell, "Summary", () -> createFormattedParagraph(data.profile().getSummary(), ctx), ctx);
         }
         addSectionToCell(cell, "Qualifications", () -> {
             Table table = new Table(UnitValue.createPercentArray(1)).useAllAvailableWidth();
-            data.qualifications().sort(Comparator.comparing(Qualification::getCompletionYear).reversed());
             data.qualifications().forEach(qual -> table.addCell(createQualificationCell(qual, ctx)));
             return table;
         }, ctx);
         addSectionToCell(cell, "Professional Experience", () -> {
             Table table = new Table(UnitValue.createPercentArray(1)).useAllAvailableWidth();
-            data.experiences().sort(Comparator.comparing(Experience::getStartDate).reversed());
             data.experiences().forEach(exp -> table.addCell(createExperienceCell(exp, ctx)));
             return table;
         }, ctx);
@@ -173,7 +173,7 @@ public class ModernTemplate implements PortfolioPdfTemplate {
         return cell;
     }
 
-    private void addSectionToCell(Cell cell, String title, SectionContentProvider provider, PdfGenerationService.PdfContext ctx) {
+    private void addSectionToCell(Cell cell, String title, SectionContentProvider provider, PdfRenderContext ctx) {
         Paragraph heading = new Paragraph(title.toUpperCase()).setFont(ctx.sectionHeaderFont).setFontSize(14).setFontColor(ACCENT_COLOR).setMarginBottom(5).setBorderBottom(new SolidBorder(ACCENT_COLOR, 1));
         if (!cell.getChildren().isEmpty()) {
             heading.setMarginTop(20);
@@ -184,7 +184,7 @@ public class ModernTemplate implements PortfolioPdfTemplate {
         cell.add(content);
     }
 
-    private void addContactRow(Table table, String type, String text, String reference, PdfGenerationService.PdfContext ctx) {
+    private void addContactRow(Table table, String type, String text, String reference, PdfRenderContext ctx) {
         String iconChar;
         PdfFont iconFont;
         switch (type.toLowerCase()) {
@@ -209,7 +209,7 @@ public class ModernTemplate implements PortfolioPdfTemplate {
         table.addCell(textCell);
     }
 
-    private Paragraph createFormattedParagraph(String text, PdfGenerationService.PdfContext ctx) {
+    private Paragraph createFormattedParagraph(String text, PdfRenderContext ctx) {
         if (text == null || text.isBlank()) return new Paragraph();
         Paragraph container = new Paragraph().setMarginBottom(0).setPaddingBottom(0);
         com.itextpdf.layout.element.List currentList = null;
@@ -220,17 +220,17 @@ public class ModernTemplate implements PortfolioPdfTemplate {
                     container.add(currentList);
                 }
                 ListItem listItem = new ListItem(line.trim().substring(1).trim());
-                listItem.setFont(ctx.bodyFont).setFontSize(10).setFontColor(PRIMARY_COLOR);
+                listItem.setFontFamily(ctx.withEmojiFallback(PdfFontKey.HELVETICA)).setFontSize(10).setFontColor(PRIMARY_COLOR);
                 currentList.add(listItem);
             } else {
                 currentList = null;
-                container.add(new Paragraph(line).setFont(ctx.bodyFont).setFontSize(10).setFontColor(PRIMARY_COLOR));
+                container.add(new Paragraph(line).setFontFamily(ctx.withEmojiFallback(PdfFontKey.HELVETICA)).setFontSize(10).setFontColor(PRIMARY_COLOR));
             }
         }
         return container;
     }
 
-    private Cell createQualificationCell(Qualification qual, PdfGenerationService.PdfContext ctx) {
+    private Cell createQualificationCell(Qualification qual, PdfRenderContext ctx) {
         Cell cell = new Cell().setBorder(Border.NO_BORDER).setPaddingBottom(15);
         Table table = new Table(UnitValue.createPercentArray(new float[]{3, 1})).useAllAvailableWidth();
         table.addCell(new Cell().setBorder(Border.NO_BORDER).add(new Paragraph(qual.getQualificationName()).setFont(ctx.itemTitleFont).setFontSize(12).setFontColor(PRIMARY_COLOR)));
@@ -243,7 +243,7 @@ public class ModernTemplate implements PortfolioPdfTemplate {
         return cell;
     }
 
-    private Cell createExperienceCell(Experience exp, PdfGenerationService.PdfContext ctx) {
+    private Cell createExperienceCell(Experience exp, PdfRenderContext ctx) {
         Cell cell = new Cell().setBorder(Border.NO_BORDER).setPaddingBottom(15);
         Table table = new Table(UnitValue.createPercentArray(new float[]{3, 1})).useAllAvailableWidth();
         table.addCell(new Cell().setBorder(Border.NO_BORDER).add(new Paragraph(exp.getJobTitle()).setFont(ctx.itemTitleFont).setFontSize(12).setFontColor(PRIMARY_COLOR)));
@@ -256,7 +256,7 @@ public class ModernTemplate implements PortfolioPdfTemplate {
         return cell;
     }
 
-    private Cell createProjectCell(Project proj, PdfGenerationService.PdfContext ctx) {
+    private Cell createProjectCell(Project proj, PdfRenderContext ctx) {
         Cell cell = new Cell().setBorder(Border.NO_BORDER).setPaddingBottom(15);
         String projectUrl = null;
         if (proj.getLiveUrl() != null && !proj.getLiveUrl().isBlank()) {
@@ -1,27 +1,27 @@
 package com.forkmyfolio.service.pdf.templates;
 
-import com.forkmyfolio.service.PdfGenerationService;
-import com.forkmyfolio.service.pdf.PortfolioData;
-import com.itextpdf.kernel.geom.PageSize; // <-- IMPORT
-import com.itextpdf.layout.Document;
+import com.forkmyfolio.service.pdf.PdfRenderContext;
+import com.itextpdf.kernel.geom.PageSize;
 
 import java.io.IOException;
 
 /**
  * Defines the contract for a PDF template. Each implementation is responsible
- * for rendering the portfolio data into the provided iText Document.
+ * for rendering the portfolio data into the document of the given context.
+ * <p>
+ * A single instance of each template is shared by all renders, which may run in parallel. Implementations
+ * must therefore be stateless: no mutable fields. The lists of the
+ * {@link com.forkmyfolio.service.pdf.PortfolioData} are immutable and already in display order.
  */
 public interface PortfolioPdfTemplate {
 
     /**
      * Generates the full PDF content and layout into the document.
      *
-     * @param document The iText Document to which content will be added.
-     * @param context  The context containing shared resources like fonts.
-     * @param data     The portfolio data to be rendered.
+     * @param context The render-scoped context holding the document, the portfolio data and the fonts.
      * @throws IOException if a resource (like a font) cannot be loaded.
      */
-    void generate(Document document, PdfGenerationService.PdfContext context, PortfolioData data) throws IOException;
+    void generate(PdfRenderContext context) throws IOException;
 
     /**
      * Defines the page size for this template.
@@ -31,4 +31,4 @@ public interface PortfolioPdfTemplate {
     default PageSize getPageSize() {
         return PageSize.A4;
     }
-}
\ No newline at end of file
+}
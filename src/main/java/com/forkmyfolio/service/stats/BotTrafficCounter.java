@@ -0,0 +1,42 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory counters of tracked hits that were attributed to bots and therefore not persisted.
+ * The counters reset when the application restarts.
+ */
+@Component
+public class BotTrafficCounter {
+
+    private final Map<VisitorStatType, LongAdder> hits = new EnumMap<>(VisitorStatType.class);
+
+    public BotTrafficCounter() {
+        for (VisitorStatType type : VisitorStatType.values()) {
+            hits.put(type, new LongAdder());
+        }
+    }
+
+    public void increment(VisitorStatType type) {
+        hits.get(type).increment();
+    }
+
+    /**
+     * Returns the bot hits per stat type since startup, omitting types without hits.
+     */
+    public Map<VisitorStatType, Long> snapshot() {
+        Map<VisitorStatType, Long> snapshot = new EnumMap<>(VisitorStatType.class);
+        hits.forEach((type, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                snapshot.put(type, count);
+            }
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,67 @@
+package com.forkmyfolio.service.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RejectedExecutionHandler} for fire-and-forget tracking work.
+ * <p>
+ * When the bounded queue is full, one event is discarded according to the configured {@link Mode}
+ * and counted as <em>dropped</em>. Tasks submitted after the executor has shut down are counted as
+ * <em>rejected</em>. The submitting thread is never blocked and never sees an exception.
+ */
+public class DroppingRejectionPolicy implements RejectedExecutionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(DroppingRejectionPolicy.class);
+
+    /**
+     * Which event to discard when the queue is full.
+     */
+    public enum Mode {
+        /** Evict the oldest queued event and enqueue the new one. */
+        DROP_OLDEST,
+        /** Discard the incoming event and keep the queue as is. */
+        DROP_NEWEST
+    }
+
+    private final Mode mode;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public DroppingRejectionPolicy(Mode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            rejected.increment();
+            return;
+        }
+        dropped.increment();
+        if (dropped.sum() % 10_000 == 1) {
+            log.warn("Tracking queue is full; dropping events ({} dropped so far, mode {}).", dropped.sum(), mode);
+        }
+        if (mode == Mode.DROP_OLDEST) {
+            executor.getQueue().poll();
+            // offer() rather than execute() so a still-full queue cannot recurse into this handler.
+            executor.getQueue().offer(task);
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
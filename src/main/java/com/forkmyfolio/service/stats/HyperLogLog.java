@@ -0,0 +1,123 @@
+package com.forkmyfolio.service.stats;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size HyperLogLog sketch for estimating the number of distinct 64-bit hashes.
+ * <p>
+ * The sketch uses 2<sup>12</sup> one-byte registers (4 KiB), which gives a standard error of
+ * about 1.6% regardless of how many values are offered. Two sketches are merged by taking the
+ * register-wise maximum, so per-day sketches can be combined into any date range, and offering
+ * the same value twice has no effect.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class HyperLogLog {
+
+    /** Number of index bits. */
+    public static final int PRECISION = 12;
+    /** Number of registers, and the size of the serialized form in bytes. */
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Restores a sketch from its serialized registers.
+     *
+     * @param bytes The bytes previously returned by {@link #toBytes()}.
+     * @return A new sketch holding a copy of the registers.
+     * @throws IllegalArgumentException if the array has the wrong length.
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTER_COUNT) {
+            throw new IllegalArgumentException("A HyperLogLog sketch must have exactly " + REGISTER_COUNT + " registers.");
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * Adds a hashed value to the sketch. The hash must be uniformly distributed over all 64 bits.
+     *
+     * @param hash The 64-bit hash of the value.
+     * @return {@code true} if a register changed, i.e. the estimate may have moved.
+     */
+    public boolean offer(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Position of the first set bit in the remaining bits, capped so that an all-zero suffix still fits.
+        byte rank = (byte) (Math.min(Long.numberOfLeadingZeros(hash << PRECISION), 64 - PRECISION) + 1);
+        synchronized (registers) {
+            if (rank > registers[index]) {
+                registers[index] = rank;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Folds another sketch into this one (register-wise maximum).
+     *
+     * @param other The sketch to merge in. It is not modified.
+     */
+    public void merge(HyperLogLog other) {
+        byte[] theirs = other.toBytes();
+        synchronized (registers) {
+            for (int i = 0; i < REGISTER_COUNT; i++) {
+                if (theirs[i] > registers[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values offered to this sketch and every sketch merged into it.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeroRegisters = 0;
+        synchronized (registers) {
+            for (byte register : registers) {
+                sum += 1.0 / (1L << register);
+                if (register == 0) {
+                    zeroRegisters++;
+                }
+            }
+        }
+        double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeroRegisters > 0) {
+            // Small-range correction: linear counting is more accurate while many registers are still empty.
+            estimate = REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeroRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Returns a copy of the registers, suitable for persistence.
+     */
+    public byte[] toBytes() {
+        synchronized (registers) {
+            return registers.clone();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof HyperLogLog other && Arrays.equals(toBytes(), other.toBytes());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toBytes());
+    }
+}
@@ -0,0 +1,250 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.dto.AdminStatsDto;
+import com.forkmyfolio.exception.TooManyRequestsException;
+import com.forkmyfolio.model.enums.VisitorStatType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pushes live visitor counter deltas to admin dashboards over Server-Sent Events.
+ * <p>
+ * Tracked events are accumulated in {@link LongAdder}s, separately from the persistence buffer, and
+ * drained once per second into a single {@link LiveStatsFrame} that is shared by all subscribers, so
+ * the cost of an extra dashboard is one socket write per second and no database access after the
+ * initial snapshot. Sends run on virtual threads. A subscriber whose previous send is still in flight
+ * does not queue frames; its pending deltas are merged into one frame instead, and it is disconnected
+ * once it has been stalled for {@code app.stats.live.max-stalled-frames} ticks.
+ * <p>
+ * A new subscriber's snapshot and its first delta meet exactly: registration and frame assembly are
+ * serialized, and the deltas accumulated before registration go to the existing subscribers only.
+ */
+@Component
+public class LiveStatsBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveStatsBroadcaster.class);
+    private static final int HEARTBEAT_EVERY_TICKS = 15;
+
+    private final Map<VisitorStatType, LongAdder> typeDeltas = new EnumMap<>(VisitorStatType.class);
+    private final ConcurrentHashMap<String, LongAdder> projectDeltas = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("live-stats-", 0).factory());
+
+    @Value("${app.stats.live.max-subscribers:20}")
+    private int maxSubscribers;
+
+    @Value("${app.stats.live.max-stalled-frames:30}")
+    private int maxStalledFrames;
+
+    @Value("${app.stats.live.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    private long tick;
+
+    public LiveStatsBroadcaster() {
+        for (VisitorStatType type : VisitorStatType.values()) {
+            typeDeltas.put(type, new LongAdder());
+        }
+    }
+
+    /**
+     * Records one tracked event. A no-op while nobody is subscribed.
+     */
+    public void record(VisitorStatType type, String refId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        typeDeltas.get(type).increment();
+        if (type == VisitorStatType.PROJECT_VIEW) {
+            // Incrementing inside compute() excludes the removal in drain(), so no view is lost.
+            projectDeltas.compute(refId, (key, adder) -> {
+                LongAdder counter = adder != null ? adder : new LongAdder();
+                counter.increment();
+                return counter;
+            });
+        }
+    }
+
+    /**
+     * Opens a new subscription and sends the initial snapshot.
+     * <p>
+     * The snapshot is taken at the moment the subscriber is registered: every event recorded before it is
+     * expected in the snapshot and every event recorded after it arrives as a delta. For that to hold, the
+     * caller must keep {@link #record} from running while this method executes.
+     *
+     * @param snapshot Supplies the current dashboard totals, sent as the first {@code snapshot} event.
+     * @return The emitter to return from the controller.
+     * @throws TooManyRequestsException if the subscriber limit has been reached.
+     */
+    public SseEmitter subscribe(Supplier<AdminStatsDto> snapshot) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new TooManyRequestsException("Too many live stats subscribers. Try again later.", 30);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        AdminStatsDto initial;
+        synchronized (this) {
+            initial = snapshot.get();
+            // Deltas recorded so far are part of the snapshot; only the existing subscribers still need them.
+            LiveStatsFrame earlier = drain();
+            if (earlier != null) {
+                subscribers.forEach(existing -> existing.carry(earlier));
+            }
+            subscribers.add(subscriber);
+        }
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(initial, MediaType.APPLICATION_JSON));
+            // Frames that arrived while the snapshot was being sent were held back, so it is always the first event.
+            subscriber.sendCompleted();
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+        }
+        log.debug("Live stats subscriber connected ({} total).", subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Drains the accumulated deltas into one frame and hands it to every subscriber. Runs once per second.
+     */
+    @Scheduled(fixedRate = 1000)
+    public synchronized void broadcast() {
+        tick++;
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        LiveStatsFrame frame = drain();
+        boolean heartbeat = tick % HEARTBEAT_EVERY_TICKS == 0;
+        if (frame == null && !heartbeat) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private LiveStatsFrame drain() {
+        Map<VisitorStatType, Long> deltas = new EnumMap<>(VisitorStatType.class);
+        typeDeltas.forEach((type, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.put(type, delta);
+            }
+        });
+        // Every project counter is removed, which keeps the map bounded; record() recreates it on the next view.
+        Map<String, Long> projectViews = new HashMap<>();
+        for (String refId : projectDeltas.keySet()) {
+            LongAdder adder = projectDeltas.remove(refId);
+            long delta = adder != null ? adder.sum() : 0;
+            if (delta != 0) {
+                projectViews.put(refId, delta);
+            }
+        }
+        return deltas.isEmpty() && projectViews.isEmpty() ? null : new LiveStatsFrame(Instant.now(), deltas, projectViews);
+    }
+
+    /**
+     * One connected dashboard. At most one send is in flight at a time; frames that arrive meanwhile
+     * are merged into {@link #pending}. The snapshot counts as the first send.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private LiveStatsFrame pending;
+        private boolean sending = true;
+        private int stalledTicks;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Adds a frame to the next send without starting one.
+         */
+        synchronized void carry(LiveStatsFrame frame) {
+            pending = merge(pending, frame);
+        }
+
+        synchronized void sendCompleted() {
+            sending = false;
+            stalledTicks = 0;
+        }
+
+        synchronized void offer(LiveStatsFrame frame) {
+            pending = merge(pending, frame);
+            if (sending) {
+                if (++stalledTicks > maxStalledFrames) {
+                    log.info("Disconnecting slow live stats subscriber after {} stalled frames.", stalledTicks);
+                    subscribers.remove(this);
+                    emitter.complete();
+                }
+                return;
+            }
+            sending = true;
+            LiveStatsFrame toSend = pending;
+            pending = null;
+            senders.execute(() -> send(toSend));
+        }
+
+        private void send(LiveStatsFrame frame) {
+            try {
+                if (frame == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event().name("delta").data(frame, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                log.debug("Live stats subscriber went away: {}", e.getMessage());
+                return;
+            }
+            sendCompleted();
+        }
+
+        private LiveStatsFrame merge(LiveStatsFrame current, LiveStatsFrame next) {
+            if (current == null) {
+                return next;
+            }
+            if (next == null) {
+                return current;
+            }
+            Map<VisitorStatType, Long> deltas = new EnumMap<>(VisitorStatType.class);
+            deltas.putAll(current.deltas());
+            next.deltas().forEach((type, delta) -> deltas.merge(type, delta, Long::sum));
+            Map<String, Long> projectViews = new HashMap<>(current.projectViews());
+            next.projectViews().forEach((refId, delta) -> projectViews.merge(refId, delta, Long::sum));
+            return new LiveStatsFrame(next.timestamp(), deltas, projectViews);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One coalesced batch of counter increments pushed to live dashboard subscribers.
+ *
+ * @param timestamp    When the frame was assembled.
+ * @param deltas       Increments per stat type since the previous frame sent to this client.
+ * @param projectViews Increments per project UUID since the previous frame sent to this client.
+ */
+public record LiveStatsFrame(Instant timestamp, Map<VisitorStatType, Long> deltas, Map<String, Long> projectViews) {
+}
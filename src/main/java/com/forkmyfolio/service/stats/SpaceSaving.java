@@ -0,0 +1,107 @@
+package com.forkmyfolio.service.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Space-Saving heavy-hitters sketch (Metwally et al.) that tracks at most {@code capacity} items.
+ * <p>
+ * When a new item arrives and the sketch is full, the item with the smallest count is replaced and the
+ * newcomer inherits that count as its over-estimation error. Any item whose true frequency exceeds
+ * {@code total / capacity} is guaranteed to be present, and no count is ever under-estimated.
+ * Memory is bounded by the capacity regardless of how many distinct items are offered.
+ * <p>
+ * Instances are thread-safe.
+ */
+public final class SpaceSaving {
+
+    /**
+     * An estimated heavy hitter.
+     *
+     * @param item  The item, e.g. a project UUID.
+     * @param count The estimated count; never lower than the true count.
+     * @param error The maximum over-estimation included in {@code count}.
+     */
+    public record HeavyHitter(String item, long count, long error) {
+    }
+
+    private static final Comparator<HeavyHitter> BY_COUNT_DESC =
+            Comparator.comparingLong(HeavyHitter::count).reversed().thenComparing(HeavyHitter::item);
+
+    private static final class Counter {
+        long count;
+        long error;
+    }
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Adds {@code increment} occurrences of an item.
+     */
+    public synchronized void offer(String item, long increment) {
+        Counter counter = counters.get(item);
+        if (counter == null) {
+            counter = new Counter();
+            if (counters.size() >= capacity) {
+                // Evict the minimum; capacities are small, so a linear scan beats maintaining a heap.
+                Map.Entry<String, Counter> min = null;
+                for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+                    if (min == null || entry.getValue().count < min.getValue().count) {
+                        min = entry;
+                    }
+                }
+                counters.remove(min.getKey());
+                counter.count = min.getValue().count;
+                counter.error = min.getValue().count;
+            }
+            counters.put(item, counter);
+        }
+        counter.count += increment;
+    }
+
+    /**
+     * Folds another sketch into this one by re-offering its counters.
+     * The result keeps the no-under-estimation guarantee for the combined stream.
+     */
+    public void merge(SpaceSaving other) {
+        for (HeavyHitter hitter : other.top(other.capacity)) {
+            synchronized (this) {
+                offer(hitter.item(), hitter.count());
+                counters.get(hitter.item()).error += hitter.error();
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} items with the highest estimated counts, highest first.
+     */
+    public synchronized List<HeavyHitter> top(int limit) {
+        List<HeavyHitter> all = new ArrayList<>(counters.size());
+        counters.forEach((item, counter) -> all.add(new HeavyHitter(item, counter.count, counter.error)));
+        all.sort(BY_COUNT_DESC);
+        return all.size() > limit ? List.copyOf(all.subList(0, limit)) : all;
+    }
+
+    /**
+     * Removes every counter.
+     */
+    public synchronized void clear() {
+        counters.clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
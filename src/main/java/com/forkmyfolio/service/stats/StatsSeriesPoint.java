@@ -0,0 +1,12 @@
+package com.forkmyfolio.service.stats;
+
+import java.time.LocalDateTime;
+
+/**
+ * One point of a visitor statistics time series.
+ *
+ * @param bucketStart The UTC start of the bucket.
+ * @param count       The number of events recorded in the bucket.
+ */
+public record StatsSeriesPoint(LocalDateTime bucketStart, long count) {
+}
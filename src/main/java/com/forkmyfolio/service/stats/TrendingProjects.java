@@ -0,0 +1,124 @@
+package com.forkmyfolio.service.stats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live top-K of viewed projects over sliding windows (see {@link TrendingWindow}).
+ * <p>
+ * Each window is a ring of time slots, and each slot is a {@link SpaceSaving} sketch of
+ * {@code app.stats.trending.capacity} counters, so memory is bounded by
+ * (slots x capacity) no matter how many projects exist. A query merges the live slots of a window
+ * and caches the result for {@code app.stats.trending.cache-ttl-ms}, so repeated reads cost a
+ * map lookup and never touch {@code visitor_stats}.
+ */
+@Component
+public class TrendingProjects {
+
+    private final Clock clock;
+    private final int capacity;
+    private final long cacheTtlMillis;
+    private final Map<TrendingWindow, SlotRing> rings = new EnumMap<>(TrendingWindow.class);
+
+    public TrendingProjects(@Value("${app.stats.trending.capacity:100}") int capacity,
+                            @Value("${app.stats.trending.cache-ttl-ms:1000}") long cacheTtlMillis) {
+        this(Clock.systemUTC(), capacity, cacheTtlMillis);
+    }
+
+    TrendingProjects(Clock clock, int capacity, long cacheTtlMillis) {
+        this.clock = clock;
+        this.capacity = capacity;
+        this.cacheTtlMillis = cacheTtlMillis;
+        for (TrendingWindow window : TrendingWindow.values()) {
+            rings.put(window, new SlotRing(window));
+        }
+    }
+
+    /**
+     * Records one view of a project in every window.
+     *
+     * @param projectId The project UUID.
+     */
+    public void recordView(String projectId) {
+        long now = clock.millis();
+        for (SlotRing ring : rings.values()) {
+            ring.currentSlot(now).offer(projectId, 1);
+        }
+    }
+
+    /**
+     * Returns the most viewed projects in a window, highest first.
+     *
+     * @param window The sliding window.
+     * @param limit  The maximum number of projects to return; capped at the sketch capacity.
+     * @return The estimated heavy hitters.
+     */
+    public List<SpaceSaving.HeavyHitter> top(TrendingWindow window, int limit) {
+        List<SpaceSaving.HeavyHitter> merged = rings.get(window).merged(clock.millis());
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private final class SlotRing {
+        private final TrendingWindow window;
+        private final SpaceSaving[] sketches;
+        private final AtomicLongArray slotIndexes;
+        private volatile CachedTop cached;
+
+        SlotRing(TrendingWindow window) {
+            this.window = window;
+            this.sketches = new SpaceSaving[window.getSlots()];
+            this.slotIndexes = new AtomicLongArray(window.getSlots());
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new SpaceSaving(capacity);
+                slotIndexes.set(i, -1);
+            }
+        }
+
+        SpaceSaving currentSlot(long now) {
+            long slotIndex = now / window.getSlotMillis();
+            int position = (int) (slotIndex % sketches.length);
+            if (slotIndexes.get(position) != slotIndex) {
+                synchronized (this) {
+                    if (slotIndexes.get(position) != slotIndex) {
+                        // The slot last held data from one full window ago; recycle it.
+                        sketches[position].clear();
+                        slotIndexes.set(position, slotIndex);
+                    }
+                }
+            }
+            return sketches[position];
+        }
+
+        List<SpaceSaving.HeavyHitter> merged(long now) {
+            CachedTop current = cached;
+            if (current != null && now - current.computedAt() < cacheTtlMillis) {
+                return current.top();
+            }
+            long newestSlot = now / window.getSlotMillis();
+            SpaceSaving merged = new SpaceSaving(capacity);
+            synchronized (this) {
+                for (int i = 0; i < sketches.length; i++) {
+                    if (newestSlot - slotIndexes.get(i) < sketches.length) {
+                        merged.merge(sketches[i]);
+                    }
+                }
+            }
+            List<SpaceSaving.HeavyHitter> top = merged.top(capacity);
+            cached = new CachedTop(now, top);
+            return top;
+        }
+    }
+
+    private record CachedTop(long computedAt, List<SpaceSaving.HeavyHitter> top) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.forkmyfolio.service.stats;
+
+import java.time.Duration;
+
+/**
+ * The sliding windows over which trending projects are ranked.
+ * Each window is made of fixed time slots; the oldest slot is recycled as time advances,
+ * so the window slides with slot granularity.
+ */
+public enum TrendingWindow {
+    HOUR(Duration.ofMinutes(5), 12),
+    DAY(Duration.ofHours(1), 24),
+    WEEK(Duration.ofHours(6), 28);
+
+    private final long slotMillis;
+    private final int slots;
+
+    TrendingWindow(Duration slot, int slots) {
+        this.slotMillis = slot.toMillis();
+        this.slots = slots;
+    }
+
+    public long getSlotMillis() {
+        return slotMillis;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+}
@@ -0,0 +1,98 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The in-memory HyperLogLog sketches of the current UTC day(s), one per {@link VisitorStatType}.
+ * <p>
+ * Offering a visitor hash only touches a 4 KiB sketch, so memory stays constant no matter how much
+ * traffic arrives. {@link VisitorStatsFlusher} periodically merges dirty sketches into the persisted
+ * ones. Because merging is idempotent, a sketch is never reset; it is simply dropped once its day is over
+ * and it has been persisted.
+ */
+@Component
+public class UniqueVisitorSketches {
+
+    /**
+     * Identifies one sketch.
+     */
+    public record Key(VisitorStatType type, LocalDate day) {
+    }
+
+    private static final class Entry {
+        final HyperLogLog sketch = new HyperLogLog();
+        volatile boolean dirty;
+    }
+
+    private final Map<Key, Entry> sketches = new ConcurrentHashMap<>();
+
+    /**
+     * Records a visitor hash for the given type and day.
+     */
+    public void offer(VisitorStatType type, LocalDate day, long visitorHash) {
+        Entry entry = sketches.computeIfAbsent(new Key(type, day), key -> new Entry());
+        if (entry.sketch.offer(visitorHash)) {
+            entry.dirty = true;
+        }
+    }
+
+    /**
+     * Returns copies of all sketches that changed since the last call, and clears their dirty flags.
+     * If persisting them fails, pass the keys to {@link #markDirty(Iterable)} so they are retried.
+     */
+    public Map<Key, HyperLogLog> takeDirty() {
+        Map<Key, HyperLogLog> dirty = new ConcurrentHashMap<>();
+        sketches.forEach((key, entry) -> {
+            if (entry.dirty) {
+                // Clear before copying: an offer racing with the copy re-marks the entry for the next cycle.
+                entry.dirty = false;
+                dirty.put(key, HyperLogLog.fromBytes(entry.sketch.toBytes()));
+            }
+        });
+        return dirty;
+    }
+
+    /**
+     * Flags sketches as changed again, e.g. after a failed flush.
+     */
+    public void markDirty(Iterable<Key> keys) {
+        for (Key key : keys) {
+            Entry entry = sketches.get(key);
+            if (entry != null) {
+                entry.dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the in-memory sketch for a type and day, if one exists.
+     */
+    public HyperLogLog peek(VisitorStatType type, LocalDate day) {
+        Entry entry = sketches.get(new Key(type, day));
+        return entry == null ? null : HyperLogLog.fromBytes(entry.sketch.toBytes());
+    }
+
+    /**
+     * Drops the sketches of days before {@code day} that have nothing left to persist.
+     *
+     * @return The keys that were dropped.
+     */
+    public List<Key> evictBefore(LocalDate day) {
+        List<Key> evicted = new ArrayList<>();
+        sketches.entrySet().removeIf(e -> {
+            boolean evict = e.getKey().day().isBefore(day) && !e.getValue().dirty;
+            if (evict) {
+                evicted.add(e.getKey());
+            }
+            return evict;
+        });
+        return evicted;
+    }
+}
@@ -0,0 +1,13 @@
+package com.forkmyfolio.service.stats;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Approximate unique visitor counts for a date range.
+ *
+ * @param daily The estimate for each day in the range, in date order.
+ * @param total The estimate for the whole range; visitors seen on several days are counted once.
+ */
+public record UniqueVisitorsEstimate(Map<LocalDate, Long> daily, long total) {
+}
@@ -0,0 +1,92 @@
+package com.forkmyfolio.service.stats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a User-Agent belongs to a crawler, monitor or scripted client.
+ * <p>
+ * All known signatures are compiled into a single case-insensitive alternation, so a cache miss is one
+ * regex scan. "bot" alone only matches as a separate word or as a product token ({@code Googlebot/2.1});
+ * crawlers that send neither are listed by name, so device names such as CUBOT are not mistaken for bots.
+ * <p>
+ * Verdicts are kept in a {@link ConcurrentHashMap} of at most {@code app.stats.bot-filter.cache-size}
+ * entries. When it is full, an arbitrary entry is evicted; real traffic uses a small set of distinct
+ * User-Agent strings, so the hot path is a lock-free hash lookup.
+ */
+@Component
+public class UserAgentClassifier {
+
+    private static final Pattern BOT_SIGNATURES = Pattern.compile(String.join("|",
+            "\\bbot\\b", "bot/", "slackbot", "duckduckbot", "petalbot", "semrushbot",
+            "crawl", "spider", "slurp", "archiver", "scrap",
+            "facebookexternalhit", "embedly", "preview", "whatsapp", "telegram", "discord", "skypeuripreview",
+            "uptime", "pingdom", "statuscake", "monitor", "check_http", "nagios", "site24x7", "betteruptime",
+            "headless", "phantomjs", "lighthouse", "pagespeed", "gtmetrix", "selenium", "puppeteer", "playwright",
+            "curl/", "wget/", "httpie", "python-requests", "python-urllib", "aiohttp", "go-http-client",
+            "okhttp", "apache-httpclient", "java/", "libwww-perl", "axios/", "node-fetch", "undici", "postmanruntime"
+    ), Pattern.CASE_INSENSITIVE);
+
+    /** Longer strings are truncated before caching so a hostile header cannot bloat the cache. */
+    private static final int MAX_CACHED_KEY_LENGTH = 512;
+
+    private final ConcurrentHashMap<String, Boolean> verdicts;
+    private final int cacheSize;
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    public UserAgentClassifier(@Value("${app.stats.bot-filter.cache-size:10000}") int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.verdicts = new ConcurrentHashMap<>(Math.min(cacheSize, 1024));
+    }
+
+    /**
+     * Returns {@code true} if the User-Agent looks automated. A missing or blank User-Agent counts as a bot.
+     *
+     * @param userAgent The raw User-Agent header. May be null.
+     */
+    public boolean isBot(String userAgent) {
+        if (userAgent == null || userAgent.isBlank()) {
+            return true;
+        }
+        String key = userAgent.length() > MAX_CACHED_KEY_LENGTH ? userAgent.substring(0, MAX_CACHED_KEY_LENGTH) : userAgent;
+        Boolean verdict = verdicts.get(key);
+        if (verdict != null) {
+            cacheHits.increment();
+            return verdict;
+        }
+        cacheMisses.increment();
+        boolean bot = BOT_SIGNATURES.matcher(key).find();
+        verdicts.put(key, bot);
+        evictOverCapacity();
+        return bot;
+    }
+
+    /**
+     * Removes arbitrary entries until the cache fits. Concurrent inserts may overshoot the limit briefly.
+     */
+    private void evictOverCapacity() {
+        Iterator<String> keys = verdicts.keySet().iterator();
+        while (verdicts.size() > cacheSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    public int getCacheSize() {
+        return verdicts.size();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+}
@@ -0,0 +1,74 @@
+package com.forkmyfolio.service.stats;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+/**
+ * Turns a client IP address and User-Agent into an anonymous 64-bit visitor hash.
+ * <p>
+ * The hash is a keyed HMAC-SHA256, so it cannot be reversed or recomputed without the salt, and
+ * neither the IP nor the User-Agent is ever stored. The salt comes from
+ * {@code app.stats.visitor-hash-salt}; if it is not set, a random one is generated at startup,
+ * which means the same visitor is counted again after a restart on the same day.
+ */
+@Component
+public class VisitorHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(VisitorHasher.class);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    @Value("${app.stats.visitor-hash-salt:}")
+    private String configuredSalt;
+
+    private SecretKeySpec key;
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        byte[] salt;
+        if (configuredSalt == null || configuredSalt.isBlank()) {
+            salt = new byte[32];
+            new SecureRandom().nextBytes(salt);
+            log.warn("app.stats.visitor-hash-salt is not set; using a random salt. Unique visitor counts will restart with the application.");
+        } else {
+            salt = configuredSalt.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(salt, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Computes the visitor hash.
+     *
+     * @param clientIp  The client IP address. May be null.
+     * @param userAgent The User-Agent header. May be null.
+     * @return A uniformly distributed 64-bit hash suitable for {@link HyperLogLog#offer(long)}.
+     */
+    public long hash(String clientIp, String userAgent) {
+        Mac mac = macs.get();
+        mac.update(String.valueOf(clientIp).getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) '\n');
+        mac.update(String.valueOf(userAgent).getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(mac.doFinal()).getLong();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+
+/**
+ * A pending counter change drained from the {@link VisitorStatsBuffer}.
+ *
+ * @param type  The statistic type.
+ * @param refId The reference ID the counter belongs to.
+ * @param delta The number of increments to add to the persisted count.
+ */
+public record VisitorStatDelta(VisitorStatType type, String refId, long delta) {
+}
@@ -0,0 +1,121 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An in-memory, write-behind buffer for visitor counters.
+ * <p>
+ * Increments land in a striped {@link LongAdder} per (type, refId) pair, so the hot path is an
+ * enum-indexed map lookup plus an uncontended add. Nothing is allocated once a counter exists.
+ * The buffered deltas are periodically drained by {@link VisitorStatsFlusher} and written to the
+ * {@code visitor_stats} table in a single transaction.
+ */
+@Component
+public class VisitorStatsBuffer {
+
+    private final Map<VisitorStatType, ConcurrentHashMap<String, LongAdder>> counters = new EnumMap<>(VisitorStatType.class);
+    private final Lock flushLock = new ReentrantLock();
+
+    public VisitorStatsBuffer() {
+        // Pre-populate every type so the map itself is never mutated after construction.
+        for (VisitorStatType type : VisitorStatType.values()) {
+            counters.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Adds one to the buffered counter for the given type and reference ID.
+     *
+     * @param type  The statistic type.
+     * @param refId The reference ID (a section key or a project UUID).
+     */
+    public void increment(VisitorStatType type, String refId) {
+        ConcurrentHashMap<String, LongAdder> byRefId = counters.get(type);
+        LongAdder adder = byRefId.get(refId);
+        if (adder == null) {
+            adder = byRefId.computeIfAbsent(refId, key -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /**
+     * Atomically takes every non-zero delta out of the buffer.
+     * Increments that race with the drain are either included here or kept for the next drain; none are lost.
+     *
+     * @return The drained deltas. Empty if nothing was recorded since the last drain.
+     */
+    public List<VisitorStatDelta> drain() {
+        List<VisitorStatDelta> deltas = new ArrayList<>();
+        counters.forEach((type, byRefId) -> byRefId.forEach((refId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                deltas.add(new VisitorStatDelta(type, refId, delta));
+            }
+        }));
+        return deltas;
+    }
+
+    /**
+     * Puts previously drained deltas back into the buffer, e.g. after a failed flush,
+     * so that they are retried on the next cycle instead of being dropped.
+     *
+     * @param deltas The deltas to restore.
+     */
+    public void restore(List<VisitorStatDelta> deltas) {
+        for (VisitorStatDelta delta : deltas) {
+            counters.get(delta.type())
+                    .computeIfAbsent(delta.refId(), key -> new LongAdder())
+                    .add(delta.delta());
+        }
+    }
+
+    /**
+     * Returns every non-zero delta currently waiting to be flushed, without taking it out of the buffer.
+     *
+     * @return The pending deltas. Empty if nothing is buffered.
+     */
+    public List<VisitorStatDelta> pending() {
+        List<VisitorStatDelta> deltas = new ArrayList<>();
+        counters.forEach((type, byRefId) -> byRefId.forEach((refId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                deltas.add(new VisitorStatDelta(type, refId, delta));
+            }
+        }));
+        return deltas;
+    }
+
+    /**
+     * The lock held by a flush from {@link #drain()} until the deltas are committed or {@link #restore restored}.
+     * While it is held by someone else, every increment is either in the database or in {@link #pending()},
+     * never in both and never in neither, so reading the two under this lock gives consistent totals.
+     */
+    public Lock flushLock() {
+        return flushLock;
+    }
+
+    /**
+     * Returns the sum of all deltas currently waiting to be flushed.
+     *
+     * @return The number of buffered, not yet persisted increments.
+     */
+    public long pendingCount() {
+        long pending = 0;
+        for (ConcurrentHashMap<String, LongAdder> byRefId : counters.values()) {
+            for (LongAdder adder : byRefId.values()) {
+                pending += adder.sum();
+            }
+        }
+        return pending;
+    }
+}
@@ -0,0 +1,100 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.service.VisitorStatsService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Periodically drains the {@link VisitorStatsBuffer} and persists the accumulated deltas,
+ * then merges the changed {@link UniqueVisitorSketches} into the persisted ones.
+ * A final flush runs on graceful shutdown so that buffered increments are not lost on redeploy.
+ */
+@Component
+@RequiredArgsConstructor
+public class VisitorStatsFlusher {
+
+    private static final Logger log = LoggerFactory.getLogger(VisitorStatsFlusher.class);
+
+    private final VisitorStatsBuffer visitorStatsBuffer;
+    private final VisitorStatsService visitorStatsService;
+    private final UniqueVisitorSketches uniqueVisitorSketches;
+
+    @Value("${app.stats.hourly-retention-days:90}")
+    private int hourlyRetentionDays;
+
+    /**
+     * Writes all buffered deltas in one transaction. Runs every {@code app.stats.flush-interval-ms}
+     * milliseconds (5 seconds by default), measured from the end of the previous flush.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        flushCounters();
+        flushUniqueSketches();
+    }
+
+    private void flushCounters() {
+        // Held until the deltas are committed or restored, so a live stats snapshot never sees them in both places.
+        Lock flushLock = visitorStatsBuffer.flushLock();
+        flushLock.lock();
+        try {
+            List<VisitorStatDelta> deltas = visitorStatsBuffer.drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                visitorStatsService.applyDeltas(deltas);
+                log.debug("Flushed {} buffered visitor stat counters.", deltas.size());
+            } catch (RuntimeException e) {
+                // Put the deltas back so the next cycle retries them.
+                visitorStatsBuffer.restore(deltas);
+                log.error("Failed to flush {} visitor stat counters. They will be retried.", deltas.size(), e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushUniqueSketches() {
+        Map<UniqueVisitorSketches.Key, HyperLogLog> dirty = uniqueVisitorSketches.takeDirty();
+        if (!dirty.isEmpty()) {
+            try {
+                visitorStatsService.mergeUniqueSketches(dirty);
+                log.debug("Merged {} unique-visitor sketches.", dirty.size());
+            } catch (RuntimeException e) {
+                uniqueVisitorSketches.markDirty(dirty.keySet());
+                log.error("Failed to merge {} unique-visitor sketches. They will be retried.", dirty.size(), e);
+            }
+        }
+        uniqueVisitorSketches.evictBefore(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Removes hourly time-series buckets that are past their retention period, once a day.
+     * Daily and monthly rollups are kept indefinitely.
+     */
+    @Scheduled(cron = "${app.stats.bucket-purge-cron:0 30 3 * * *}", zone = "UTC")
+    public void purgeExpiredHourlyBuckets() {
+        int deleted = visitorStatsService.purgeExpiredHourlyBuckets(hourlyRetentionDays);
+        log.info("Purged {} hourly visitor stat buckets older than {} days.", deleted, hourlyRetentionDays);
+    }
+
+    /**
+     * Flushes whatever is left in the buffer before the application context shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing buffered visitor stats before shutdown.");
+        flush();
+    }
+}
@@ -0,0 +1,90 @@
+package com.forkmyfolio.aop;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+import com.forkmyfolio.service.VisitorStatsService;
+import com.forkmyfolio.service.stats.BotTrafficCounter;
+import com.forkmyfolio.service.stats.UserAgentClassifier;
+import com.forkmyfolio.service.stats.VisitorHasher;
+import com.forkmyfolio.util.SecurityUtils;
+import org.aspectj.lang.JoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.mockito.Mockito.*;
+
+class VisitorTrackingAspectTest {
+
+    private final VisitorStatsService visitorStatsService = mock(VisitorStatsService.class);
+    private final TrackVisitor pdfDownload = mock(TrackVisitor.class);
+    private VisitorTrackingAspect aspect;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        SecurityUtils securityUtils = mock(SecurityUtils.class);
+        when(securityUtils.isUserAnonymous()).thenReturn(true);
+        aspect = new VisitorTrackingAspect(visitorStatsService, securityUtils, mock(VisitorHasher.class),
+                new UserAgentClassifier(16), mock(BotTrafficCounter.class));
+        when(pdfDownload.value()).thenReturn(VisitorStatType.PDF_DOWNLOAD);
+        request = new MockHttpServletRequest("GET", "/api/v1/pdf/download");
+        request.addHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X)");
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void track_shouldCountASuccessfulDownload() {
+        aspect.track(mock(JoinPoint.class), pdfDownload, null);
+
+        verify(visitorStatsService).incrementPdfDownload();
+    }
+
+    @Test
+    void track_shouldNotCountANotModifiedOrFailedResponse() {
+        response.setStatus(304);
+        aspect.track(mock(JoinPoint.class), pdfDownload, null);
+        response.setStatus(500);
+        aspect.track(mock(JoinPoint.class), pdfDownload, null);
+
+        verifyNoInteractions(visitorStatsService);
+    }
+
+    @Test
+    void track_shouldNotCountAFailedResponseEntity() {
+        // The status of a returned ResponseEntity is not on the servlet response yet when the advice runs.
+        aspect.track(mock(JoinPoint.class), pdfDownload, new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        verifyNoInteractions(visitorStatsService);
+    }
+
+    @Test
+    void track_shouldCountASuccessfulResponseEntity() {
+        aspect.track(mock(JoinPoint.class), pdfDownload, ResponseEntity.ok(new byte[]{'%', 'P'}));
+
+        verify(visitorStatsService).incrementPdfDownload();
+    }
+
+    @Test
+    void track_shouldNotCountAFollowUpRange() {
+        request.addHeader(HttpHeaders.RANGE, "bytes=65536-131071");
+        response.setStatus(206);
+
+        aspect.track(mock(JoinPoint.class), pdfDownload, null);
+
+        verifyNoInteractions(visitorStatsService);
+    }
+}
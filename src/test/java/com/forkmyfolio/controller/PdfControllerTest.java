@@ -0,0 +1,231 @@
+package com.forkmyfolio.controller;
+
+import com.forkmyfolio.model.Setting;
+import com.forkmyfolio.repository.SettingRepository;
+import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.VisitorStatsService;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import com.forkmyfolio.service.pdf.PdfDownload;
+import com.forkmyfolio.service.pdf.PdfFontRegistry;
+import com.forkmyfolio.service.pdf.PdfJob;
+import com.forkmyfolio.service.pdf.PdfJobService;
+import com.forkmyfolio.service.pdf.PdfOutputMode;
+import com.forkmyfolio.service.pdf.PdfRenderCache;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics;
+import com.forkmyfolio.service.pdf.PdfRenderPool;
+import com.forkmyfolio.service.pdf.PortfolioDataLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.servlet.ServletOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.DelegatingServletOutputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class PdfControllerTest {
+
+    private static final PdfRenderCache.Key KEY = new PdfRenderCache.Key("classic", PdfOutputMode.COMPACT, "r-7");
+
+    private final PdfGenerationService generationService = mock(PdfGenerationService.class);
+    private final PdfJobService jobService = mock(PdfJobService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        PortfolioContentRevision revision = mock(PortfolioContentRevision.class);
+        when(revision.lastModified()).thenReturn(Instant.parse("2024-05-01T10:00:00Z"));
+        when(generationService.cacheKeyFor("classic", "compact")).thenReturn(KEY);
+        PdfController controller = new PdfController(generationService, mock(VisitorStatsService.class),
+                mock(PdfRenderPool.class), jobService, revision);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void download_shouldSendAStrongETagForTemplateModeAndRevision() throws Exception {
+        when(generationService.preparePortfolioPdf(KEY)).thenReturn(PdfDownload.cached("JaneDoe-Resume.pdf", new byte[]{'%', 'P', 'D', 'F'}));
+
+        mockMvc.perform(get("/api/v1/pdf/download").param("template", "classic").param("mode", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"pdf-classic-compact-r-7\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(content().bytes(new byte[]{'%', 'P', 'D', 'F'}));
+    }
+
+    @Test
+    void download_withRangeOnCachedPdf_shouldAnswer206WithThatRange() throws Exception {
+        when(generationService.preparePortfolioPdf(KEY)).thenReturn(PdfDownload.cached("JaneDoe-Resume.pdf", "%PDF-1.7".getBytes()));
+
+        mockMvc.perform(get("/api/v1/pdf/download").param("template", "classic").param("mode", "compact")
+                        .header(HttpHeaders.RANGE, "bytes=5-")
+                        .header(HttpHeaders.IF_RANGE, "\"pdf-classic-compact-r-7\""))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-7/8"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(content().bytes("1.7".getBytes()));
+    }
+
+    @Test
+    void download_withUnsatisfiableRange_shouldAnswer416() throws Exception {
+        when(generationService.preparePortfolioPdf(KEY)).thenReturn(PdfDownload.cached("JaneDoe-Resume.pdf", "%PDF-1.7".getBytes()));
+
+        mockMvc.perform(get("/api/v1/pdf/download").param("template", "classic").param("mode", "compact")
+                        .header(HttpHeaders.RANGE, "bytes=8-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */8"));
+    }
+
+    @Test
+    void download_withStaleIfRange_shouldSendTheWholePdf() throws Exception {
+        when(generationService.preparePortfolioPdf(KEY)).thenReturn(PdfDownload.cached("JaneDoe-Resume.pdf", "%PDF-1.7".getBytes()));
+
+        mockMvc.perform(get("/api/v1/pdf/download").param("template", "classic").param("mode", "compact")
+                        .header(HttpHeaders.RANGE, "bytes=5-")
+                        .header(HttpHeaders.IF_RANGE, "\"pdf-classic-compact-r-6\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes("%PDF-1.7".getBytes()));
+    }
+
+    @Test
+    void download_withSlowClient_shouldNotHoldARenderSlot() throws Exception {
+        PdfRenderPool pool = new PdfRenderPool(1, 1, 2_000);
+        PortfolioContentRevision revision = mock(PortfolioContentRevision.class);
+        when(revision.lastModified()).thenReturn(Instant.parse("2024-05-01T10:00:00Z"));
+        PdfController controller = new PdfController(generationService, mock(VisitorStatsService.class),
+                pool, mock(PdfJobService.class), revision);
+        when(generationService.preparePortfolioPdf(KEY))
+                .thenAnswer(invocation -> PdfDownload.rendered("JaneDoe-Resume.pdf", true,
+                        () -> new PdfRenderCache.Entry("%PDF-1.7".getBytes(), "JaneDoe")));
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MockHttpServletResponse stalled = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new DelegatingServletOutputStream(OutputStream.nullOutputStream()) {
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        writing.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                };
+            }
+        };
+        ExecutorService clients = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = clients.submit(() -> {
+                controller.downloadPortfolioAsPdf("classic", "compact", webRequest(), stalled);
+                return null;
+            });
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // The first client is stuck mid-transfer; the second render must still get the only slot.
+            MockHttpServletResponse fast = new MockHttpServletResponse();
+            controller.downloadPortfolioAsPdf("classic", "compact", webRequest(), fast);
+            assertEquals(200, fast.getStatus());
+            assertArrayEquals("%PDF-1.7".getBytes(), fast.getContentAsByteArray());
+            assertEquals(2, pool.getCompletedCount());
+            assertEquals(0, pool.getTimedOutCount());
+
+            release.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void download_withMatchingETag_shouldNotTouchAnyRepository() throws Exception {
+        SettingRepository settingRepository = mock(SettingRepository.class);
+        when(settingRepository.findByName(PdfGenerationService.OUTPUT_MODE_SETTING))
+                .thenReturn(Optional.of(new Setting(PdfGenerationService.OUTPUT_MODE_SETTING, "compact", "")));
+        PortfolioDataLoader loader = mock(PortfolioDataLoader.class);
+        PortfolioContentRevision revision = mock(PortfolioContentRevision.class);
+        when(revision.current()).thenReturn("r-7");
+        when(revision.lastModified()).thenReturn(Instant.parse("2024-05-01T10:00:00Z"));
+        PdfGenerationService realService = new PdfGenerationService(loader, settingRepository, revision,
+                new PdfRenderCache(1 << 20), new PdfFontRegistry(), new PdfRenderMetrics(0));
+        realService.loadDefaultOutputMode();
+        clearInvocations(settingRepository);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new PdfController(realService, mock(VisitorStatsService.class),
+                mock(PdfRenderPool.class), mock(PdfJobService.class), revision)).build();
+
+        mvc.perform(get("/api/v1/pdf/download").param("template", "classic")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"pdf-classic-compact-r-7\""))
+                .andExpect(status().isNotModified());
+
+        verifyNoInteractions(settingRepository, loader);
+    }
+
+    private static ServletWebRequest webRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/v1/pdf/download"));
+    }
+
+    @Test
+    void downloadJobResult_shouldForbidStoringTheResult() throws Exception {
+        PdfJob job = mock(PdfJob.class);
+        when(job.getResult()).thenReturn(new PdfGenerationService.PdfFile(new byte[]{'%', 'P'}, "JaneDoe-Resume.pdf"));
+        when(jobService.getJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/pdf/jobs/job-1/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(content().bytes(new byte[]{'%', 'P'}));
+    }
+
+    @Test
+    void downloadJobResult_shouldSendOnlyTheValidPartOfTheRenderBuffer() throws Exception {
+        PdfJob job = mock(PdfJob.class);
+        byte[] buffer = {'%', 'P', 'D', 'F', 0, 0, 0, 0};
+        when(job.getResult()).thenReturn(new PdfGenerationService.PdfFile(buffer, 4, "JaneDoe-Resume.pdf"));
+        when(jobService.getJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/pdf/jobs/job-1/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+                .andExpect(content().bytes(new byte[]{'%', 'P', 'D', 'F'}));
+    }
+
+    @Test
+    void download_fromARenderBuffer_shouldSendOnlyItsValidPart() throws Exception {
+        byte[] buffer = "%PDF-1.7\0\0\0\0".getBytes();
+        when(generationService.preparePortfolioPdf(KEY)).thenReturn(PdfDownload.cached("JaneDoe-Resume.pdf", buffer, 8));
+
+        mockMvc.perform(get("/api/v1/pdf/download").param("template", "classic").param("mode", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 8))
+                .andExpect(content().bytes("%PDF-1.7".getBytes()));
+    }
+
+    @Test
+    void download_withMatchingETag_shouldAnswer304WithoutPreparingThePdf() throws Exception {
+        mockMvc.perform(get("/api/v1/pdf/download").param("template", "classic").param("mode", "compact")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"pdf-classic-compact-r-7\""))
+                .andExpect(status().isNotModified());
+
+        verify(generationService, never()).preparePortfolioPdf(any(PdfRenderCache.Key.class));
+    }
+}
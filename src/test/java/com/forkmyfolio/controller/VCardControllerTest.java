@@ -0,0 +1,75 @@
+package com.forkmyfolio.controller;
+
+import com.forkmyfolio.model.PortfolioProfile;
+import com.forkmyfolio.service.PortfolioProfileService;
+import com.forkmyfolio.service.VCardService;
+import com.forkmyfolio.service.VisitorStatsService;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class VCardControllerTest {
+
+    private final VCardService vCardService = mock(VCardService.class);
+    private final PortfolioProfileService profileService = mock(PortfolioProfileService.class);
+    private final PortfolioContentRevision revision = mock(PortfolioContentRevision.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(revision.current()).thenReturn("r-1");
+        when(revision.lastModified()).thenReturn(Instant.parse("2024-05-01T10:00:00Z"));
+        when(profileService.getPublicProfile()).thenReturn(new PortfolioProfile());
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new VCardController(vCardService, profileService, mock(VisitorStatsService.class), revision)).build();
+    }
+
+    @Test
+    void download_shouldSendValidators() throws Exception {
+        when(vCardService.generateVCard(any())).thenReturn(new VCardService.VCardFile("BEGIN:VCARD".getBytes(), "JaneDoe.vcf", true));
+
+        mockMvc.perform(get("/api/v1/vcard/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"vcard-r-1\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Wed, 01 May 2024 10:00:00 GMT"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+    }
+
+    @Test
+    void download_withMatchingETag_shouldAnswer304WithoutLoadingTheProfile() throws Exception {
+        mockMvc.perform(get("/api/v1/vcard/download").header(HttpHeaders.IF_NONE_MATCH, "\"vcard-r-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        verifyNoInteractions(profileService, vCardService);
+    }
+
+    @Test
+    void download_withStaleETag_shouldSendTheCard() throws Exception {
+        when(vCardService.generateVCard(any())).thenReturn(new VCardService.VCardFile("BEGIN:VCARD".getBytes(), "JaneDoe.vcf", true));
+
+        mockMvc.perform(get("/api/v1/vcard/download")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"vcard-r-0\"")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 May 2024 10:00:00 GMT"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void download_withoutCachedPhoto_shouldForbidStoring() throws Exception {
+        when(vCardService.generateVCard(any())).thenReturn(new VCardService.VCardFile("BEGIN:VCARD".getBytes(), "JaneDoe.vcf", false));
+
+        mockMvc.perform(get("/api/v1/vcard/download"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+}
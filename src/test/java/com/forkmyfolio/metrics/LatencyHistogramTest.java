@@ -0,0 +1,44 @@
+package com.forkmyfolio.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentiles_shouldBeWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5_000, histogram.getValueAtPercentile(50), 5_000 * 0.125);
+        assertEquals(9_900, histogram.getValueAtPercentile(99), 9_900 * 0.125);
+        assertEquals(10_000, histogram.getValueAtPercentile(100));
+        assertEquals(5_000.5, histogram.getMeanMicros(), 0.001);
+    }
+
+    @Test
+    void bucketIndex_shouldBeMonotonicAndBounded() {
+        int previous = -1;
+        for (long value = 0; value < 1L << 20; value += 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index >= previous);
+            assertTrue(value <= LatencyHistogram.bucketUpperBound(index));
+            previous = index;
+        }
+        assertTrue(LatencyHistogram.bucketIndex((1L << 41) - 1) < LatencyHistogram.BUCKET_COUNT);
+    }
+
+    @Test
+    void registry_shouldKeepSeparateHistogramsPerLabel() {
+        RouteLatencyRegistry registry = new RouteLatencyRegistry();
+        registry.record("/api/v1/pdf/{template}", "GET", RequestOutcome.SUCCESS, 1_000);
+        registry.record("/api/v1/pdf/{template}", "GET", RequestOutcome.SUCCESS, 3_000);
+        registry.record("/api/v1/pdf/{template}", "GET", RequestOutcome.CLIENT_ERROR, 50);
+
+        assertEquals(2, registry.entries().size());
+    }
+}
@@ -0,0 +1,111 @@
+package com.forkmyfolio.repository;
+
+import com.forkmyfolio.model.enums.StatBucketGranularity;
+import com.forkmyfolio.model.enums.VisitorStatType;
+import com.forkmyfolio.repository.projection.StatBucketTotal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the native upserts against a real MySQL, the only database they are written for.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VisitorStatsRepositoryTest {
+
+    private static final int WRITERS = 8;
+    private static final int INCREMENTS_PER_WRITER = 50;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    @Autowired
+    private VisitorStatsRepository visitorStatsRepository;
+
+    @Autowired
+    private VisitorStatBucketRepository visitorStatBucketRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        visitorStatsRepository.deleteAll();
+        visitorStatBucketRepository.deleteAll();
+    }
+
+    @Test
+    void upsertIncrement_shouldAddUpConcurrentIncrementsOfTheSameKey() throws Exception {
+        runConcurrently(() -> visitorStatsRepository.upsertIncrement(VisitorStatType.PROJECT_VIEW.name(), "p-1", 2));
+
+        assertEquals(1, visitorStatsRepository.count());
+        assertEquals(2L * WRITERS * INCREMENTS_PER_WRITER,
+                visitorStatsRepository.findByTypeAndRefId(VisitorStatType.PROJECT_VIEW, "p-1").orElseThrow().getCount());
+    }
+
+    @Test
+    void bucketUpsertIncrement_shouldAddUpConcurrentIncrementsOfTheSameBucket() throws Exception {
+        LocalDateTime bucketStart = StatBucketGranularity.HOUR.bucketStart(LocalDateTime.of(2025, 1, 15, 10, 42));
+
+        runConcurrently(() -> visitorStatBucketRepository.upsertIncrement(VisitorStatType.PROJECT_VIEW.name(), "p-1",
+                StatBucketGranularity.HOUR.name(), bucketStart, 3));
+
+        List<StatBucketTotal> series = visitorStatBucketRepository.sumSeriesForRefId(VisitorStatType.PROJECT_VIEW, "p-1",
+                StatBucketGranularity.HOUR, bucketStart, bucketStart.plusHours(1));
+        assertEquals(1, visitorStatBucketRepository.count());
+        assertEquals(1, series.size());
+        assertEquals(3L * WRITERS * INCREMENTS_PER_WRITER, series.get(0).getTotal());
+    }
+
+    /**
+     * Starts every writer at once; each increment runs in its own transaction, as in the flusher.
+     */
+    private void runConcurrently(Runnable increment) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < INCREMENTS_PER_WRITER; i++) {
+                        transaction.executeWithoutResult(status -> increment.run());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.forkmyfolio.service;
+
+import com.forkmyfolio.model.Setting;
+import com.forkmyfolio.repository.SettingRepository;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import com.forkmyfolio.service.pdf.PdfFontRegistry;
+import com.forkmyfolio.service.pdf.PdfOutputMode;
+import com.forkmyfolio.service.pdf.PdfRenderCache;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics;
+import com.forkmyfolio.service.pdf.PortfolioDataLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PdfGenerationServiceTest {
+
+    private final SettingRepository settingRepository = mock(SettingRepository.class);
+    private PdfGenerationService service;
+
+    @BeforeEach
+    void setUp() {
+        PortfolioContentRevision revision = mock(PortfolioContentRevision.class);
+        when(revision.current()).thenReturn("r-1");
+        service = new PdfGenerationService(mock(PortfolioDataLoader.class), settingRepository, revision,
+                new PdfRenderCache(1 << 20), new PdfFontRegistry(), new PdfRenderMetrics(0));
+        when(settingRepository.findByName(PdfGenerationService.OUTPUT_MODE_SETTING))
+                .thenReturn(Optional.of(new Setting(PdfGenerationService.OUTPUT_MODE_SETTING, "compact", "")));
+    }
+
+    @Test
+    void cacheKeyFor_shouldReadTheDefaultOutputModeSettingOnlyOnce() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(PdfOutputMode.COMPACT, service.cacheKeyFor("classic", null).mode());
+        }
+
+        verify(settingRepository, times(1)).findByName(PdfGenerationService.OUTPUT_MODE_SETTING);
+    }
+
+    @Test
+    void onSettingsChanged_shouldReplaceTheDefaultOutputModeWithoutAQuery() {
+        assertEquals(PdfOutputMode.COMPACT, service.getDefaultOutputMode());
+
+        service.onSettingsChanged(new SettingsChangedEvent(Map.of(PdfGenerationService.OUTPUT_MODE_SETTING, "standard")));
+        assertEquals(PdfOutputMode.STANDARD, service.getDefaultOutputMode());
+
+        service.onSettingsChanged(new SettingsChangedEvent(Map.of("SHOW_TESTIMONIALS", "false")));
+        assertEquals(PdfOutputMode.STANDARD, service.getDefaultOutputMode());
+        verify(settingRepository, times(1)).findByName(PdfGenerationService.OUTPUT_MODE_SETTING);
+    }
+}
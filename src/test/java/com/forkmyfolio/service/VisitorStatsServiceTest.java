@@ -0,0 +1,192 @@
+package com.forkmyfolio.service;
+
+import com.forkmyfolio.dto.AdminStatsDto;
+import com.forkmyfolio.exception.BadRequestException;
+import com.forkmyfolio.model.enums.StatBucketGranularity;
+import com.forkmyfolio.model.enums.VisitorStatType;
+import com.forkmyfolio.repository.VisitorStatBucketRepository;
+import com.forkmyfolio.repository.VisitorStatsRepository;
+import com.forkmyfolio.repository.VisitorUniqueSketchRepository;
+import com.forkmyfolio.repository.projection.StatRefIdCount;
+import com.forkmyfolio.repository.projection.StatTypeTotal;
+import com.forkmyfolio.service.stats.LiveStatsBroadcaster;
+import com.forkmyfolio.service.stats.StatsSeriesPoint;
+import com.forkmyfolio.service.stats.TrendingProjects;
+import com.forkmyfolio.service.stats.UniqueVisitorSketches;
+import com.forkmyfolio.service.stats.VisitorStatsBuffer;
+import com.forkmyfolio.service.stats.VisitorStatsFlusher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VisitorStatsServiceTest {
+
+    private final VisitorStatsRepository visitorStatsRepository = mock(VisitorStatsRepository.class);
+    private final VisitorStatBucketRepository visitorStatBucketRepository = mock(VisitorStatBucketRepository.class);
+    private final VisitorStatsBuffer buffer = new VisitorStatsBuffer();
+    private final RecordingBroadcaster broadcaster = new RecordingBroadcaster();
+    private final AtomicLong persistedVisits = new AtomicLong();
+    private final AtomicLong persistedViewsOfP1 = new AtomicLong();
+    private VisitorStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VisitorStatsService(visitorStatsRepository, visitorStatBucketRepository, buffer,
+                mock(VisitorUniqueSketchRepository.class), mock(UniqueVisitorSketches.class),
+                mock(TrendingProjects.class), broadcaster);
+        ReflectionTestUtils.setField(service, "dashboardTopProjects", 1);
+        // A stand-in for the visitor_stats table that the upserts add to and the dashboard queries read.
+        when(visitorStatsRepository.upsertIncrement(anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+            AtomicLong counter = invocation.getArgument(1).equals("p-1") ? persistedViewsOfP1 : persistedVisits;
+            counter.addAndGet(invocation.getArgument(2));
+            return 1;
+        });
+        when(visitorStatsRepository.sumCountsByType()).thenAnswer(invocation -> List.of(
+                typeTotal(VisitorStatType.TOTAL_VISITS, persistedVisits.get()),
+                typeTotal(VisitorStatType.PROJECT_VIEW, persistedViewsOfP1.get())));
+        when(visitorStatsRepository.findCountsByType(eq(VisitorStatType.PROJECT_VIEW), any(Pageable.class)))
+                .thenAnswer(invocation -> page(refIdCount("p-1", persistedViewsOfP1.get())));
+    }
+
+    @Test
+    void subscribeLiveStats_shouldIncludeBufferedIncrementsInTheSnapshot() {
+        service.incrementTotalVisits();
+        service.incrementProjectView("p-1");
+        new VisitorStatsFlusher(buffer, service, mock(UniqueVisitorSketches.class)).flush();
+        service.incrementTotalVisits();
+        service.incrementTotalVisits();
+        service.incrementProjectView("p-1");
+        service.incrementProjectView("p-2");
+
+        service.subscribeLiveStats();
+
+        AdminStatsDto snapshot = broadcaster.snapshot.get();
+        assertEquals(3, snapshot.getTotalVisits());
+        assertEquals(2, snapshot.getProjects().get("p-1"));
+        assertEquals(1, snapshot.getProjects().get("p-2"), "a project with buffered views only is listed too");
+        assertEquals(List.of("p-1"), List.copyOf(snapshot.getTopProjects().keySet()));
+    }
+
+    @Test
+    void subscribeLiveStats_shouldCountEveryConcurrentIncrementExactlyOnce() throws Exception {
+        int writers = 4;
+        int incrementsPerWriter = 20_000;
+        VisitorStatsFlusher flusher = new VisitorStatsFlusher(buffer, service, mock(UniqueVisitorSketches.class));
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch halfway = new CountDownLatch(writers);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            for (int w = 0; w < writers; w++) {
+                pool.execute(() -> {
+                    for (int i = 0; i < incrementsPerWriter; i++) {
+                        service.incrementTotalVisits();
+                        if (i == incrementsPerWriter / 2) {
+                            halfway.countDown();
+                        }
+                    }
+                });
+            }
+            pool.execute(() -> {
+                while (writing.get()) {
+                    flusher.flush();
+                }
+            });
+
+            assertTrue(halfway.await(30, TimeUnit.SECONDS));
+            service.subscribeLiveStats();
+            pool.shutdown();
+            // The flusher keeps running until the writers are done.
+            while (persistedVisits.get() + buffer.pendingCount() < (long) writers * incrementsPerWriter) {
+                Thread.onSpinWait();
+            }
+            writing.set(false);
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long snapshot = broadcaster.snapshot.get().getTotalVisits();
+        assertTrue(snapshot > 0 && snapshot < (long) writers * incrementsPerWriter, "snapshot was taken mid-stream");
+        assertEquals((long) writers * incrementsPerWriter, snapshot + broadcaster.recordedAfterSubscribe.get());
+    }
+
+    @Test
+    void getSeries_shouldRejectATooLongRangeBeforeQuerying() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+
+        // 417 days are 10,008 hourly buckets, over the limit of 10,000.
+        assertThrows(BadRequestException.class, () -> service.getSeries(VisitorStatType.TOTAL_VISITS, null,
+                StatBucketGranularity.HOUR, from, from.plusDays(416)));
+        verifyNoInteractions(visitorStatBucketRepository);
+
+        // 416 days are 9,984 hourly buckets.
+        List<StatsSeriesPoint> series = service.getSeries(VisitorStatType.TOTAL_VISITS, null,
+                StatBucketGranularity.HOUR, from, from.plusDays(415));
+        assertEquals(416 * 24, series.size());
+    }
+
+    private static StatTypeTotal typeTotal(VisitorStatType type, long total) {
+        return new StatTypeTotal() {
+            @Override
+            public VisitorStatType getType() {
+                return type;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static StatRefIdCount refIdCount(String refId, long count) {
+        StatRefIdCount row = mock(StatRefIdCount.class);
+        when(row.getRefId()).thenReturn(refId);
+        when(row.getCount()).thenReturn(count);
+        return row;
+    }
+
+    private static Page<StatRefIdCount> page(StatRefIdCount row) {
+        return new PageImpl<>(List.of(row));
+    }
+
+    /**
+     * Keeps the snapshot and counts the events recorded after it, which are the ones a subscriber gets as deltas.
+     */
+    private static final class RecordingBroadcaster extends LiveStatsBroadcaster {
+        private final AtomicReference<AdminStatsDto> snapshot = new AtomicReference<>();
+        private final AtomicLong recordedAfterSubscribe = new AtomicLong();
+
+        @Override
+        public void record(VisitorStatType type, String refId) {
+            if (snapshot.get() != null && type == VisitorStatType.TOTAL_VISITS) {
+                recordedAfterSubscribe.incrementAndGet();
+            }
+        }
+
+        @Override
+        public SseEmitter subscribe(Supplier<AdminStatsDto> snapshotSupplier) {
+            snapshot.set(snapshotSupplier.get());
+            return new SseEmitter();
+        }
+    }
+}
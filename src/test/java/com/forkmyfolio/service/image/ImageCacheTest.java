@@ -0,0 +1,206 @@
+package com.forkmyfolio.service.image;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private String imageUrl;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1200, 600, BufferedImage.TYPE_INT_ARGB), "png", png);
+        byte[] body = png.toByteArray();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/photo.png", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        imageUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/photo.png";
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void get_shouldMissWithoutBlockingThenServeDownscaledRenditionsFromDisk() throws Exception {
+        ImageCache cache = newCache(1 << 20);
+
+        assertTrue(cache.get(imageUrl, ImageVariant.VCARD_PHOTO).isEmpty());
+        cache.prefetch(imageUrl).get(5, TimeUnit.SECONDS);
+
+        BufferedImage photo = ImageIO.read(new ByteArrayInputStream(cache.get(imageUrl, ImageVariant.VCARD_PHOTO).orElseThrow()));
+        assertEquals(256, photo.getWidth());
+        assertEquals(128, photo.getHeight());
+        BufferedImage avatar = ImageIO.read(new ByteArrayInputStream(cache.get(imageUrl, ImageVariant.PDF_AVATAR).orElseThrow()));
+        assertEquals(300, avatar.getWidth());
+        assertEquals(1, requests.get());
+
+        // A restarted cache finds the renditions on disk and does not fetch again.
+        ImageCache restarted = newCache(1 << 20);
+        assertTrue(restarted.get(imageUrl, ImageVariant.THUMBNAIL).isPresent());
+        restarted.prefetch(imageUrl).get(5, TimeUnit.SECONDS);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void store_shouldEvictLeastRecentlyUsedFilesOverBudget() throws Exception {
+        ImageCache cache = newCache(1);
+
+        cache.prefetch(imageUrl).get(5, TimeUnit.SECONDS);
+
+        assertTrue(cache.getEvictions() > 0);
+        assertTrue(cache.getTotalBytes() <= 1 || cache.getEntryCount() == 1);
+        try (var files = Files.list(directory)) {
+            assertEquals(cache.getEntryCount(), files.count());
+        }
+    }
+
+    @Test
+    void get_shouldIgnoreNonHttpUrls() {
+        ImageCache cache = newCache(1 << 20);
+
+        assertTrue(cache.get("file:///etc/passwd", ImageVariant.PDF_AVATAR).isEmpty());
+        assertTrue(cache.get(null, ImageVariant.PDF_AVATAR).isEmpty());
+        assertEquals(0, cache.getFetches());
+    }
+
+    @Test
+    void prefetch_shouldRejectImagesOverThePixelLimitBeforeDecoding() throws Exception {
+        ImageCache cache = newCache(1 << 20, 1200L * 600 - 1, 5_000);
+
+        cache.prefetch(imageUrl).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, cache.getFetchFailures());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    void prefetch_shouldGiveUpOnADripFedDownloadAtTheDeadline() throws Exception {
+        server.createContext("/drip.png", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try {
+                for (int i = 0; i < 100; i++) {
+                    exchange.getResponseBody().write(0);
+                    exchange.getResponseBody().flush();
+                    Thread.sleep(100);
+                }
+            } catch (IOException | InterruptedException e) {
+                // The client gave up.
+            } finally {
+                exchange.close();
+            }
+        });
+        ImageCache cache = newCache(1 << 20, Long.MAX_VALUE, 500);
+        String dripUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/drip.png";
+
+        long start = System.nanoTime();
+        cache.prefetch(dripUrl).get(5, TimeUnit.SECONDS);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3_000);
+        assertEquals(1, cache.getFetchFailures());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    void get_withAnImmediatelyFailingUrl_shouldMissWithoutThrowing() throws Exception {
+        // Fetches run on the calling thread, so each one is done before prefetch() has its future back.
+        ImageCache cache = new ImageCache(directory.toString(), 1 << 20, 1 << 20, Long.MAX_VALUE, 1_000, 2_000, 5_000,
+                new CallerRunsExecutorService());
+        cache.loadIndex();
+        // The space makes the URL invalid, so the fetch fails at once.
+        String invalidUrl = "http://exa mple.com/photo.png";
+
+        assertTrue(cache.get(invalidUrl, ImageVariant.THUMBNAIL).isEmpty());
+
+        assertEquals(1, cache.getFetchFailures());
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getInFlightCount(), "a finished fetch must not stay in flight");
+        // The failure backoff keeps it from being retried.
+        cache.prefetch(invalidUrl).get(5, TimeUnit.SECONDS);
+        assertEquals(1, cache.getFetches());
+    }
+
+    private ImageCache newCache(long maxBytes) {
+        return newCache(maxBytes, Long.MAX_VALUE, 5_000);
+    }
+
+    private ImageCache newCache(long maxBytes, long maxPixels, long downloadTimeoutMs) {
+        ImageCache cache = new ImageCache(directory.toString(), maxBytes, 1 << 20, maxPixels, 1_000, 2_000, downloadTimeoutMs);
+        try {
+            cache.loadIndex();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return cache;
+    }
+
+    /**
+     * Runs every task on the thread that submits it.
+     */
+    private static final class CallerRunsExecutorService extends AbstractExecutorService {
+        private volatile boolean shutdown;
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.forkmyfolio.service.pdf;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedByteArrayOutputStreamTest {
+
+    @Test
+    void shouldBufferWithinTheLimit() throws Exception {
+        BoundedByteArrayOutputStream buffer = new BoundedByteArrayOutputStream(6);
+
+        buffer.write("%PDF-".getBytes(StandardCharsets.US_ASCII));
+        buffer.write('1');
+
+        assertEquals("%PDF-1", new String(buffer.toByteArray(), StandardCharsets.US_ASCII));
+        assertEquals(6, buffer.size());
+    }
+
+    @Test
+    void shouldFailOnceTheLimitWouldBeExceeded() throws Exception {
+        BoundedByteArrayOutputStream buffer = new BoundedByteArrayOutputStream(4);
+
+        buffer.write(new byte[]{1, 2, 3});
+
+        assertThrows(IOException.class, () -> buffer.write(new byte[]{4, 5}));
+        assertArrayEquals(new byte[]{1, 2, 3}, buffer.toByteArray());
+    }
+
+    @Test
+    void shouldHandOverTheInternalArrayWithoutCopying() throws Exception {
+        BoundedByteArrayOutputStream buffer = new BoundedByteArrayOutputStream(1 << 20);
+        byte[] chunk = new byte[40 * 1024];
+        Arrays.fill(chunk, (byte) 7);
+
+        buffer.write(chunk);
+        buffer.write(9);
+
+        assertSame(buffer.buffer(), buffer.buffer());
+        assertTrue(buffer.buffer().length >= buffer.size());
+        assertEquals(chunk.length + 1, buffer.size());
+        assertEquals(7, buffer.buffer()[chunk.length - 1]);
+        assertEquals(9, buffer.buffer()[chunk.length]);
+    }
+}
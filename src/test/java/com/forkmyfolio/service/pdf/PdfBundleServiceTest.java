@@ -0,0 +1,91 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.PdfGenerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PdfBundleServiceTest {
+
+    private final PdfGenerationService generationService = mock(PdfGenerationService.class);
+    private PdfRenderPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new PdfRenderPool(2, 8, 1_000);
+        when(generationService.resolveOutputMode(null)).thenReturn(PdfOutputMode.STANDARD);
+        when(generationService.getAvailableTemplateNames()).thenReturn(List.of("modern", "classic", "elegance"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void writeTo_shouldZipEveryRenderedTemplateAndListFailures() throws Exception {
+        when(generationService.generatePortfolioPdf("modern", PdfOutputMode.STANDARD)).thenReturn(pdf("modern"));
+        when(generationService.generatePortfolioPdf("classic", PdfOutputMode.STANDARD)).thenThrow(new IllegalStateException("boom"));
+        when(generationService.generatePortfolioPdf("elegance", PdfOutputMode.STANDARD)).thenReturn(pdf("elegance"));
+
+        PdfBundle bundle = new PdfBundleService(generationService, pool, 5_000).prepareBundle(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = bundle.writeTo(out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(2, written);
+        assertEquals("%PDF modern", entries.get("JaneDoe-Resume-2024-05-01-modern.pdf"));
+        assertEquals("%PDF elegance", entries.get("JaneDoe-Resume-2024-05-01-elegance.pdf"));
+        assertTrue(entries.get(PdfBundle.FAILURES_ENTRY).startsWith("classic: "), entries.get(PdfBundle.FAILURES_ENTRY));
+        assertTrue(entries.get(PdfBundle.FAILURES_ENTRY).contains("boom"));
+    }
+
+    @Test
+    void writeTo_shouldWriteFinishedRendersWithoutWaitingForSlowOnes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(generationService.getAvailableTemplateNames()).thenReturn(List.of("modern", "classic"));
+        when(generationService.generatePortfolioPdf("modern", PdfOutputMode.STANDARD)).thenAnswer(invocation -> {
+            release.await();
+            return pdf("modern");
+        });
+        when(generationService.generatePortfolioPdf("classic", PdfOutputMode.STANDARD)).thenReturn(pdf("classic"));
+
+        PdfBundle bundle = new PdfBundleService(generationService, pool, 300).prepareBundle(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = bundle.writeTo(out);
+        release.countDown();
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(1, written);
+        assertEquals(List.of("JaneDoe-Resume-2024-05-01-classic.pdf", PdfBundle.FAILURES_ENTRY), List.copyOf(entries.keySet()));
+        assertTrue(entries.get(PdfBundle.FAILURES_ENTRY).startsWith("modern: did not finish"));
+    }
+
+    private static PdfGenerationService.PdfFile pdf(String template) {
+        return new PdfGenerationService.PdfFile(("%PDF " + template).getBytes(StandardCharsets.UTF_8), "JaneDoe-Resume-2024-05-01.pdf");
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,58 @@
+package com.forkmyfolio.service.pdf;
+
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Paragraph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfFontRegistryTest {
+
+    private static PdfFontRegistry registry;
+
+    @BeforeAll
+    static void loadFonts() {
+        registry = new PdfFontRegistry();
+        registry.loadFonts();
+    }
+
+    @Test
+    void createFont_shouldSubstituteMissingTextFontsAndReturnNullForMissingIconFonts() {
+        PdfFont lato = registry.createFont(PdfFontKey.LATO_REGULAR);
+        assertNotNull(lato);
+        if (getClass().getClassLoader().getResource(PdfFontKey.FONT_AWESOME_SOLID.getResourcePath()) == null) {
+            assertNull(registry.createFont(PdfFontKey.FONT_AWESOME_SOLID));
+        }
+    }
+
+    @Test
+    void createFont_shouldReturnANewInstancePerCall() {
+        assertNotSame(registry.createFont(PdfFontKey.HELVETICA), registry.createFont(PdfFontKey.HELVETICA));
+    }
+
+    @Test
+    void emojiFallback_shouldRenderMixedTextInOneParagraph() throws Exception {
+        assertArrayEquals(new String[]{"TIMES_BOLD", "NOTO_EMOJI"}, registry.withEmojiFallback(PdfFontKey.TIMES_BOLD));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(out)); Document document = new Document(pdf)) {
+            document.setFontProvider(registry.createFontProvider());
+            document.add(new Paragraph("Jane Doe ☕").setFontFamily(registry.withEmojiFallback(PdfFontKey.HELVETICA_BOLD)));
+        }
+
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            String text = PdfTextExtractor.getTextFromPage(pdf.getFirstPage());
+            assertTrue(text.startsWith("Jane Doe"), text);
+            assertTrue(text.contains("☕"), text);
+        }
+    }
+}
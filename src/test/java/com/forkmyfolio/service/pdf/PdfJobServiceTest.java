@@ -0,0 +1,138 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.exception.ResourceNotFoundException;
+import com.forkmyfolio.service.PdfGenerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PdfJobServiceTest {
+
+    private static final PdfRenderCache.Key KEY = new PdfRenderCache.Key("modern", "rev-1");
+    private static final PdfGenerationService.PdfFile FILE = new PdfGenerationService.PdfFile(new byte[]{'%', 'P'}, "JaneDoe-Resume.pdf");
+
+    private PdfGenerationService generationService;
+    private PdfRenderPool pool;
+    private MutableClock clock;
+    private PdfJobService jobs;
+
+    @BeforeEach
+    void setUp() {
+        generationService = mock(PdfGenerationService.class);
+        when(generationService.cacheKeyFor(any(), any())).thenReturn(KEY);
+        pool = new PdfRenderPool(1, 4, 1_000);
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        jobs = new PdfJobService(generationService, pool, clock, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void submit_shouldDeduplicateIdenticalRequestsOntoOneRender() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(generationService.generatePortfolioPdf("modern", PdfOutputMode.STANDARD)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return FILE;
+        });
+
+        PdfJob first = jobs.submit("modern", null);
+        PdfJob second = jobs.submit("MODERN", null);
+        assertSame(first, second);
+        assertEquals(1, jobs.getDeduplicatedCount());
+
+        release.countDown();
+        awaitStatus(first, PdfJobStatus.DONE);
+        assertSame(FILE, first.getResult());
+        assertNotNull(first.getStartedAt());
+        verify(generationService, times(1)).generatePortfolioPdf("modern", PdfOutputMode.STANDARD);
+    }
+
+    @Test
+    void submit_shouldCompleteImmediatelyWhenThePdfIsCached() {
+        when(generationService.findCachedPortfolioPdf(KEY)).thenReturn(FILE);
+
+        PdfJob job = jobs.submit("modern", null);
+
+        assertEquals(PdfJobStatus.DONE, job.getStatus());
+        verify(generationService, never()).generatePortfolioPdf(any(), any());
+    }
+
+    @Test
+    void submit_shouldStartANewJobAfterAFailure() throws Exception {
+        when(generationService.generatePortfolioPdf("modern", PdfOutputMode.STANDARD)).thenThrow(new IllegalStateException("boom")).thenReturn(FILE);
+
+        PdfJob failed = jobs.submit("modern", null);
+        awaitStatus(failed, PdfJobStatus.FAILED);
+        PdfJob retried = jobs.submit("modern", null);
+
+        assertNotSame(failed, retried);
+        awaitStatus(retried, PdfJobStatus.DONE);
+        // The replaced job is gone right away instead of waiting for the sweep.
+        assertThrows(ResourceNotFoundException.class, () -> jobs.getJob(failed.getId()));
+        assertEquals(1, jobs.getJobCount());
+    }
+
+    @Test
+    void sweepExpiredJobs_shouldDropJobsOnceTheTtlHasPassed() {
+        when(generationService.findCachedPortfolioPdf(KEY)).thenReturn(FILE);
+        PdfJob job = jobs.submit("modern", null);
+
+        clock.advance(Duration.ofSeconds(59));
+        jobs.sweepExpiredJobs();
+        assertSame(job, jobs.getJob(job.getId()));
+
+        clock.advance(Duration.ofSeconds(2));
+        jobs.sweepExpiredJobs();
+        assertThrows(ResourceNotFoundException.class, () -> jobs.getJob(job.getId()));
+        assertNotSame(job, jobs.submit("modern", null));
+    }
+
+    private static void awaitStatus(PdfJob job, PdfJobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(status, job.getStatus());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.model.PortfolioProfile;
+import com.forkmyfolio.model.User;
+import com.forkmyfolio.service.pdf.templates.ModernTemplate;
+import com.forkmyfolio.service.pdf.templates.PortfolioPdfTemplate;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.Document;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfOutputModeTest {
+
+    @Test
+    void fromValue_shouldIgnoreCaseAndRejectUnknownValues() {
+        assertEquals(PdfOutputMode.COMPACT, PdfOutputMode.fromValue(" Compact "));
+        assertEquals(PdfOutputMode.STANDARD, PdfOutputMode.fromValue("standard"));
+        assertNull(PdfOutputMode.fromValue("tiny"));
+        assertNull(PdfOutputMode.fromValue(null));
+    }
+
+    @Test
+    void compactMode_shouldWriteASmallerFileWithTheSameText() throws Exception {
+        PdfFontRegistry registry = new PdfFontRegistry();
+        registry.loadFonts();
+        PortfolioData data = portfolioData();
+
+        byte[] standard = render(PdfOutputMode.STANDARD, registry, data);
+        byte[] compact = render(PdfOutputMode.COMPACT, registry, data);
+
+        assertTrue(compact.length < standard.length, compact.length + " >= " + standard.length);
+        assertEquals(extractText(standard), extractText(compact));
+    }
+
+    private static byte[] render(PdfOutputMode mode, PdfFontRegistry registry, PortfolioData data) throws Exception {
+        PortfolioPdfTemplate template = new ModernTemplate();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(new PdfDocument(new PdfWriter(out, mode.writerProperties())), template.getPageSize());
+        try {
+            template.generate(new PdfRenderContext(document, data, registry));
+        } finally {
+            document.close();
+        }
+        return out.toByteArray();
+    }
+
+    private static String extractText(byte[] pdfBytes) throws Exception {
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdfBytes)))) {
+            return PdfTextExtractor.getTextFromPage(pdf.getFirstPage());
+        }
+    }
+
+    private static PortfolioData portfolioData() {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+        PortfolioProfile profile = new PortfolioProfile();
+        profile.setUser(user);
+        profile.setHeadline("Backend Developer");
+        profile.setSummary("Builds reliable services.");
+        profile.setPublicEmail("jane@example.com");
+        profile.setWebsiteUrl("https://jane.example.com");
+        return new PortfolioData(profile, List.of(), List.of(), List.of(), List.of(), null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.content.PortfolioContentChangedEvent;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PdfPreRendererTest {
+
+    private PdfGenerationService generationService;
+    private PortfolioContentRevision revision;
+    private PdfRenderPool pool;
+    private PdfPreRenderer preRenderer;
+
+    @BeforeEach
+    void setUp() {
+        generationService = mock(PdfGenerationService.class);
+        when(generationService.getAvailableTemplateNames()).thenReturn(List.of("modern", "classic"));
+        revision = mock(PortfolioContentRevision.class);
+        when(revision.current()).thenReturn("r-1");
+        pool = mock(PdfRenderPool.class);
+        preRenderer = new PdfPreRenderer(generationService, revision, pool, true, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        preRenderer.shutdown();
+    }
+
+    @Test
+    void burstOfChanges_shouldBeDebouncedIntoOnePass() {
+        PortfolioContentChangedEvent event = new PortfolioContentChangedEvent("r-1", Instant.now());
+        for (int i = 0; i < 5; i++) {
+            preRenderer.onContentChanged(event);
+        }
+
+        verify(generationService, timeout(2_000)).generatePortfolioPdf("classic");
+        verify(generationService, times(1)).generatePortfolioPdf("modern");
+        assertEquals(1, preRenderer.getPassCount());
+        assertEquals(2, preRenderer.getRenderedCount());
+    }
+
+    @Test
+    void preRenderAll_shouldStopWhenContentChangesMidPass() {
+        when(revision.current()).thenReturn("r-1", "r-1", "r-2");
+
+        preRenderer.preRenderAll();
+
+        verify(generationService).generatePortfolioPdf("modern");
+        verify(generationService, never()).generatePortfolioPdf("classic");
+    }
+
+    @Test
+    void preRenderAll_shouldBackOffWhileVisitorsAreQueued() {
+        when(pool.getQueueDepth()).thenReturn(3);
+
+        preRenderer.preRenderAll();
+
+        verify(generationService, never()).generatePortfolioPdf(anyString());
+    }
+}
@@ -0,0 +1,70 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.content.PortfolioContentChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfRenderCacheTest {
+
+    private static PdfRenderCache.Entry pdf(int size) {
+        return new PdfRenderCache.Entry(new byte[size], "JaneDoe");
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedEntriesToStayWithinTheByteBudget() {
+        PdfRenderCache cache = new PdfRenderCache(250);
+        PdfRenderCache.Key modern = new PdfRenderCache.Key("modern", "r-1");
+        PdfRenderCache.Key classic = new PdfRenderCache.Key("classic", "r-1");
+        PdfRenderCache.Key elegance = new PdfRenderCache.Key("elegance", "r-1");
+
+        cache.put(modern, pdf(100));
+        cache.put(classic, pdf(100));
+        cache.get(modern); // modern is now the most recently used
+        cache.put(elegance, pdf(100));
+
+        assertNotNull(cache.get(modern));
+        assertNull(cache.get(classic));
+        assertNotNull(cache.get(elegance));
+        assertEquals(200, cache.getTotalBytes());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void put_shouldSkipEntriesLargerThanTheBudget() {
+        PdfRenderCache cache = new PdfRenderCache(50);
+        PdfRenderCache.Key key = new PdfRenderCache.Key("modern", "r-1");
+
+        cache.put(key, pdf(100));
+
+        assertNull(cache.get(key));
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    @Test
+    void put_shouldSkipEntriesLargerThanThePerEntryLimit() {
+        PdfRenderCache cache = new PdfRenderCache(1_000, 100);
+        PdfRenderCache.Key small = new PdfRenderCache.Key("modern", "r-1");
+        PdfRenderCache.Key large = new PdfRenderCache.Key("classic", "r-1");
+
+        cache.put(small, pdf(100));
+        cache.put(large, pdf(101));
+
+        assertNotNull(cache.get(small));
+        assertNull(cache.get(large));
+        assertEquals(100, cache.getTotalBytes());
+    }
+
+    @Test
+    void onContentChanged_shouldReleaseEverything() {
+        PdfRenderCache cache = new PdfRenderCache(1_000);
+        cache.put(new PdfRenderCache.Key("modern", "r-1"), pdf(100));
+
+        cache.onContentChanged(new PortfolioContentChangedEvent("r-2", Instant.now()));
+
+        assertEquals(0, cache.getEntryCount());
+        assertEquals(0, cache.getTotalBytes());
+    }
+}
@@ -0,0 +1,84 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.service.pdf.PdfRenderMetrics.Phase;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfRenderMetricsTest {
+
+    @Test
+    void recordSuccess_shouldAggregatePhasesPagesAndSizePerTemplateAndMode() throws Exception {
+        PdfRenderMetrics metrics = new PdfRenderMetrics(10);
+
+        PdfRenderMetrics.Trace trace = metrics.start("classic", PdfOutputMode.COMPACT);
+        Thread.sleep(5);
+        trace.endPhase(Phase.DATA_LOAD);
+        trace.suspend();
+        // The render continues on another thread, as it does on the render pool.
+        CompletableFuture.runAsync(() -> {
+            trace.resume();
+            byte[][] garbage = new byte[64][];
+            for (int i = 0; i < garbage.length; i++) {
+                garbage[i] = new byte[16 * 1024];
+            }
+            trace.endPhase(Phase.SETUP);
+            trace.endPhase(Phase.LAYOUT);
+            trace.endPhase(Phase.CLOSE);
+            trace.suspend();
+            assertEquals(64, garbage.length);
+        }).get();
+        metrics.recordSuccess(trace, 3, 4_000, true);
+
+        List<PdfRenderMetrics.TemplateSnapshot> templates = metrics.templates();
+        assertEquals(1, templates.size());
+        PdfRenderMetrics.TemplateSnapshot snapshot = templates.get(0);
+        assertEquals("classic", snapshot.template());
+        assertEquals(PdfOutputMode.COMPACT, snapshot.mode());
+        assertEquals(1, snapshot.metrics().getRenders());
+        assertEquals(3.0, snapshot.metrics().getMeanPages());
+        assertEquals(4_000, snapshot.metrics().getMeanSizeBytes());
+        assertTrue(snapshot.metrics().getPhaseTime(Phase.DATA_LOAD).getMaxMicros() >= 5_000);
+
+        PdfRenderMetrics.RenderRecord render = metrics.recent().get(0);
+        assertTrue(render.succeeded());
+        assertTrue(render.micros(Phase.DATA_LOAD) >= 5_000);
+        assertTrue(render.allocatedBytes() == -1 || render.allocatedBytes() >= 64 * 16 * 1024,
+                "allocations of both threads are counted: " + render.allocatedBytes());
+    }
+
+    @Test
+    void recordFailure_shouldCountTheFailureWithoutARenderSample() {
+        PdfRenderMetrics metrics = new PdfRenderMetrics(10);
+
+        PdfRenderMetrics.Trace trace = metrics.start("modern", PdfOutputMode.STANDARD);
+        trace.endPhase(Phase.DATA_LOAD);
+        trace.suspend();
+        metrics.recordFailure(trace);
+
+        PdfRenderMetrics.TemplateMetrics template = metrics.templates().get(0).metrics();
+        assertEquals(0, template.getRenders());
+        assertEquals(1, template.getFailures());
+        assertFalse(metrics.recent().get(0).succeeded());
+    }
+
+    @Test
+    void recent_shouldKeepOnlyTheNewestRenders() {
+        PdfRenderMetrics metrics = new PdfRenderMetrics(2);
+        for (String template : List.of("modern", "classic", "elegance")) {
+            PdfRenderMetrics.Trace trace = metrics.start(template, PdfOutputMode.STANDARD);
+            trace.suspend();
+            metrics.recordSuccess(trace, 1, 100, true);
+        }
+
+        assertEquals(List.of("elegance", "classic"),
+                metrics.recent().stream().map(PdfRenderMetrics.RenderRecord::template).toList());
+
+        metrics.reset();
+        assertTrue(metrics.recent().isEmpty());
+        assertTrue(metrics.templates().isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.model.PortfolioProfile;
+import com.forkmyfolio.model.User;
+import com.forkmyfolio.repository.SettingRepository;
+import com.forkmyfolio.service.PdfGenerationService;
+import com.forkmyfolio.service.content.PortfolioContentRevision;
+import com.forkmyfolio.service.pdf.PdfRenderMetrics.Phase;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PdfRenderPhaseTimingTest {
+
+    private static final long CLIENT_DELAY_MS = 1_500;
+
+    @Test
+    void renderPhases_shouldNotIncludeTheTransferToASlowClient() throws Exception {
+        PortfolioDataLoader loader = mock(PortfolioDataLoader.class);
+        when(loader.load()).thenReturn(portfolioData());
+        PdfFontRegistry fonts = new PdfFontRegistry();
+        fonts.loadFonts();
+        PdfRenderMetrics metrics = new PdfRenderMetrics(10);
+        PdfGenerationService service = new PdfGenerationService(loader, mock(SettingRepository.class),
+                mock(PortfolioContentRevision.class), new PdfRenderCache(1 << 20), fonts, metrics);
+        ReflectionTestUtils.setField(service, "maxRenderBytes", 1L << 20);
+
+        // Warm up, so the measured render is not dominated by class loading.
+        service.preparePortfolioPdf(new PdfRenderCache.Key("classic", PdfOutputMode.STANDARD, "r-1")).render();
+
+        PdfDownload download = service.preparePortfolioPdf(new PdfRenderCache.Key("classic", PdfOutputMode.STANDARD, "r-2")).render();
+        download.writeTo(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                try {
+                    Thread.sleep(CLIENT_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        PdfRenderMetrics.RenderRecord render = metrics.recent().get(0);
+        assertTrue(render.succeeded());
+        assertTrue(render.pages() >= 1);
+        assertEquals(download.getContentLength(), render.sizeBytes());
+        long layoutAndCloseMs = (render.micros(Phase.LAYOUT) + render.micros(Phase.CLOSE)) / 1_000;
+        assertTrue(layoutAndCloseMs < CLIENT_DELAY_MS, "layout and close took " + layoutAndCloseMs + " ms");
+    }
+
+    private static PortfolioData portfolioData() {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+        PortfolioProfile profile = new PortfolioProfile();
+        profile.setUser(user);
+        profile.setHeadline("Backend Developer");
+        profile.setSummary("Builds reliable services.");
+        return new PortfolioData(profile, List.of(), List.of(), List.of(), List.of(), null);
+    }
+}
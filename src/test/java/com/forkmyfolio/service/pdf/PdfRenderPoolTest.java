@@ -0,0 +1,83 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.exception.ServiceUnavailableException;
+import com.forkmyfolio.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfRenderPoolTest {
+
+    private PdfRenderPool pool;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void execute_shouldReturnTheResultAndPropagateIoExceptions() throws Exception {
+        pool = new PdfRenderPool(1, 1, 1_000);
+
+        assertEquals("done", pool.execute(() -> "done"));
+        assertThrows(IOException.class, () -> pool.execute(() -> {
+            throw new IOException("broken");
+        }));
+        assertEquals(1, pool.getCompletedCount());
+        assertEquals(1, pool.getFailedCount());
+        assertEquals(2, pool.getRenderTime().getCount());
+    }
+
+    @Test
+    void execute_shouldRejectWhenTheQueueIsFullAndTimeOutWhenWaitingTooLong() throws Exception {
+        pool = new PdfRenderPool(1, 1, 200);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> occupying = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.execute(() -> {
+                    running.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // The single slot is busy: the next render waits in the queue and gives up after 200 ms ...
+        CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.execute(() -> "late");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (pool.getQueueDepth() == 0 && !queued.isDone()) {
+            Thread.onSpinWait();
+        }
+        // ... and while it is queued, a third one finds the queue full.
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class, () -> pool.execute(() -> "rejected"));
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+
+        Exception timedOut = assertThrows(Exception.class, queued::join);
+        assertInstanceOf(ServiceUnavailableException.class, timedOut.getCause());
+        assertEquals(1, pool.getRejectedCount());
+        assertEquals(1, pool.getTimedOutCount());
+        assertEquals(0, pool.getQueueDepth());
+
+        release.countDown();
+        occupying.get(5, TimeUnit.SECONDS);
+    }
+}
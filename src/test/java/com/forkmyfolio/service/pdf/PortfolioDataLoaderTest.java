@@ -0,0 +1,90 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.model.*;
+import com.forkmyfolio.model.Skill.SkillLevel;
+import com.forkmyfolio.repository.ExperienceRepository;
+import com.forkmyfolio.repository.ProjectRepository;
+import com.forkmyfolio.repository.QualificationRepository;
+import com.forkmyfolio.repository.SkillRepository;
+import com.forkmyfolio.service.PortfolioProfileService;
+import com.forkmyfolio.service.image.ImageCache;
+import com.forkmyfolio.service.image.ImageVariant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PortfolioDataLoaderTest {
+
+    private final PortfolioProfileService profileService = mock(PortfolioProfileService.class);
+    private final ExperienceRepository experienceRepository = mock(ExperienceRepository.class);
+    private final QualificationRepository qualificationRepository = mock(QualificationRepository.class);
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final SkillRepository skillRepository = mock(SkillRepository.class);
+    private final ImageCache imageCache = mock(ImageCache.class);
+
+    private PortfolioDataLoader loader;
+    private User owner;
+    private PortfolioProfile profile;
+
+    @BeforeEach
+    void setUp() {
+        loader = new PortfolioDataLoader(profileService, experienceRepository, qualificationRepository,
+                projectRepository, skillRepository, imageCache);
+        owner = new User();
+        profile = new PortfolioProfile();
+        profile.setUser(owner);
+        profile.setResumeImageUrl("https://images.example.com/jane.png");
+        when(profileService.getPublicProfile()).thenReturn(profile);
+        when(imageCache.get(profile.getResumeImageUrl(), ImageVariant.PDF_AVATAR)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void load_shouldQueryOnlyTheOwnersContentWithAFixedNumberOfQueries() {
+        when(experienceRepository.findByUserOrderByStartDateDesc(owner)).thenReturn(new ArrayList<>(List.of(new Experience())));
+        when(qualificationRepository.findByUserOrderByCompletionYearDesc(owner)).thenReturn(new ArrayList<>());
+        when(projectRepository.findWithTechStackByUserOrderByIdAsc(owner)).thenReturn(new ArrayList<>(List.of(new Project())));
+        when(skillRepository.findByUser(owner)).thenReturn(new ArrayList<>());
+
+        PortfolioData data = loader.load();
+
+        assertSame(profile, data.profile());
+        assertEquals(1, data.experiences().size());
+        assertEquals(1, data.projects().size());
+        assertNull(data.profileImage());
+        verify(experienceRepository).findByUserOrderByStartDateDesc(owner);
+        verify(qualificationRepository).findByUserOrderByCompletionYearDesc(owner);
+        verify(projectRepository).findWithTechStackByUserOrderByIdAsc(owner);
+        verify(skillRepository).findByUser(owner);
+        verifyNoMoreInteractions(experienceRepository, qualificationRepository, projectRepository, skillRepository);
+    }
+
+    @Test
+    void load_shouldReturnImmutableListsWithSkillsInDisplayOrder() {
+        when(experienceRepository.findByUserOrderByStartDateDesc(owner)).thenReturn(new ArrayList<>());
+        when(qualificationRepository.findByUserOrderByCompletionYearDesc(owner)).thenReturn(new ArrayList<>());
+        when(projectRepository.findWithTechStackByUserOrderByIdAsc(owner)).thenReturn(new ArrayList<>());
+        when(skillRepository.findByUser(owner)).thenReturn(new ArrayList<>(List.of(
+                skill("sql", SkillLevel.INTERMEDIATE), skill("Java", SkillLevel.EXPERT),
+                skill("Go", SkillLevel.BEGINNER), skill("Docker", SkillLevel.INTERMEDIATE))));
+
+        PortfolioData data = loader.load();
+
+        assertEquals(List.of("Java", "Docker", "sql", "Go"), data.skills().stream().map(Skill::getName).toList());
+        assertThrows(UnsupportedOperationException.class, () -> data.skills().add(new Skill()));
+        assertThrows(UnsupportedOperationException.class, () -> data.experiences().add(new Experience()));
+        assertThrows(UnsupportedOperationException.class, () -> data.projects().add(new Project()));
+    }
+
+    private static Skill skill(String name, SkillLevel level) {
+        Skill skill = new Skill();
+        skill.setName(name);
+        skill.setLevel(level);
+        return skill;
+    }
+}
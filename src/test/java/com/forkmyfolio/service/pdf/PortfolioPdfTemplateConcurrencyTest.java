@@ -0,0 +1,176 @@
+package com.forkmyfolio.service.pdf;
+
+import com.forkmyfolio.model.*;
+import com.forkmyfolio.model.Skill.SkillLevel;
+import com.forkmyfolio.service.pdf.templates.*;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import com.itextpdf.layout.Document;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioPdfTemplateConcurrencyTest {
+
+    private static final Map<String, PortfolioPdfTemplate> TEMPLATES = new LinkedHashMap<>();
+
+    static {
+        TEMPLATES.put("modern", new ModernTemplate());
+        TEMPLATES.put("elegance", new EleganceTemplate());
+        TEMPLATES.put("classic", new ClassicTemplate());
+        TEMPLATES.put("metro-dark", new MetroDarkTemplate());
+        TEMPLATES.put("business-card", new BusinessCardTemplate());
+    }
+
+    private static PdfFontRegistry registry;
+    private static PortfolioData data;
+
+    @BeforeAll
+    static void setUp() {
+        registry = new PdfFontRegistry();
+        registry.loadFonts();
+        data = portfolioData();
+    }
+
+    @Test
+    void parallelRenders_shouldProduceTheSameTextAsSequentialRenders() throws Exception {
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (Map.Entry<String, PortfolioPdfTemplate> entry : TEMPLATES.entrySet()) {
+            expected.put(entry.getKey(), extractText(render(entry.getValue())));
+        }
+        String classic = expected.get("classic");
+        assertTrue(classic.indexOf("senior engineer things") < classic.indexOf("junior engineer things"), classic);
+
+        int threads = 8;
+        int rendersPerThread = 10;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> names = new ArrayList<>(TEMPLATES.keySet());
+        List<Future<List<String>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    List<String> mismatches = new ArrayList<>();
+                    for (int i = 0; i < rendersPerThread; i++) {
+                        String name = names.get((offset + i) % names.size());
+                        String text = extractText(render(TEMPLATES.get(name)));
+                        if (!text.equals(expected.get(name))) {
+                            mismatches.add(name);
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            start.countDown();
+            for (Future<List<String>> result : results) {
+                assertEquals(List.of(), result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static byte[] render(PortfolioPdfTemplate template) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PdfDocument pdf = new PdfDocument(new PdfWriter(out));
+        Document document = new Document(pdf, template.getPageSize());
+        document.setMargins(0, 0, 0, 0);
+        try {
+            template.generate(new PdfRenderContext(document, data, registry));
+        } finally {
+            document.close();
+        }
+        return out.toByteArray();
+    }
+
+    private static String extractText(byte[] pdfBytes) throws Exception {
+        StringBuilder text = new StringBuilder();
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdfBytes)))) {
+            for (int page = 1; page <= pdf.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(pdf.getPage(page))).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Immutable lists in display order, as {@link PortfolioDataLoader} produces them, so a template that sorts in
+     * place fails loudly.
+     */
+    private static PortfolioData portfolioData() {
+        User user = new User();
+        user.setFirstName("Jane");
+        user.setLastName("Doe");
+        user.setEmail("jane@example.com");
+
+        PortfolioProfile profile = new PortfolioProfile();
+        profile.setUser(user);
+        profile.setHeadline("Backend Developer");
+        profile.setSummary("Builds reliable services.");
+        profile.setPublicEmail("jane@example.com");
+        profile.setWebsiteUrl("https://jane.example.com");
+        profile.setLinkedinUrl("https://linkedin.com/in/jane");
+        profile.setGithubUrl("https://github.com/jane");
+        profile.setLocation("Cape Town");
+
+        return new PortfolioData(profile,
+                List.of(experience("Senior Engineer", 2020), experience("Junior Engineer", 2015)),
+                List.of(qualification("MSc Distributed Systems", 2017), qualification("BSc Computer Science", 2014)),
+                List.of(project("Portfolio API"), project("Render Farm")),
+                List.of(skill("Java", SkillLevel.EXPERT), skill("SQL", SkillLevel.INTERMEDIATE), skill("Go", SkillLevel.BEGINNER)),
+                null);
+    }
+
+    private static Experience experience(String title, int startYear) {
+        Experience experience = new Experience();
+        experience.setJobTitle(title);
+        experience.setCompanyName("Acme");
+        experience.setLocation("Remote");
+        experience.setStartDate(LocalDate.of(startYear, 1, 1));
+        experience.setEndDate(startYear < 2020 ? LocalDate.of(startYear + 4, 12, 31) : null);
+        experience.setDescription("Worked on " + title.toLowerCase() + " things.");
+        return experience;
+    }
+
+    private static Qualification qualification(String name, int year) {
+        Qualification qualification = new Qualification();
+        qualification.setQualificationName(name);
+        qualification.setInstitutionName("University of Cape Town");
+        qualification.setCompletionYear(year);
+        qualification.setGrade("Distinction");
+        return qualification;
+    }
+
+    private static Project project(String title) {
+        Project project = new Project();
+        project.setTitle(title);
+        project.setDescription(title + " description.");
+        project.setTechStack(List.of("Java", "Spring"));
+        project.setRepoUrl("https://github.com/jane/" + title.replace(' ', '-'));
+        return project;
+    }
+
+    private static Skill skill(String name, SkillLevel level) {
+        Skill skill = new Skill();
+        skill.setName(name);
+        skill.setLevel(level);
+        return skill;
+    }
+}
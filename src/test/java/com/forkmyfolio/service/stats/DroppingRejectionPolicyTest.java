@@ -0,0 +1,75 @@
+package com.forkmyfolio.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroppingRejectionPolicyTest {
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void dropOldest_shouldEvictTheQueuedTaskAndRunTheNewOne() throws Exception {
+        DroppingRejectionPolicy policy = new DroppingRejectionPolicy(DroppingRejectionPolicy.Mode.DROP_OLDEST);
+
+        runOverflowingExecutor(policy);
+
+        assertEquals(List.of("running", "newest"), executed);
+        assertEquals(1, policy.getDroppedCount());
+        assertEquals(1, policy.getRejectedCount());
+    }
+
+    @Test
+    void dropNewest_shouldDiscardTheIncomingTaskAndKeepTheQueue() throws Exception {
+        DroppingRejectionPolicy policy = new DroppingRejectionPolicy(DroppingRejectionPolicy.Mode.DROP_NEWEST);
+
+        runOverflowingExecutor(policy);
+
+        assertEquals(List.of("running", "queued"), executed);
+        assertEquals(1, policy.getDroppedCount());
+        assertEquals(1, policy.getRejectedCount());
+    }
+
+    /**
+     * Occupies the single worker and the single queue slot, submits one task too many, drains the executor,
+     * then submits once more after shutdown.
+     */
+    private void runOverflowingExecutor(DroppingRejectionPolicy policy) throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), policy);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+            executed.add("running");
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.execute(() -> executed.add("queued"));
+
+        executor.execute(() -> executed.add("newest"));
+        assertEquals(1, policy.getDroppedCount());
+        assertEquals(0, policy.getRejectedCount());
+        assertEquals(1, executor.getQueue().size());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        executor.execute(() -> executed.add("after shutdown"));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.forkmyfolio.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_shouldBeWithinFivePercentAndIgnoreDuplicates() {
+        HyperLogLog sketch = new HyperLogLog();
+        SplittableRandom random = new SplittableRandom(42);
+        long[] hashes = new long[100_000];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = random.nextLong();
+            sketch.offer(hashes[i]);
+        }
+        for (long hash : hashes) {
+            sketch.offer(hash);
+        }
+
+        assertEquals(100_000, sketch.estimate(), 5_000);
+    }
+
+    @Test
+    void estimate_shouldBeExactEnoughForSmallCardinalities() {
+        HyperLogLog sketch = new HyperLogLog();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 50; i++) {
+            sketch.offer(random.nextLong());
+        }
+
+        assertEquals(50, sketch.estimate(), 2);
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void merge_shouldEstimateTheUnionOfOverlappingSketches() {
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 20_000; i++) {
+            long hash = random.nextLong();
+            monday.offer(hash);
+            if (i % 2 == 0) {
+                tuesday.offer(hash); // returning visitors
+            }
+        }
+        for (int i = 0; i < 10_000; i++) {
+            tuesday.offer(random.nextLong()); // new visitors
+        }
+
+        HyperLogLog week = HyperLogLog.fromBytes(monday.toBytes());
+        week.merge(tuesday);
+
+        assertEquals(30_000, week.estimate(), 1_500);
+    }
+
+    @Test
+    void fromBytes_shouldRoundTripAndRejectWrongSizes() {
+        HyperLogLog sketch = new HyperLogLog();
+        sketch.offer(123456789L);
+
+        assertEquals(sketch, HyperLogLog.fromBytes(sketch.toBytes()));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[16]));
+    }
+}
@@ -0,0 +1,81 @@
+package com.forkmyfolio.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void top_shouldFindHeavyHittersAmongManyRareItems() {
+        SpaceSaving sketch = new SpaceSaving(20);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 50_000; i++) {
+            if (i % 10 == 0) {
+                sketch.offer("hot-a", 1);
+            } else if (i % 10 == 1) {
+                sketch.offer("hot-b", 1);
+            } else {
+                sketch.offer("rare-" + random.nextInt(10_000), 1);
+            }
+        }
+
+        List<SpaceSaving.HeavyHitter> top = sketch.top(2);
+
+        assertEquals(List.of("hot-a", "hot-b"), top.stream().map(SpaceSaving.HeavyHitter::item).toList());
+        for (SpaceSaving.HeavyHitter hitter : top) {
+            assertTrue(hitter.count() >= 5_000, "Space-Saving must never under-count");
+            assertTrue(hitter.count() - hitter.error() <= 5_000);
+        }
+        assertTrue(sketch.top(100).size() <= 20);
+    }
+
+    @Test
+    void trendingProjects_shouldForgetViewsOutsideTheWindow() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        TrendingProjects trending = new TrendingProjects(clock, 10, 0);
+
+        trending.recordView("old");
+        trending.recordView("old");
+        clock.advance(Duration.ofMinutes(61));
+        trending.recordView("new");
+
+        assertEquals(List.of("new"), trending.top(TrendingWindow.HOUR, 5).stream().map(SpaceSaving.HeavyHitter::item).toList());
+        assertEquals("old", trending.top(TrendingWindow.DAY, 5).get(0).item());
+        assertEquals(2, trending.top(TrendingWindow.DAY, 5).size());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public java.time.ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.forkmyfolio.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserAgentClassifierTest {
+
+    private final UserAgentClassifier classifier = new UserAgentClassifier(2);
+
+    @Test
+    void isBot_shouldFlagCrawlersMonitorsAndScripts() {
+        assertTrue(classifier.isBot("Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)"));
+        assertTrue(classifier.isBot("facebookexternalhit/1.1"));
+        assertTrue(classifier.isBot("Mozilla/5.0 (compatible; UptimeRobot/2.0; http://www.uptimerobot.com/)"));
+        assertTrue(classifier.isBot("curl/8.4.0"));
+        assertTrue(classifier.isBot("Slackbot-LinkExpanding 1.0 (+https://api.slack.com/robots)"));
+        assertTrue(classifier.isBot("Mozilla/5.0 (compatible; bot; +https://example.com/about)"));
+        assertTrue(classifier.isBot(null));
+        assertTrue(classifier.isBot(" "));
+    }
+
+    @Test
+    void isBot_shouldLetBrowsersThrough() {
+        assertFalse(classifier.isBot("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0 Safari/537.36"));
+        assertFalse(classifier.isBot("Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1"));
+    }
+
+    @Test
+    void isBot_shouldNotFlagDevicesWhoseNameEndsInBot() {
+        assertFalse(classifier.isBot("Mozilla/5.0 (Linux; Android 10; CUBOT X30) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Mobile Safari/537.36"));
+        assertFalse(classifier.isBot("Mozilla/5.0 (Linux; Android 9; CUBOT_P30 Build/PPR1.180610.011) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Mobile Safari/537.36"));
+        assertFalse(classifier.isBot("Mozilla/5.0 (Linux; Android 12; CUBOT KINGKONG 7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Mobile Safari/537.36"));
+    }
+
+    @Test
+    void isBot_shouldServeRepeatsFromABoundedCache() {
+        classifier.isBot("agent-a");
+        classifier.isBot("agent-a");
+        classifier.isBot("agent-b");
+        classifier.isBot("agent-c");
+
+        assertEquals(1, classifier.getCacheHits());
+        assertEquals(3, classifier.getCacheMisses());
+        assertEquals(2, classifier.getCacheSize());
+    }
+}
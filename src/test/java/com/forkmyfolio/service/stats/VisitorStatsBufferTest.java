@@ -0,0 +1,76 @@
+package com.forkmyfolio.service.stats;
+
+import com.forkmyfolio.model.enums.VisitorStatType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VisitorStatsBufferTest {
+
+    private VisitorStatsBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new VisitorStatsBuffer();
+    }
+
+    @Test
+    void drain_shouldReturnAccumulatedDeltasAndResetCounters() {
+        buffer.increment(VisitorStatType.TOTAL_VISITS, "site_total");
+        buffer.increment(VisitorStatType.TOTAL_VISITS, "site_total");
+        buffer.increment(VisitorStatType.PROJECT_VIEW, "p-1");
+
+        List<VisitorStatDelta> deltas = buffer.drain();
+
+        assertEquals(2, deltas.size());
+        assertTrue(deltas.contains(new VisitorStatDelta(VisitorStatType.TOTAL_VISITS, "site_total", 2)));
+        assertTrue(deltas.contains(new VisitorStatDelta(VisitorStatType.PROJECT_VIEW, "p-1", 1)));
+        assertTrue(buffer.drain().isEmpty());
+    }
+
+    @Test
+    void restore_shouldMakeDeltasAvailableToTheNextDrain() {
+        buffer.increment(VisitorStatType.PDF_DOWNLOAD, "pdf_download");
+        List<VisitorStatDelta> deltas = buffer.drain();
+
+        buffer.restore(deltas);
+        buffer.increment(VisitorStatType.PDF_DOWNLOAD, "pdf_download");
+
+        assertEquals(List.of(new VisitorStatDelta(VisitorStatType.PDF_DOWNLOAD, "pdf_download", 2)), buffer.drain());
+    }
+
+    @Test
+    void concurrentIncrementsAndDrains_shouldNotLoseUpdates() throws Exception {
+        int threads = 8;
+        int incrementsPerThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong drained = new AtomicLong();
+
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    buffer.increment(VisitorStatType.TOTAL_VISITS, "site_total");
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        while (!pool.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            buffer.drain().forEach(delta -> drained.addAndGet(delta.delta()));
+        }
+        buffer.drain().forEach(delta -> drained.addAndGet(delta.delta()));
+
+        assertEquals((long) threads * incrementsPerThread, drained.get());
+    }
+}